@@ -6,7 +6,10 @@ import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
 import play.mvc.Controller;
 import play.mvc.Http;
+import play.mvc.Result;
+import play.twirl.api.Content;
 import services.CiviFormError;
+import views.HtmlBundle.HtmlBundleContent;
 
 /**
  * Base Controller providing useful helper functions that can be utilized by all CiviForm
@@ -22,6 +25,19 @@ public class CiviFormController extends Controller {
     return messageJoiner.toString();
   }
 
+  /**
+   * Returns a 200 response for a rendered page. Pages rendered from an {@link views.HtmlBundle} are
+   * streamed to the client in chunks instead of being materialized as a single string, which is
+   * worthwhile for large pages.
+   */
+  protected Result okStreamed(Content content) {
+    if (content instanceof HtmlBundleContent) {
+      return ok().chunked(((HtmlBundleContent) content).chunks())
+          .as(Http.MimeTypes.HTML + "; charset=utf-8");
+    }
+    return ok(content);
+  }
+
   protected CompletableFuture<Void> checkApplicantAuthorization(
       ProfileUtils profileUtils, Http.Request request, long applicantId) {
     return profileUtils.currentUserProfile(request).orElseThrow().checkAuthorization(applicantId);
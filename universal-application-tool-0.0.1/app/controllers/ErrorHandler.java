@@ -0,0 +1,57 @@
+package controllers;
+
+import com.typesafe.config.Config;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import play.Environment;
+import play.api.OptionalSourceMapper;
+import play.api.routing.Router;
+import play.http.DefaultHttpErrorHandler;
+import play.mvc.Http;
+import play.mvc.Result;
+import play.mvc.Results;
+
+/**
+ * Handles errors like Play's default handler, except that a request whose work was rejected by a
+ * full dispatcher, see {@code repository.BulkheadExecutionContext}, is answered with 503 Service
+ * Unavailable and a Retry-After header rather than 500, so that clients and load balancers back
+ * off and try again.
+ */
+@Singleton
+public class ErrorHandler extends DefaultHttpErrorHandler {
+  /** How long a client should wait before retrying a request that was turned away, in seconds. */
+  static final String RETRY_AFTER_SECONDS = "5";
+
+  @Inject
+  public ErrorHandler(
+      Config config,
+      Environment environment,
+      OptionalSourceMapper sourceMapper,
+      Provider<Router> routes) {
+    super(config, environment, sourceMapper, routes);
+  }
+
+  @Override
+  public CompletionStage<Result> onServerError(Http.RequestHeader request, Throwable exception) {
+    if (wasRejected(exception)) {
+      return CompletableFuture.completedFuture(
+          Results.status(Http.Status.SERVICE_UNAVAILABLE, "The server is busy, try again shortly.")
+              .withHeader(Http.HeaderNames.RETRY_AFTER, RETRY_AFTER_SECONDS));
+    }
+    return super.onServerError(request, exception);
+  }
+
+  /** Whether the exception, or any exception that caused it, is a rejection by a dispatcher. */
+  private static boolean wasRejected(Throwable exception) {
+    for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+      if (cause instanceof RejectedExecutionException) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
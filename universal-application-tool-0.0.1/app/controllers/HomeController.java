@@ -15,6 +15,7 @@ import play.libs.concurrent.HttpExecutionContext;
 import play.mvc.Controller;
 import play.mvc.Http;
 import play.mvc.Result;
+import services.WarmupService;
 import services.applicant.ApplicantData;
 import views.LoginForm;
 
@@ -24,17 +25,20 @@ public class HomeController extends Controller {
   private final ProfileUtils profileUtils;
   private final MessagesApi messagesApi;
   private final HttpExecutionContext httpExecutionContext;
+  private final WarmupService warmupService;
 
   @Inject
   public HomeController(
       LoginForm form,
       ProfileUtils profileUtils,
       MessagesApi messagesApi,
-      HttpExecutionContext httpExecutionContext) {
+      HttpExecutionContext httpExecutionContext,
+      WarmupService warmupService) {
     this.loginForm = checkNotNull(form);
     this.profileUtils = checkNotNull(profileUtils);
     this.messagesApi = checkNotNull(messagesApi);
     this.httpExecutionContext = checkNotNull(httpExecutionContext);
+    this.warmupService = checkNotNull(warmupService);
   }
 
   public CompletionStage<Result> index(Http.Request request) {
@@ -85,6 +89,14 @@ public class HomeController extends Controller {
     return ok("public index");
   }
 
+  /** The load balancer's health check, which fails until the server has warmed up. */
+  public Result ready() {
+    if (!warmupService.isReady()) {
+      return status(SERVICE_UNAVAILABLE, "warming up");
+    }
+    return ok("ready");
+  }
+
   @Secure
   public Result securePlayIndex() {
     return ok("You are logged in.");
@@ -8,20 +8,27 @@ import com.google.common.collect.ImmutableList;
 import controllers.CiviFormController;
 import java.time.Clock;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import javax.inject.Inject;
 import models.Application;
 import models.Program;
 import org.pac4j.play.java.Secure;
 import play.mvc.Http;
 import play.mvc.Result;
+import repository.AdminDatabaseExecutionContext;
 import repository.ApplicationRepository;
 import services.PaginationInfo;
 import services.applicant.AnswerData;
 import services.applicant.ApplicantService;
 import services.applicant.Block;
 import services.applicant.ReadOnlyApplicantProgramService;
+import services.export.ApplicationFeedService;
+import services.export.ExportExecutionContext;
 import services.export.ExporterService;
+import services.export.FeedCursor;
+import services.export.NotConfiguredException;
 import services.program.ProgramDefinition;
 import services.program.ProgramNotFoundException;
 import services.program.ProgramService;
@@ -37,8 +44,11 @@ public class AdminApplicationController extends CiviFormController {
   private final ProgramApplicationListView applicationListView;
   private final ProgramApplicationView applicationView;
   private final ExporterService exporterService;
+  private final ApplicationFeedService applicationFeedService;
   private final ProfileUtils profileUtils;
   private final Clock clock;
+  private final AdminDatabaseExecutionContext adminExecutionContext;
+  private final ExportExecutionContext exportExecutionContext;
   private static final int PAGE_SIZE = 10;
 
   @Inject
@@ -46,11 +56,14 @@ public class AdminApplicationController extends CiviFormController {
       ProgramService programService,
       ApplicantService applicantService,
       ExporterService exporterService,
+      ApplicationFeedService applicationFeedService,
       ProgramApplicationListView applicationListView,
       ProgramApplicationView applicationView,
       ApplicationRepository applicationRepository,
       ProfileUtils profileUtils,
-      Clock clock) {
+      Clock clock,
+      AdminDatabaseExecutionContext adminExecutionContext,
+      ExportExecutionContext exportExecutionContext) {
     this.programService = checkNotNull(programService);
     this.applicantService = checkNotNull(applicantService);
     this.applicationListView = checkNotNull(applicationListView);
@@ -59,33 +72,119 @@ public class AdminApplicationController extends CiviFormController {
     this.applicationRepository = checkNotNull(applicationRepository);
     this.clock = clock;
     this.exporterService = checkNotNull(exporterService);
+    this.applicationFeedService = checkNotNull(applicationFeedService);
+    this.adminExecutionContext = checkNotNull(adminExecutionContext);
+    this.exportExecutionContext = checkNotNull(exportExecutionContext);
   }
 
   @Secure(authorizers = Authorizers.Labels.ANY_ADMIN)
-  public Result downloadAll(Http.Request request, long programId) {
+  public CompletionStage<Result> downloadAll(Http.Request request, long programId) {
+    ProgramDefinition program;
+    try {
+      program = programService.getProgramDefinition(programId);
+      checkProgramAdminAuthorization(profileUtils, request, program.adminName()).join();
+    } catch (ProgramNotFoundException e) {
+      return CompletableFuture.completedFuture(notFound(e.toString()));
+    } catch (CompletionException e) {
+      return CompletableFuture.completedFuture(unauthorized());
+    }
+    String filename = String.format("%s-%s.csv", program.adminName(), clock.instant().toString());
+    // The export reads every application, so it runs on the export dispatcher.
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return ok(exporterService.getProgramCsv(programId))
+                .as(Http.MimeTypes.BINARY)
+                .withHeader(
+                    "Content-Disposition",
+                    String.format("attachment; filename=\"%s\"", filename));
+          } catch (ProgramNotFoundException e) {
+            return notFound(e.toString());
+          }
+        },
+        exportExecutionContext.current());
+  }
+
+  /** Download a ZIP of the filled-in PDFs of every application to the program. */
+  @Secure(authorizers = Authorizers.Labels.ANY_ADMIN)
+  public CompletionStage<Result> downloadAllPdfs(Http.Request request, long programId) {
+    ProgramDefinition program;
+    try {
+      program = programService.getProgramDefinition(programId);
+      checkProgramAdminAuthorization(profileUtils, request, program.adminName()).join();
+    } catch (ProgramNotFoundException e) {
+      return CompletableFuture.completedFuture(notFound(e.toString()));
+    } catch (CompletionException e) {
+      return CompletableFuture.completedFuture(unauthorized());
+    }
+    String filename = String.format("%s-%s.zip", program.adminName(), clock.instant().toString());
+    // Loading the applications to put in the archive runs on the export dispatcher, like the PDFs.
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return ok()
+                .chunked(exporterService.getProgramPdfZip(programId))
+                .as("application/zip")
+                .withHeader(
+                    "Content-Disposition",
+                    String.format("attachment; filename=\"%s\"", filename));
+          } catch (ProgramNotFoundException e) {
+            return notFound(e.toString());
+          } catch (NotConfiguredException e) {
+            return badRequest("This program does not have a PDF export.");
+          }
+        },
+        exportExecutionContext.current());
+  }
+
+  @Secure(authorizers = Authorizers.Labels.UAT_ADMIN)
+  public CompletionStage<Result> downloadDemographics() {
+    String filename = String.format("demographics-%s.csv", clock.instant().toString());
+    return CompletableFuture.supplyAsync(
+        () ->
+            ok(exporterService.getDemographicsCsv())
+                .as(Http.MimeTypes.BINARY)
+                .withHeader(
+                    "Content-Disposition",
+                    String.format("attachment; filename=\"%s\"", filename)),
+        exportExecutionContext.current());
+  }
+
+  /**
+   * Stream the applications to any version of the program that were submitted or changed after the
+   * cursor, as newline-delimited JSON. Without a cursor, every application is streamed.
+   */
+  @Secure(authorizers = Authorizers.Labels.ANY_ADMIN)
+  public Result programFeed(Http.Request request, long programId, Optional<String> cursor) {
     try {
       ProgramDefinition program = programService.getProgramDefinition(programId);
       checkProgramAdminAuthorization(profileUtils, request, program.adminName()).join();
-      String filename = String.format("%s-%s.csv", program.adminName(), clock.instant().toString());
-      String csv = exporterService.getProgramCsv(programId);
-      return ok(csv)
-          .as(Http.MimeTypes.BINARY)
-          .withHeader(
-              "Content-Disposition", String.format("attachment; filename=\"%s\"", filename));
+      return ok()
+          .chunked(applicationFeedService.streamProgramChanges(programId, parseCursor(cursor)))
+          .as(ApplicationFeedService.CONTENT_TYPE);
     } catch (ProgramNotFoundException e) {
       return notFound(e.toString());
+    } catch (IllegalArgumentException e) {
+      return badRequest(e.getMessage());
     } catch (CompletionException e) {
       return unauthorized();
     }
   }
 
+  /** Like {@link #programFeed}, but for the applications to every program. */
   @Secure(authorizers = Authorizers.Labels.UAT_ADMIN)
-  public Result downloadDemographics() {
-    String filename = String.format("demographics-%s.csv", clock.instant().toString());
-    String csv = exporterService.getDemographicsCsv();
-    return ok(csv)
-        .as(Http.MimeTypes.BINARY)
-        .withHeader("Content-Disposition", String.format("attachment; filename=\"%s\"", filename));
+  public Result feed(Optional<String> cursor) {
+    try {
+      return ok()
+          .chunked(applicationFeedService.streamChanges(parseCursor(cursor)))
+          .as(ApplicationFeedService.CONTENT_TYPE);
+    } catch (IllegalArgumentException e) {
+      return badRequest(e.getMessage());
+    }
+  }
+
+  private static FeedCursor parseCursor(Optional<String> cursor) {
+    return cursor.map(FeedCursor::decode).orElse(FeedCursor.START);
   }
 
   @Secure(authorizers = Authorizers.Labels.ANY_ADMIN)
@@ -135,36 +234,46 @@ public class AdminApplicationController extends CiviFormController {
   }
 
   @Secure(authorizers = Authorizers.Labels.ANY_ADMIN)
-  public Result index(
+  public CompletionStage<Result> index(
       Http.Request request, long programId, Optional<String> search, Optional<Integer> page) {
     if (page.isEmpty()) {
-      return redirect(routes.AdminApplicationController.index(programId, search, Optional.of(1)));
+      return CompletableFuture.completedFuture(
+          redirect(routes.AdminApplicationController.index(programId, search, Optional.of(1))));
     }
     try {
       ProgramDefinition program = programService.getProgramDefinition(programId);
       checkProgramAdminAuthorization(profileUtils, request, program.adminName()).join();
     } catch (ProgramNotFoundException e) {
-      return notFound(e.toString());
+      return CompletableFuture.completedFuture(notFound(e.toString()));
     } catch (CompletionException e) {
-      return unauthorized();
-    }
-    try {
-      ImmutableList<Application> applications =
-          programService.getProgramApplications(programId, search);
-      PaginationInfo<Application> pageInfo =
-          PaginationInfo.paginate(applications, PAGE_SIZE, page.get());
-      ImmutableList<Program> previousVersions = programService.getOtherProgramVersions(programId);
-      return ok(
-          applicationListView.render(
-              request,
-              programId,
-              pageInfo.getPageItems(),
-              pageInfo.getPage(),
-              pageInfo.getPageCount(),
-              search,
-              previousVersions));
-    } catch (ProgramNotFoundException e) {
-      return notFound(e.toString());
+      return CompletableFuture.completedFuture(unauthorized());
     }
+    // The listing runs on the admin dispatcher, which bounds the connections admins can hold.
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            // Searches are ranked and paged by the database, so only the page shown is loaded.
+            PaginationInfo<Application> pageInfo =
+                search.isPresent() && !search.get().isBlank()
+                    ? programService.searchProgramApplications(
+                        programId, search.get(), PAGE_SIZE, page.get())
+                    : PaginationInfo.paginate(
+                        programService.getProgramApplications(programId), PAGE_SIZE, page.get());
+            ImmutableList<Program> previousVersions =
+                programService.getOtherProgramVersions(programId);
+            return ok(
+                applicationListView.render(
+                    request,
+                    programId,
+                    pageInfo.getPageItems(),
+                    pageInfo.getPage(),
+                    pageInfo.getPageCount(),
+                    search,
+                    previousVersions));
+          } catch (ProgramNotFoundException e) {
+            return notFound(e.toString());
+          }
+        },
+        adminExecutionContext.current());
   }
 }
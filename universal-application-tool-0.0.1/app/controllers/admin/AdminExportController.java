@@ -0,0 +1,152 @@
+package controllers.admin;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import auth.Authorizers;
+import auth.ProfileUtils;
+import auth.UatProfile;
+import controllers.CiviFormController;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import javax.inject.Inject;
+import models.ExportJob;
+import models.ExportJobKind;
+import models.ExportJobStatus;
+import org.pac4j.play.java.Secure;
+import play.libs.concurrent.HttpExecutionContext;
+import play.mvc.Http;
+import play.mvc.Result;
+import repository.ExportJobRepository;
+import services.export.ExportJobService;
+import services.export.ExportResultStore;
+import services.program.ProgramDefinition;
+import services.program.ProgramNotFoundException;
+import services.program.ProgramService;
+import views.admin.exports.ExportJobView;
+
+/** Controller for admins running exports in the background and downloading the results. */
+public class AdminExportController extends CiviFormController {
+
+  private final ExportJobService exportJobService;
+  private final ExportJobRepository exportJobRepository;
+  private final ExportResultStore resultStore;
+  private final ProgramService programService;
+  private final ProfileUtils profileUtils;
+  private final ExportJobView exportJobView;
+  private final HttpExecutionContext httpExecutionContext;
+
+  @Inject
+  public AdminExportController(
+      ExportJobService exportJobService,
+      ExportJobRepository exportJobRepository,
+      ExportResultStore resultStore,
+      ProgramService programService,
+      ProfileUtils profileUtils,
+      ExportJobView exportJobView,
+      HttpExecutionContext httpExecutionContext) {
+    this.exportJobService = checkNotNull(exportJobService);
+    this.exportJobRepository = checkNotNull(exportJobRepository);
+    this.resultStore = checkNotNull(resultStore);
+    this.programService = checkNotNull(programService);
+    this.profileUtils = checkNotNull(profileUtils);
+    this.exportJobView = checkNotNull(exportJobView);
+    this.httpExecutionContext = checkNotNull(httpExecutionContext);
+  }
+
+  @Secure(authorizers = Authorizers.Labels.ANY_ADMIN)
+  public CompletionStage<Result> exportProgramCsv(Http.Request request, long programId) {
+    try {
+      ProgramDefinition program = programService.getProgramDefinition(programId);
+      checkProgramAdminAuthorization(profileUtils, request, program.adminName()).join();
+      return exportJobService
+          .submitProgramCsv(programId, requesterEmail(request))
+          .thenApply(job -> redirect(routes.AdminExportController.show(job.id)));
+    } catch (ProgramNotFoundException e) {
+      return CompletableFuture.completedFuture(notFound(e.toString()));
+    } catch (CompletionException e) {
+      return CompletableFuture.completedFuture(unauthorized());
+    }
+  }
+
+  @Secure(authorizers = Authorizers.Labels.UAT_ADMIN)
+  public CompletionStage<Result> exportDemographicsCsv(Http.Request request) {
+    return exportJobService
+        .submitDemographicsCsv(requesterEmail(request))
+        .thenApply(job -> redirect(routes.AdminExportController.show(job.id)));
+  }
+
+  @Secure(authorizers = Authorizers.Labels.ANY_ADMIN)
+  public CompletionStage<Result> show(Http.Request request, long exportJobId) {
+    return lookupAuthorizedJob(request, exportJobId)
+        .thenApplyAsync(
+            job -> {
+              if (job.isEmpty()) {
+                return notFound(String.format("Export %d does not exist.", exportJobId));
+              }
+              return ok(exportJobView.render(job.get()));
+            },
+            httpExecutionContext.current());
+  }
+
+  @Secure(authorizers = Authorizers.Labels.ANY_ADMIN)
+  public CompletionStage<Result> download(Http.Request request, long exportJobId) {
+    return lookupAuthorizedJob(request, exportJobId)
+        .thenApplyAsync(
+            job -> {
+              if (job.isEmpty()) {
+                return notFound(String.format("Export %d does not exist.", exportJobId));
+              }
+              if (!job.get().getStatus().equals(ExportJobStatus.SUCCEEDED)) {
+                return redirect(routes.AdminExportController.show(exportJobId));
+              }
+              return ok()
+                  .chunked(resultStore.get(job.get().getResultKey().get()))
+                  .as(Http.MimeTypes.BINARY)
+                  .withHeader(
+                      "Content-Disposition",
+                      String.format("attachment; filename=\"%s\"", job.get().getFileName()));
+            },
+            httpExecutionContext.current());
+  }
+
+  /**
+   * Looks up the export job, which is empty if it doesn't exist or the current admin may not see
+   * it. Program exports are visible to the program's admins, and demographics exports only to
+   * CiviForm admins. Jobs the admin may not see are reported as missing.
+   */
+  private CompletionStage<Optional<ExportJob>> lookupAuthorizedJob(
+      Http.Request request, long exportJobId) {
+    return exportJobRepository
+        .lookupExportJob(exportJobId)
+        .thenComposeAsync(
+            job -> {
+              if (job.isEmpty()) {
+                return CompletableFuture.completedFuture(job);
+              }
+              if (job.get().getKind().equals(ExportJobKind.DEMOGRAPHICS_CSV)) {
+                boolean isUatAdmin =
+                    profileUtils
+                        .currentUserProfile(request)
+                        .map(UatProfile::isUatAdmin)
+                        .orElse(false);
+                return CompletableFuture.completedFuture(isUatAdmin ? job : Optional.empty());
+              }
+              ProgramDefinition program;
+              try {
+                program =
+                    programService.getProgramDefinition(job.get().getProgramId().orElseThrow());
+              } catch (ProgramNotFoundException e) {
+                return CompletableFuture.completedFuture(Optional.empty());
+              }
+              return checkProgramAdminAuthorization(profileUtils, request, program.adminName())
+                  .handle((unused, e) -> e == null ? job : Optional.empty());
+            },
+            httpExecutionContext.current());
+  }
+
+  private String requesterEmail(Http.Request request) {
+    return profileUtils.currentUserProfile(request).orElseThrow().getEmailAddress().join();
+  }
+}
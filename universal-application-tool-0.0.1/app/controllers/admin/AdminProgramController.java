@@ -8,12 +8,15 @@ import auth.UatProfile;
 import controllers.CiviFormController;
 import forms.ProgramForm;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import javax.inject.Inject;
 import org.pac4j.play.java.Secure;
 import play.data.Form;
 import play.data.FormFactory;
 import play.mvc.Http.Request;
 import play.mvc.Result;
+import repository.AdminDatabaseExecutionContext;
 import repository.VersionRepository;
 import services.CiviFormError;
 import services.ErrorAnd;
@@ -35,6 +38,7 @@ public class AdminProgramController extends CiviFormController {
   private final FormFactory formFactory;
   private final VersionRepository versionRepository;
   private final ProfileUtils profileUtils;
+  private final AdminDatabaseExecutionContext adminExecutionContext;
 
   @Inject
   public AdminProgramController(
@@ -44,7 +48,8 @@ public class AdminProgramController extends CiviFormController {
       ProgramEditView editView,
       VersionRepository versionRepository,
       ProfileUtils profileUtils,
-      FormFactory formFactory) {
+      FormFactory formFactory,
+      AdminDatabaseExecutionContext adminExecutionContext) {
     this.service = checkNotNull(service);
     this.listView = checkNotNull(listView);
     this.newOneView = checkNotNull(newOneView);
@@ -52,6 +57,7 @@ public class AdminProgramController extends CiviFormController {
     this.versionRepository = checkNotNull(versionRepository);
     this.profileUtils = checkNotNull(profileUtils);
     this.formFactory = checkNotNull(formFactory);
+    this.adminExecutionContext = checkNotNull(adminExecutionContext);
   }
 
   @Secure(authorizers = Authorizers.Labels.UAT_ADMIN)
@@ -94,13 +100,18 @@ public class AdminProgramController extends CiviFormController {
   }
 
   @Secure(authorizers = Authorizers.Labels.UAT_ADMIN)
-  public Result publish() {
-    try {
-      versionRepository.publishNewSynchronizedVersion();
-      return redirect(routes.AdminProgramController.index());
-    } catch (Exception e) {
-      return badRequest(e.toString());
-    }
+  public CompletionStage<Result> publish() {
+    // Publishing holds a transaction across every program and question, so it runs on the admin
+    // pool rather than holding a connection that applicant requests could use.
+    return CompletableFuture.runAsync(
+            versionRepository::publishNewSynchronizedVersion, adminExecutionContext.current())
+        .handle(
+            (unused, e) -> {
+              if (e != null) {
+                return badRequest(e.getCause().toString());
+              }
+              return redirect(routes.AdminProgramController.index());
+            });
   }
 
   @Secure(authorizers = Authorizers.Labels.UAT_ADMIN)
@@ -68,7 +68,7 @@ public class AdminQuestionController extends CiviFormController {
         .getReadOnlyQuestionService()
         .thenApplyAsync(
             readOnlyService ->
-                ok(
+                okStreamed(
                     listView.render(
                         readOnlyService.getActiveAndDraftQuestions(), maybeFlash, request)),
             httpExecutionContext.current());
@@ -1,23 +1,32 @@
 package controllers.admin;
 
+import static com.google.common.base.Preconditions.checkNotNull;
+
 import auth.Authorizers;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import javax.inject.Inject;
 import org.pac4j.play.java.Secure;
 import play.mvc.Controller;
 import play.mvc.Http;
 import play.mvc.Result;
+import repository.AdminDatabaseExecutionContext;
 import repository.VersionRepository;
 import views.admin.versions.VersionListView;
 
 public class AdminVersionController extends Controller {
   private final VersionRepository versionRepository;
   private final VersionListView versionListView;
+  private final AdminDatabaseExecutionContext adminExecutionContext;
 
   @Inject
   public AdminVersionController(
-      VersionRepository versionRepository, VersionListView versionListView) {
+      VersionRepository versionRepository,
+      VersionListView versionListView,
+      AdminDatabaseExecutionContext adminExecutionContext) {
     this.versionRepository = versionRepository;
     this.versionListView = versionListView;
+    this.adminExecutionContext = checkNotNull(adminExecutionContext);
   }
 
   @Secure(authorizers = Authorizers.Labels.UAT_ADMIN)
@@ -26,8 +35,9 @@ public class AdminVersionController extends Controller {
   }
 
   @Secure(authorizers = Authorizers.Labels.UAT_ADMIN)
-  public Result setVersionLive(long versionId, Http.Request request) {
-    versionRepository.setLive(versionId);
-    return redirect(routes.AdminVersionController.index());
+  public CompletionStage<Result> setVersionLive(long versionId, Http.Request request) {
+    return CompletableFuture.runAsync(
+            () -> versionRepository.setLive(versionId), adminExecutionContext.current())
+        .thenApply(unused -> redirect(routes.AdminVersionController.index()));
   }
 }
@@ -102,22 +102,10 @@ public final class ApplicantInformationController extends CiviFormController {
 
     return checkApplicantAuthorization(profileUtils, request, applicantId)
         .thenComposeAsync(
-            v -> repository.lookupApplicant(applicantId), httpExecutionContext.current())
-        .thenComposeAsync(
-            maybeApplicant -> {
-              // Set preferred locale.
-              if (maybeApplicant.isPresent()) {
-                Applicant applicant = maybeApplicant.get();
-                ApplicantData data = applicant.getApplicantData();
-                data.setPreferredLocale(infoForm.getLocale());
-                // Update the applicant, then pass the updated applicant to the next stage.
-                return repository
-                    .updateApplicant(applicant)
-                    .thenApplyAsync(v -> applicant, httpExecutionContext.current());
-              } else {
-                return CompletableFuture.failedFuture(new ApplicantNotFoundException(applicantId));
-              }
-            },
+            v ->
+                UserRepository.retryOnConflict(
+                    () -> setPreferredLocale(applicantId, infoForm.getLocale()),
+                    httpExecutionContext.current()),
             httpExecutionContext.current())
         .thenApplyAsync(
             applicant -> {
@@ -138,4 +126,24 @@ public final class ApplicantInformationController extends CiviFormController {
               throw new RuntimeException(ex);
             });
   }
+
+  /** Loads the applicant and saves their preferred locale, returning the updated applicant. */
+  private CompletionStage<Applicant> setPreferredLocale(long applicantId, Locale locale) {
+    return repository
+        .lookupApplicant(applicantId)
+        .thenComposeAsync(
+            maybeApplicant -> {
+              if (maybeApplicant.isEmpty()) {
+                return CompletableFuture.failedFuture(new ApplicantNotFoundException(applicantId));
+              }
+              Applicant applicant = maybeApplicant.get();
+              ApplicantData data = applicant.getApplicantData();
+              data.setPreferredLocale(locale);
+              // Update the applicant, then pass the updated applicant to the next stage.
+              return repository
+                  .updateApplicant(applicant)
+                  .thenApplyAsync(v -> applicant, httpExecutionContext.current());
+            },
+            httpExecutionContext.current());
+  }
 }
@@ -85,7 +85,7 @@ public class ApplicantProgramReviewController extends CiviFormController {
                       .setProgramId(programId)
                       .setRequest(request)
                       .build();
-              return ok(summaryView.render(params));
+              return okStreamed(summaryView.render(params));
             },
             httpExecutionContext.current())
         .exceptionally(
@@ -10,15 +10,24 @@ import io.ebean.Ebean;
 import io.ebean.EbeanServer;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import models.LifecycleStage;
 import models.Models;
 import models.Version;
 import play.Environment;
+import play.data.DynamicForm;
+import play.data.FormFactory;
 import play.db.ebean.EbeanConfig;
 import play.mvc.Http.Request;
 import play.mvc.Result;
+import repository.AdminDatabaseExecutionContext;
+import repository.CacheInvalidationBus;
 import services.LocalizedStrings;
 import services.applicant.question.Scalar;
+import services.dev.SyntheticDataConfig;
+import services.dev.SyntheticDataGenerator;
+import services.dev.SyntheticDataSummary;
 import services.program.ActiveAndDraftPrograms;
 import services.program.ProgramDefinition;
 import services.program.ProgramQuestionDefinition;
@@ -47,6 +56,10 @@ public class DatabaseSeedController extends DevController {
   private final EbeanServer ebeanServer;
   private final QuestionService questionService;
   private final ProgramService programService;
+  private final SyntheticDataGenerator syntheticDataGenerator;
+  private final FormFactory formFactory;
+  private final CacheInvalidationBus invalidationBus;
+  private final AdminDatabaseExecutionContext adminExecutionContext;
 
   @Inject
   public DatabaseSeedController(
@@ -54,6 +67,10 @@ public class DatabaseSeedController extends DevController {
       EbeanConfig ebeanConfig,
       QuestionService questionService,
       ProgramService programService,
+      SyntheticDataGenerator syntheticDataGenerator,
+      FormFactory formFactory,
+      CacheInvalidationBus invalidationBus,
+      AdminDatabaseExecutionContext adminExecutionContext,
       Environment environment,
       Config configuration) {
     super(environment, configuration);
@@ -61,6 +78,10 @@ public class DatabaseSeedController extends DevController {
     this.ebeanServer = Ebean.getServer(checkNotNull(ebeanConfig).defaultServer());
     this.questionService = checkNotNull(questionService);
     this.programService = checkNotNull(programService);
+    this.syntheticDataGenerator = checkNotNull(syntheticDataGenerator);
+    this.formFactory = checkNotNull(formFactory);
+    this.invalidationBus = checkNotNull(invalidationBus);
+    this.adminExecutionContext = checkNotNull(adminExecutionContext);
   }
 
   /**
@@ -89,14 +110,55 @@ public class DatabaseSeedController extends DevController {
         .flashing("success", "The database has been seeded");
   }
 
-  /** Remove all content from the program and question tables. */
-  public Result clear() {
+  /**
+   * Generate synthetic questions, programs, applicants and applications for load testing. Volumes
+   * not present in the form keep their {@link SyntheticDataConfig} defaults.
+   */
+  public Result seedSynthetic(Request request) {
     if (!isDevEnvironment()) {
       return notFound();
     }
-    resetTables();
+    DynamicForm form = formFactory.form().bindFromRequest(request);
+    SyntheticDataConfig defaults = SyntheticDataConfig.builder().build();
+    SyntheticDataConfig config;
+    try {
+      config =
+          defaults.toBuilder()
+              .setQuestionsPerType(
+                  intField(form, "questionsPerType", defaults.questionsPerType()))
+              .setProgramCount(intField(form, "programCount", defaults.programCount()))
+              .setApplicantCount(intField(form, "applicantCount", defaults.applicantCount()))
+              .setMaxApplicationsPerApplicant(
+                  intField(
+                      form,
+                      "maxApplicationsPerApplicant",
+                      defaults.maxApplicationsPerApplicant()))
+              .setMaxHouseholdMembers(
+                  intField(form, "maxHouseholdMembers", defaults.maxHouseholdMembers()))
+              .build();
+    } catch (IllegalArgumentException e) {
+      return badRequest(e.getMessage());
+    }
+    SyntheticDataSummary summary = syntheticDataGenerator.generate(config);
     return redirect(routes.DatabaseSeedController.index().url())
-        .flashing("success", "The database has been cleared");
+        .flashing("success", summary.toString());
+  }
+
+  private static int intField(DynamicForm form, String fieldName, int defaultValue) {
+    String value = form.get(fieldName);
+    return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+  }
+
+  /** Remove all content from the program and question tables. */
+  public CompletionStage<Result> clear() {
+    if (!isDevEnvironment()) {
+      return CompletableFuture.completedFuture(notFound());
+    }
+    return CompletableFuture.runAsync(this::resetTables, adminExecutionContext.current())
+        .thenApply(
+            unused ->
+                redirect(routes.DatabaseSeedController.index().url())
+                    .flashing("success", "The database has been cleared"));
   }
 
   private QuestionDefinition insertNameQuestionDefinition() {
@@ -275,7 +337,9 @@ public class DatabaseSeedController extends DevController {
 
   private void resetTables() {
     Models.truncate(ebeanServer);
+    ebeanServer.createSqlUpdate("truncate applications_archive").execute();
     Version newActiveVersion = new Version(LifecycleStage.ACTIVE);
     newActiveVersion.save();
+    invalidationBus.publish(CacheInvalidationBus.Entity.VERSION, newActiveVersion.id);
   }
 }
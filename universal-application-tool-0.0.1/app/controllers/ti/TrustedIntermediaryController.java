@@ -12,7 +12,15 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import forms.AddApplicantToTrustedIntermediaryGroupForm;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import javax.inject.Inject;
 import models.Account;
 import models.TrustedIntermediaryGroup;
@@ -20,10 +28,15 @@ import org.pac4j.play.java.Secure;
 import play.data.Form;
 import play.data.FormFactory;
 import play.i18n.MessagesApi;
+import play.libs.Files.TemporaryFile;
+import play.libs.concurrent.HttpExecutionContext;
 import play.mvc.Http;
 import play.mvc.Result;
+import repository.AdminDatabaseExecutionContext;
 import repository.UserRepository;
 import services.PaginationInfo;
+import services.ti.ClientImportResult;
+import services.ti.ClientImportService;
 import services.ti.EmailAddressExistsException;
 import views.applicant.TrustedIntermediaryDashboardView;
 
@@ -35,6 +48,9 @@ public class TrustedIntermediaryController {
   private final UserRepository userRepository;
   private final MessagesApi messagesApi;
   private final FormFactory formFactory;
+  private final ClientImportService clientImportService;
+  private final AdminDatabaseExecutionContext adminExecutionContext;
+  private final HttpExecutionContext httpExecutionContext;
 
   @Inject
   public TrustedIntermediaryController(
@@ -42,42 +58,56 @@ public class TrustedIntermediaryController {
       UserRepository userRepository,
       FormFactory formFactory,
       MessagesApi messagesApi,
-      TrustedIntermediaryDashboardView trustedIntermediaryDashboardView) {
+      TrustedIntermediaryDashboardView trustedIntermediaryDashboardView,
+      ClientImportService clientImportService,
+      AdminDatabaseExecutionContext adminExecutionContext,
+      HttpExecutionContext httpExecutionContext) {
     this.profileUtils = Preconditions.checkNotNull(profileUtils);
     this.tiDashboardView = Preconditions.checkNotNull(trustedIntermediaryDashboardView);
     this.userRepository = Preconditions.checkNotNull(userRepository);
     this.formFactory = Preconditions.checkNotNull(formFactory);
     this.messagesApi = Preconditions.checkNotNull(messagesApi);
+    this.clientImportService = Preconditions.checkNotNull(clientImportService);
+    this.adminExecutionContext = Preconditions.checkNotNull(adminExecutionContext);
+    this.httpExecutionContext = Preconditions.checkNotNull(httpExecutionContext);
   }
 
   @Secure(authorizers = Authorizers.Labels.TI)
-  public Result dashboard(Http.Request request, Optional<String> search, Optional<Integer> page) {
+  public CompletionStage<Result> dashboard(
+      Http.Request request, Optional<String> search, Optional<Integer> page) {
     if (page.isEmpty()) {
-      return redirect(routes.TrustedIntermediaryController.dashboard(search, Optional.of(1)));
+      return CompletableFuture.completedFuture(
+          redirect(routes.TrustedIntermediaryController.dashboard(search, Optional.of(1))));
     }
     Optional<UatProfile> uatProfile = profileUtils.currentUserProfile(request);
     if (uatProfile.isEmpty()) {
-      return unauthorized();
+      return CompletableFuture.completedFuture(unauthorized());
     }
     Optional<TrustedIntermediaryGroup> trustedIntermediaryGroup =
         userRepository.getTrustedIntermediaryGroup(uatProfile.get());
     if (trustedIntermediaryGroup.isEmpty()) {
-      return notFound();
+      return CompletableFuture.completedFuture(notFound());
     }
-    ImmutableList<Account> managedAccounts =
-        trustedIntermediaryGroup.get().getManagedAccounts(search);
-    PaginationInfo<Account> pageInfo =
-        PaginationInfo.paginate(managedAccounts, PAGE_SIZE, page.get());
-    return ok(
-        tiDashboardView.render(
-            trustedIntermediaryGroup.get(),
-            uatProfile.get().getApplicant().join().getApplicantData().getApplicantName(),
-            pageInfo.getPageItems(),
-            pageInfo.getPageCount(),
-            pageInfo.getPage(),
-            search,
-            request,
-            messagesApi.preferred(request)));
+    // The listing runs on the admin dispatcher, which bounds the connections listings can hold.
+    return CompletableFuture.supplyAsync(
+            () -> userRepository.listManagedAccounts(trustedIntermediaryGroup.get().id, search),
+            adminExecutionContext.current())
+        .thenApplyAsync(
+            managedAccounts -> {
+              PaginationInfo<Account> pageInfo =
+                  PaginationInfo.paginate(managedAccounts, PAGE_SIZE, page.get());
+              return ok(
+                  tiDashboardView.render(
+                      trustedIntermediaryGroup.get(),
+                      uatProfile.get().getApplicant().join().getApplicantData().getApplicantName(),
+                      pageInfo.getPageItems(),
+                      pageInfo.getPageCount(),
+                      pageInfo.getPage(),
+                      search,
+                      request,
+                      messagesApi.preferred(request)));
+            },
+            httpExecutionContext.current());
   }
 
   @Secure(authorizers = Authorizers.Labels.TI)
@@ -119,6 +149,72 @@ public class TrustedIntermediaryController {
     }
   }
 
+  /**
+   * Add every client in an uploaded CSV file to the TI group, and respond with a CSV report of what
+   * happened to each row. The file is read and imported on the admin database dispatcher, since a
+   * large file holds a connection for a while.
+   */
+  @Secure(authorizers = Authorizers.Labels.TI)
+  public CompletionStage<Result> importApplicants(Long id, Http.Request request) {
+    Optional<UatProfile> uatProfile = profileUtils.currentUserProfile(request);
+    if (uatProfile.isEmpty()) {
+      return CompletableFuture.completedFuture(unauthorized());
+    }
+    Optional<TrustedIntermediaryGroup> trustedIntermediaryGroup =
+        userRepository.getTrustedIntermediaryGroup(uatProfile.get());
+    if (trustedIntermediaryGroup.isEmpty()) {
+      return CompletableFuture.completedFuture(notFound());
+    }
+    if (!trustedIntermediaryGroup.get().id.equals(id)) {
+      return CompletableFuture.completedFuture(unauthorized());
+    }
+    Http.MultipartFormData<TemporaryFile> body = request.body().asMultipartFormData();
+    Http.MultipartFormData.FilePart<TemporaryFile> file =
+        body == null ? null : body.getFile("clients");
+    if (file == null) {
+      return CompletableFuture.completedFuture(
+          redirectToDashboardWithError("Choose a CSV file of clients to import."));
+    }
+    return CompletableFuture.supplyAsync(
+            () -> importApplicants(file, trustedIntermediaryGroup.get()),
+            adminExecutionContext.current())
+        .thenApplyAsync(
+            results ->
+                ok(clientImportService.renderReport(results))
+                    .as("text/csv")
+                    .withHeader(
+                        Http.HeaderNames.CONTENT_DISPOSITION,
+                        "attachment; filename=\"client-import-report.csv\""),
+            httpExecutionContext.current())
+        .exceptionally(
+            e -> {
+              if (e instanceof CompletionException
+                  && e.getCause() instanceof IllegalArgumentException) {
+                return redirectToDashboardWithError(e.getCause().getMessage());
+              }
+              if (e instanceof CompletionException
+                  && e.getCause() instanceof UncheckedIOException) {
+                return redirectToDashboardWithError("The file could not be read as a CSV.");
+              }
+              throw new RuntimeException(e);
+            });
+  }
+
+  private ImmutableList<ClientImportResult> importApplicants(
+      Http.MultipartFormData.FilePart<TemporaryFile> file, TrustedIntermediaryGroup tiGroup) {
+    try (Reader reader = Files.newBufferedReader(file.getRef().path(), StandardCharsets.UTF_8)) {
+      return clientImportService.importClients(reader, tiGroup);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private Result redirectToDashboardWithError(String errorMessage) {
+    return redirect(
+            routes.TrustedIntermediaryController.dashboard(Optional.empty(), Optional.empty()))
+        .flashing("error", errorMessage);
+  }
+
   private Result redirectToDashboardWithError(
       String errorMessage, Form<AddApplicantToTrustedIntermediaryGroupForm> form) {
     return redirect(
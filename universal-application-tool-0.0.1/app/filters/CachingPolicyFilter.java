@@ -0,0 +1,88 @@
+package filters;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableSet;
+import com.typesafe.config.Config;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+import javax.inject.Inject;
+import play.mvc.EssentialAction;
+import play.mvc.EssentialFilter;
+import play.mvc.Http;
+import play.mvc.Result;
+
+/**
+ * A filter that sets the HTTP caching headers of each response based on what was requested.
+ *
+ * <ul>
+ *   <li>Fingerprinted assets, whose file name starts with a content digest, never change, so they
+ *       are cached for a year without revalidation. Other assets keep the headers set by the assets
+ *       controller, which include an ETag so revalidation is cheap.
+ *   <li>Pages listed in {@code http_caching.public_paths} are the same for every visitor, so they
+ *       are cached for {@code http_caching.public_max_age} unless the response sets a cookie.
+ *   <li>Everything else may contain applicant or admin data and must not be stored.
+ * </ul>
+ */
+public class CachingPolicyFilter extends EssentialFilter {
+  static final String IMMUTABLE = "public, max-age=31536000, immutable";
+  static final String NO_STORE = "no-store";
+
+  private static final String ASSETS_PATH_PREFIX = "/assets/";
+  /** A file name prefixed with a digest by sbt-digest, e.g. {@code 0a1b..-main.js}. */
+  private static final Pattern FINGERPRINTED_FILE = Pattern.compile(".*/[0-9a-f]{32,40}-[^/]+");
+
+  private final Executor exec;
+  private final ImmutableSet<String> publicPaths;
+  private final String publicCacheControl;
+
+  @Inject
+  public CachingPolicyFilter(Executor exec, Config configuration) {
+    this.exec = checkNotNull(exec);
+    checkNotNull(configuration);
+    this.publicPaths =
+        ImmutableSet.copyOf(configuration.getStringList("http_caching.public_paths"));
+    this.publicCacheControl =
+        "public, max-age="
+            + configuration.getDuration("http_caching.public_max_age").getSeconds();
+  }
+
+  @Override
+  public EssentialAction apply(EssentialAction next) {
+    return EssentialAction.of(
+        request -> next.apply(request).map(result -> applyPolicy(request, result), exec));
+  }
+
+  Result applyPolicy(Http.RequestHeader request, Result result) {
+    String path = request.path();
+    if (path.startsWith(ASSETS_PATH_PREFIX) && isCacheableStatus(result)) {
+      if (FINGERPRINTED_FILE.matcher(path).matches()) {
+        return result.withHeader(Http.HeaderNames.CACHE_CONTROL, IMMUTABLE);
+      }
+      return result;
+    }
+
+    if (publicPaths.contains(path)
+        && request.method().equals(Http.HttpVerbs.GET)
+        && result.status() == Http.Status.OK
+        && !setsCookies(result)) {
+      return result.withHeader(Http.HeaderNames.CACHE_CONTROL, publicCacheControl);
+    }
+
+    return result
+        .withHeader(Http.HeaderNames.CACHE_CONTROL, NO_STORE)
+        .withHeader(Http.HeaderNames.PRAGMA, "no-cache")
+        .withHeader(Http.HeaderNames.EXPIRES, "0");
+  }
+
+  private static boolean isCacheableStatus(Result result) {
+    return result.status() == Http.Status.OK || result.status() == Http.Status.NOT_MODIFIED;
+  }
+
+  /** Responses that set cookies, including the session and flash, are specific to one visitor. */
+  private static boolean setsCookies(Result result) {
+    return result.cookies().iterator().hasNext()
+        || result.session() != null
+        || result.flash() != null;
+  }
+}
@@ -0,0 +1,68 @@
+package filters;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import akka.stream.Materializer;
+import com.google.common.collect.ImmutableSet;
+import com.typesafe.config.Config;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import javax.inject.Inject;
+import play.filters.gzip.GzipFilter;
+import play.filters.gzip.GzipFilterConfig;
+import play.mvc.EssentialAction;
+import play.mvc.EssentialFilter;
+import play.mvc.Http;
+import play.mvc.Result;
+
+/**
+ * A filter to gzip text responses, such as rendered pages and CSV exports, for clients that accept
+ * it.
+ *
+ * <p>Only responses whose content type is listed in {@code compression.content_types} are
+ * compressed, and only if they are at least {@code compression.min_size} or streamed without a
+ * known length. Assets are precompressed at build time and served with their own Content-Encoding,
+ * which the gzip filter leaves alone.
+ */
+public class CompressionFilter extends EssentialFilter {
+  private final ImmutableSet<String> contentTypes;
+  private final long minSize;
+  private final EssentialFilter gzipFilter;
+
+  @Inject
+  public CompressionFilter(Config configuration, Materializer materializer) {
+    checkNotNull(configuration);
+    this.contentTypes =
+        ImmutableSet.copyOf(configuration.getStringList("compression.content_types"));
+    this.minSize = configuration.getBytes("compression.min_size");
+    this.gzipFilter =
+        new GzipFilter(
+                new GzipFilterConfig()
+                    .withShouldGzip(
+                        (BiFunction<Http.RequestHeader, Result, Object>) this::shouldCompress),
+                checkNotNull(materializer))
+            .asJava();
+  }
+
+  @Override
+  public EssentialAction apply(EssentialAction next) {
+    return gzipFilter.apply(next);
+  }
+
+  boolean shouldCompress(Http.RequestHeader request, Result result) {
+    Optional<String> contentType = result.body().contentType();
+    if (contentType.isEmpty() || !contentTypes.contains(mediaType(contentType.get()))) {
+      return false;
+    }
+    return result.body().contentLength().map(length -> length >= minSize).orElse(true);
+  }
+
+  /** Strips parameters such as the charset from a content type. */
+  private static String mediaType(String contentType) {
+    int parametersStart = contentType.indexOf(';');
+    String mediaType =
+        parametersStart < 0 ? contentType : contentType.substring(0, parametersStart);
+    return mediaType.trim().toLowerCase(Locale.ROOT);
+  }
+}
@@ -7,9 +7,12 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
+import javax.annotation.Nullable;
 import javax.persistence.Entity;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.PostPersist;
+import javax.persistence.PostUpdate;
 import javax.persistence.PrePersist;
 import javax.persistence.PreUpdate;
 import javax.persistence.Table;
@@ -42,6 +45,15 @@ public class Applicant extends BaseModel {
   private String preferredLocale;
 
   @Constraints.Required @DbJson private String object;
+
+  /**
+   * Incremented by the database on every write, whatever value is saved here. Only {@code
+   * repository.UserRepository#updateApplicant} checks it, when it writes just the changed answers,
+   * so that answers patched into data that has since been rewritten are rejected. Full saves are
+   * not checked, and the last one wins.
+   */
+  private long objectVersion;
+
   @ManyToOne private Account account;
 
   @OneToMany(mappedBy = "applicant")
@@ -74,13 +86,35 @@ public class Applicant extends BaseModel {
   @PrePersist
   @PreUpdate
   public void synchronizeObject() {
-    this.preferredLocale =
-        getApplicantData().hasPreferredLocale()
-            ? getApplicantData().preferredLocale().toLanguageTag()
-            : null;
+    this.preferredLocale = getPreferredLocaleTag();
     this.object = objectAsJsonString();
   }
 
+  /** The whole document has been written, so there are no changes left to write. */
+  @PostPersist
+  @PostUpdate
+  public void clearApplicantDataChanges() {
+    if (applicantData != null) {
+      applicantData.markChangesPersisted();
+    }
+  }
+
+  /** The applicant's preferred locale as a language tag, or null if they haven't chosen one. */
+  @Nullable
+  public String getPreferredLocaleTag() {
+    return getApplicantData().hasPreferredLocale()
+        ? getApplicantData().preferredLocale().toLanguageTag()
+        : null;
+  }
+
+  public long getObjectVersion() {
+    return objectVersion;
+  }
+
+  public void setObjectVersion(long objectVersion) {
+    this.objectVersion = objectVersion;
+  }
+
   private String objectAsJsonString() {
     return getApplicantData().asJsonString();
   }
@@ -22,6 +22,10 @@ import services.applicant.ApplicantData;
  * LifecycleStage}. This ensures that the data seen by the program administrator is consistent with
  * what was actually submitted and not subject to change if the resident or trusted intermediary
  * changes answers to shared questions after submitting.
+ *
+ * <p>A draft doesn't keep its own copy of the {@code ApplicantData}, since it would be rewritten
+ * every time the applicant saves a block. It reads the applicant's data instead, and the data is
+ * copied into the application when it is submitted.
  */
 @Entity
 @Table(name = "applications")
@@ -36,14 +40,17 @@ public class Application extends BaseModel {
   @CreatedTimestamp private Instant createTime;
   @UpdatedTimestamp private Instant submitTime;
 
-  @Constraints.Required @DbJson private String object;
+  /** A snapshot of the applicant's data when submitted, or null for a draft. */
+  @DbJson private String object;
 
   private String preferredLocale;
   private String submitterEmail;
 
   public Application(Applicant applicant, Program program, LifecycleStage lifecycleStage) {
     this.applicant = applicant;
-    setApplicantData(applicant.getApplicantData());
+    if (!lifecycleStage.equals(LifecycleStage.DRAFT)) {
+      setApplicantData(applicant.getApplicantData());
+    }
     this.program = program;
     this.lifecycleStage = lifecycleStage;
   }
@@ -66,6 +73,20 @@ public class Application extends BaseModel {
   }
 
   public ApplicantData getApplicantData() {
+    if (this.object == null && LifecycleStage.DRAFT.equals(this.lifecycleStage)) {
+      // A draft reads the applicant's current answers. Drafts that still have a copy, from before
+      // drafts stopped keeping one, are read from it below.
+      ApplicantData live = applicant.getApplicantData();
+      return live.hasPreferredLocale()
+          ? new ApplicantData(Optional.of(live.preferredLocale()), live.asJsonString())
+          : new ApplicantData(live.asJsonString());
+    }
+    if (this.object == null) {
+      // Applications are given a copy of the applicant's data when they stop being drafts, and the
+      // database rejects active and obsolete applications without one.
+      throw new IllegalStateException(
+          String.format("Application %d is %s but has no applicant data.", id, lifecycleStage));
+    }
     if (this.preferredLocale == null || this.preferredLocale.isEmpty()) {
       // Default to English.
       return new ApplicantData(this.object);
@@ -0,0 +1,122 @@
+package models;
+
+import io.ebean.annotation.WhenCreated;
+import io.ebean.annotation.WhenModified;
+import java.time.Instant;
+import java.util.Optional;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+import play.data.validation.Constraints;
+
+/**
+ * An EBean mapped class that tracks an export that runs in the background.
+ *
+ * <p>An export job records what was requested and by whom, how many records have been written so
+ * far, and, once it has succeeded, the key of the exported file in the {@code ExportResultStore}.
+ */
+@Entity
+@Table(name = "export_jobs")
+public class ExportJob extends BaseModel {
+  private static final long serialVersionUID = 1L;
+
+  @Constraints.Required private ExportJobKind kind;
+
+  @Constraints.Required private ExportJobStatus status;
+
+  /** The program being exported, for {@link ExportJobKind#PROGRAM_CSV} jobs. */
+  private Long programId;
+
+  private String requestedBy;
+
+  private int completedCount;
+
+  private int totalCount;
+
+  private String fileName;
+
+  private String resultKey;
+
+  private String errorMessage;
+
+  @WhenCreated private Instant createTime;
+
+  @WhenModified private Instant updateTime;
+
+  public ExportJob(
+      ExportJobKind kind, Optional<Long> programId, String requestedBy, String fileName) {
+    this.kind = kind;
+    this.status = ExportJobStatus.QUEUED;
+    this.programId = programId.orElse(null);
+    this.requestedBy = requestedBy;
+    this.fileName = fileName;
+  }
+
+  public ExportJobKind getKind() {
+    return kind;
+  }
+
+  public ExportJobStatus getStatus() {
+    return status;
+  }
+
+  public Optional<Long> getProgramId() {
+    return Optional.ofNullable(programId);
+  }
+
+  public String getRequestedBy() {
+    return requestedBy;
+  }
+
+  public int getCompletedCount() {
+    return completedCount;
+  }
+
+  public int getTotalCount() {
+    return totalCount;
+  }
+
+  /** The name the exported file is downloaded as. */
+  public String getFileName() {
+    return fileName;
+  }
+
+  public Optional<String> getResultKey() {
+    return Optional.ofNullable(resultKey);
+  }
+
+  public Optional<String> getErrorMessage() {
+    return Optional.ofNullable(errorMessage);
+  }
+
+  public Instant getCreateTime() {
+    return createTime;
+  }
+
+  public Instant getUpdateTime() {
+    return updateTime;
+  }
+
+  public ExportJob markRunning(int totalCount) {
+    this.status = ExportJobStatus.RUNNING;
+    this.totalCount = totalCount;
+    return this;
+  }
+
+  public ExportJob setCompletedCount(int completedCount) {
+    this.completedCount = completedCount;
+    return this;
+  }
+
+  public ExportJob markSucceeded(String resultKey) {
+    this.status = ExportJobStatus.SUCCEEDED;
+    this.completedCount = totalCount;
+    this.resultKey = resultKey;
+    return this;
+  }
+
+  public ExportJob markFailed(String errorMessage) {
+    this.status = ExportJobStatus.FAILED;
+    this.errorMessage = errorMessage;
+    return this;
+  }
+}
@@ -0,0 +1,23 @@
+package models;
+
+import io.ebean.annotation.DbEnumType;
+import io.ebean.annotation.DbEnumValue;
+
+/** The kind of file an {@link ExportJob} produces. */
+public enum ExportJobKind {
+  /** The CSV of every application to one program. */
+  PROGRAM_CSV("program_csv"),
+  /** The demographics CSV of every application to every program. */
+  DEMOGRAPHICS_CSV("demographics_csv");
+
+  private final String kind;
+
+  ExportJobKind(String kind) {
+    this.kind = kind;
+  }
+
+  @DbEnumValue(storage = DbEnumType.VARCHAR)
+  public String getValue() {
+    return this.kind;
+  }
+}
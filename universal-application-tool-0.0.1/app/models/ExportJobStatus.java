@@ -0,0 +1,31 @@
+package models;
+
+import io.ebean.annotation.DbEnumType;
+import io.ebean.annotation.DbEnumValue;
+
+/**
+ * Represents a stage in an {@link ExportJob}'s lifecycle. Jobs are queued when requested, run on
+ * the export worker pool, and end up either succeeded, with a result to download, or failed.
+ */
+public enum ExportJobStatus {
+  QUEUED("queued"),
+  RUNNING("running"),
+  SUCCEEDED("succeeded"),
+  FAILED("failed");
+
+  private final String status;
+
+  ExportJobStatus(String status) {
+    this.status = status;
+  }
+
+  @DbEnumValue(storage = DbEnumType.VARCHAR)
+  public String getValue() {
+    return this.status;
+  }
+
+  /** Whether a job with this status is still waiting or running. */
+  public boolean isInProgress() {
+    return this.equals(QUEUED) || this.equals(RUNNING);
+  }
+}
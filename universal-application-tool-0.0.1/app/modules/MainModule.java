@@ -3,8 +3,14 @@ package modules;
 import com.google.inject.AbstractModule;
 import java.time.Clock;
 import java.time.ZoneId;
+import repository.CacheInvalidationBus;
+import services.ApplicationArchiveJob;
+import services.WarmupService;
 import services.applicant.ApplicantService;
 import services.applicant.ApplicantServiceImpl;
+import services.export.ExportJobService;
+import services.export.ExportResultStore;
+import services.export.ExportResultStoreProvider;
 import services.program.ProgramService;
 import services.program.ProgramServiceImpl;
 import services.question.QuestionService;
@@ -27,5 +33,12 @@ public class MainModule extends AbstractModule {
     bind(ProgramService.class).to(ProgramServiceImpl.class);
     bind(QuestionService.class).to(QuestionServiceImpl.class);
     bind(ApplicantService.class).to(ApplicantServiceImpl.class);
+    bind(ExportResultStore.class).toProvider(ExportResultStoreProvider.class);
+    // Start listening for changes made on other servers as soon as the application starts.
+    bind(CacheInvalidationBus.class).asEagerSingleton();
+    bind(WarmupService.class).asEagerSingleton();
+    bind(ApplicationArchiveJob.class).asEagerSingleton();
+    // Fail the export jobs that stopped servers left unfinished, as soon as the application starts.
+    bind(ExportJobService.class).asEagerSingleton();
   }
 }
@@ -0,0 +1,19 @@
+package repository;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import akka.actor.ActorSystem;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Custom execution context wired to "database.admin.dispatcher" thread pool, for admin actions
+ * such as publishing that may hold a connection for a long transaction.
+ */
+@Singleton
+public class AdminDatabaseExecutionContext extends BulkheadExecutionContext {
+  @Inject
+  public AdminDatabaseExecutionContext(ActorSystem actorSystem) {
+    super(checkNotNull(actorSystem), "database.admin.dispatcher");
+  }
+}
@@ -3,10 +3,15 @@ package repository;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import io.ebean.Ebean;
 import io.ebean.EbeanServer;
-import java.util.List;
+import io.ebean.ExpressionList;
+import io.ebean.Query;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
@@ -26,18 +31,64 @@ public class ApplicationRepository {
   private final UserRepository userRepository;
   private final EbeanServer ebeanServer;
   private final DatabaseExecutionContext executionContext;
+  private final ReadReplica readReplica;
   private static final Logger LOG = LoggerFactory.getLogger(ApplicationRepository.class);
 
+  /** The columns of an application that are kept when it is archived. */
+  private static final String ARCHIVED_COLUMNS =
+      "id, applicant_id, program_id, object, lifecycle_stage, create_time, submit_time,"
+          + " preferred_locale, submitter_email";
+
+  /**
+   * Marks obsolete an applicant's other active and draft applications to any version of a program,
+   * giving drafts among them a copy of the applicant's data as it is now, as a submission would be.
+   *
+   * <p>Drafts read the applicant's data rather than keeping their own, so what a draft held when it
+   * was last saved isn't known. The copy is the applicant's data and preferred locale at the time
+   * of this submission, the same as the submitted application's, which may include answers given
+   * after the draft was last saved.
+   */
+  @VisibleForTesting
+  static final String OBSOLETE_OTHER_APPLICATIONS_SQL =
+      "update applications set lifecycle_stage = ?, submit_time = ?,"
+          + " preferred_locale = case when object is null then (select preferred_locale"
+          + " from applicants where applicants.id = applications.applicant_id)"
+          + " else preferred_locale end,"
+          + " object = coalesce(object, (select object from applicants"
+          + " where applicants.id = applications.applicant_id))"
+          + " where applicant_id = ? and lifecycle_stage in (?, ?) and id <> ?"
+          + " and program_id in (select id from programs where name = ?)";
+
+  /**
+   * Moves up to a limit of obsolete and deleted applications that last changed before a time to
+   * the archive. The stages are literals, rather than parameters, so that Postgres can use the
+   * partial index on applications to archive.
+   */
+  @VisibleForTesting
+  static final String ARCHIVE_APPLICATIONS_SQL =
+      "with archived as (delete from applications where id in ("
+          + "select id from applications where lifecycle_stage in ('obsolete', 'deleted')"
+          + " and submit_time < ? limit ? for update skip locked)"
+          + " returning "
+          + ARCHIVED_COLUMNS
+          + ") insert into applications_archive ("
+          + ARCHIVED_COLUMNS
+          + ") select "
+          + ARCHIVED_COLUMNS
+          + " from archived";
+
   @Inject
   public ApplicationRepository(
       ProgramRepository programRepository,
       UserRepository userRepository,
       EbeanConfig ebeanConfig,
-      DatabaseExecutionContext executionContext) {
+      DatabaseExecutionContext executionContext,
+      ReadReplica readReplica) {
     this.programRepository = checkNotNull(programRepository);
     this.userRepository = checkNotNull(userRepository);
     this.ebeanServer = Ebean.getServer(checkNotNull(ebeanConfig).defaultServer());
     this.executionContext = checkNotNull(executionContext);
+    this.readReplica = checkNotNull(readReplica);
   }
 
   /**
@@ -65,28 +116,33 @@ public class ApplicationRepository {
 
   private Application submitApplicationInternal(
       Applicant applicant, Program program, Optional<String> submitterEmail) {
+    String programName = program.getProgramDefinition().adminName();
     ebeanServer.beginTransaction();
     try {
-      List<Application> oldApplications =
-          ebeanServer
-              .createQuery(Application.class)
-              .where()
-              .eq("applicant.id", applicant.id)
-              .eq("program.name", program.getProgramDefinition().adminName())
-              .findList();
-      Optional<Application> completedApplication = Optional.empty();
-      for (Application application : oldApplications) {
-        // Delete any in-progress drafts, and mark obsolete any old applications.
-        if (application.getLifecycleStage().equals(LifecycleStage.DRAFT)) {
-          application.setLifecycleStage(LifecycleStage.ACTIVE);
-          completedApplication = Optional.of(application);
-        } else {
-          application.setLifecycleStage(LifecycleStage.OBSOLETE);
-        }
-        application.save();
-      }
+      // Any version of the program counts, so that a draft started before a new version was
+      // published is still completed.
+      Optional<Application> completedApplication =
+          draftToProgramQuery(applicant.id, programName).findOneOrEmpty();
+
+      // Mark obsolete every other application to any version of the program, in one statement no
+      // matter how many times the applicant has applied before. Drafts among them read the
+      // applicant's data, so they are given a copy of it as it is now, as a submission would be.
+      ebeanServer
+          .createSqlUpdate(OBSOLETE_OTHER_APPLICATIONS_SQL)
+          .setParameter(1, LifecycleStage.OBSOLETE.getValue())
+          .setParameter(2, Timestamp.from(Instant.now()))
+          .setParameter(3, applicant.id)
+          .setParameter(4, LifecycleStage.ACTIVE.getValue())
+          .setParameter(5, LifecycleStage.DRAFT.getValue())
+          .setParameter(6, completedApplication.map(application -> application.id).orElse(0L))
+          .setParameter(7, programName)
+          .execute();
+
       Application application =
           completedApplication.orElse(new Application(applicant, program, LifecycleStage.ACTIVE));
+      application.setLifecycleStage(LifecycleStage.ACTIVE);
+      // Drafts read the applicant's data, so it is only copied into the application now.
+      application.setApplicantData(applicant.getApplicantData());
 
       if (submitterEmail.isPresent()) {
         application.setSubmitterEmail(submitterEmail.get());
@@ -100,6 +156,19 @@ public class ApplicationRepository {
     }
   }
 
+  /** The applicant's latest draft to any version of the named program. */
+  @VisibleForTesting
+  Query<Application> draftToProgramQuery(long applicantId, String programName) {
+    return ebeanServer
+        .createQuery(Application.class)
+        .where()
+        .eq("applicant.id", applicantId)
+        .eq("program.name", programName)
+        .eq("lifecycle_stage", LifecycleStage.DRAFT)
+        .orderBy("id desc")
+        .setMaxRows(1);
+  }
+
   private CompletionStage<Optional<Application>> perform(
       long applicantId, long programId, Function<ApplicationArguments, Application> fn) {
     CompletionStage<Optional<Applicant>> applicantDb = userRepository.lookupApplicant(applicantId);
@@ -126,8 +195,53 @@ public class ApplicationRepository {
             });
   }
 
+  /** Get every application, possibly from the read replica. */
   public ImmutableList<Application> getAllApplications() {
-    return ImmutableList.copyOf(ebeanServer.find(Application.class).findList());
+    return ImmutableList.copyOf(readReplica.forReads().find(Application.class).findList());
+  }
+
+  /**
+   * Get up to {@code limit} submitted applications, including obsolete ones that haven't been
+   * archived, that were submitted or last changed after the given submit time and ID and before
+   * {@code changedBefore}, in (submit time, ID) order.
+   *
+   * <p>This is a keyset query, so each page costs the same no matter how far into the history it
+   * is. It may read from the read replica, in which case the newest applications show up once they
+   * have been replicated.
+   *
+   * @param programIds if present, only applications to these programs are returned.
+   * @param changedBefore only applications last changed before this are returned. Submit times are
+   *     set before the transaction that writes them commits, so a caller that resumes after the
+   *     last application returned must leave enough time for those transactions to become visible.
+   */
+  public ImmutableList<Application> getApplicationsChangedAfter(
+      Optional<ImmutableSet<Long>> programIds,
+      Instant submitTime,
+      long id,
+      Instant changedBefore,
+      int limit) {
+    return ImmutableList.copyOf(
+        changedAfterQuery(programIds, submitTime, id, changedBefore, limit).findList());
+  }
+
+  /** The query behind {@link #getApplicationsChangedAfter}. */
+  @VisibleForTesting
+  Query<Application> changedAfterQuery(
+      Optional<ImmutableSet<Long>> programIds,
+      Instant submitTime,
+      long id,
+      Instant changedBefore,
+      int limit) {
+    ExpressionList<Application> query =
+        readReplica
+            .forReads()
+            .find(Application.class)
+            .where()
+            .in("lifecycle_stage", LifecycleStage.ACTIVE, LifecycleStage.OBSOLETE)
+            .raw("(submit_time, id) > (?, ?)", Timestamp.from(submitTime), id)
+            .lt("submitTime", changedBefore);
+    programIds.ifPresent(ids -> query.in("program.id", ids));
+    return query.orderBy("submitTime asc, id asc").setMaxRows(limit);
   }
 
   // Need to transmit both arguments to submitApplication through the CompletionStage pipeline.
@@ -145,17 +259,12 @@ public class ApplicationRepository {
   private Application createOrUpdateDraftApplicationInternal(Applicant applicant, Program program) {
     ebeanServer.beginTransaction();
     try {
-      Optional<Application> existingDraft =
-          ebeanServer
-              .createQuery(Application.class)
-              .where()
-              .eq("applicant.id", applicant.id)
-              .eq("program.id", program.id)
-              .eq("lifecycle_stage", LifecycleStage.DRAFT)
-              .findOneOrEmpty();
+      Optional<Application> existingDraft = draftQuery(applicant.id, program.id).findOneOrEmpty();
+      // The draft reads the applicant's data rather than keeping a copy, so saving an existing
+      // draft only records when it was last updated.
+      existingDraft.ifPresent(ebeanServer::markAsDirty);
       Application application =
           existingDraft.orElse(new Application(applicant, program, LifecycleStage.DRAFT));
-      application.setApplicantData(applicant.getApplicantData());
       application.save();
       ebeanServer.commitTransaction();
       return application;
@@ -164,6 +273,18 @@ public class ApplicationRepository {
     }
   }
 
+  /** The applicant's draft to this version of the program. */
+  @VisibleForTesting
+  Query<Application> draftQuery(long applicantId, long programId) {
+    return ebeanServer
+        .createQuery(Application.class)
+        .where()
+        .eq("applicant.id", applicantId)
+        .eq("program.id", programId)
+        .eq("lifecycle_stage", LifecycleStage.DRAFT)
+        .query();
+  }
+
   /**
    * Create a draft application for the specified program. Update the draft application if one
    * already exists.
@@ -185,9 +306,60 @@ public class ApplicationRepository {
             createOrUpdateDraftApplicationInternal(appArgs.applicant, appArgs.program));
   }
 
+  /** Get an application, including one that has been archived. */
   public CompletionStage<Optional<Application>> getApplication(long applicationId) {
     return supplyAsync(
-        () -> ebeanServer.find(Application.class).setId(applicationId).findOneOrEmpty(),
+        () ->
+            ebeanServer
+                .find(Application.class)
+                .setId(applicationId)
+                .findOneOrEmpty()
+                .or(() -> getArchivedApplication(applicationId)),
         executionContext.current());
   }
+
+  /**
+   * Get every archived application by an applicant, oldest first, for audits.
+   *
+   * <p>Archived applications are read-only. They are returned as {@link Application}s so they can
+   * be shown like any other, but saving one would not change the archive.
+   */
+  public ImmutableList<Application> getArchivedApplications(long applicantId) {
+    return ImmutableList.copyOf(
+        ebeanServer
+            .findNative(
+                Application.class,
+                "select "
+                    + ARCHIVED_COLUMNS
+                    + " from applications_archive where applicant_id = ?"
+                    + " order by submit_time, id")
+            .setParameter(1, applicantId)
+            .findList());
+  }
+
+  private Optional<Application> getArchivedApplication(long applicationId) {
+    return ebeanServer
+        .findNative(
+            Application.class,
+            "select " + ARCHIVED_COLUMNS + " from applications_archive where id = ?")
+        .setParameter(1, applicationId)
+        .findOneOrEmpty();
+  }
+
+  /**
+   * Move up to {@code limit} obsolete and deleted applications that last changed before the given
+   * time from {@code applications} to {@code applications_archive}, in one transaction.
+   *
+   * <p>Rows that another server is archiving are skipped rather than waited for, so servers that
+   * archive at the same time don't block each other or applicants.
+   *
+   * @return the number of applications archived.
+   */
+  public int archiveApplications(Instant changedBefore, int limit) {
+    return ebeanServer
+        .createSqlUpdate(ARCHIVE_APPLICATIONS_SQL)
+        .setParameter(1, Timestamp.from(changedBefore))
+        .setParameter(2, limit)
+        .execute();
+  }
 }
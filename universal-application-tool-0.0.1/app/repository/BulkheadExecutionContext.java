@@ -0,0 +1,90 @@
+package repository;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import akka.actor.ActorSystem;
+import com.typesafe.config.Config;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import play.libs.concurrent.CustomExecutionContext;
+import play.libs.concurrent.HttpExecution;
+import scala.concurrent.ExecutionContextExecutor;
+
+/**
+ * An execution context for one workload, such as applicant requests or admin actions, that limits
+ * how much work can wait for it.
+ *
+ * <p>Each workload has its own fixed size dispatcher, so a slow workload can only tie up its own
+ * threads and the database connections they hold. Once {@code max-queued-tasks} tasks are waiting
+ * behind the busy threads, further tasks are rejected with a {@link RejectedExecutionException}
+ * rather than queued, and the rejection is counted and logged.
+ */
+public abstract class BulkheadExecutionContext extends CustomExecutionContext {
+  private static final Logger logger = LoggerFactory.getLogger(BulkheadExecutionContext.class);
+
+  private final String name;
+  private final int capacity;
+  private final Semaphore permits;
+  private final AtomicLong rejectedCount = new AtomicLong();
+
+  /**
+   * @param name the path of the dispatcher in the application config. Its {@code
+   *     thread-pool-executor.fixed-pool-size} and {@code max-queued-tasks} together bound the
+   *     number of tasks that can be running or waiting at once.
+   */
+  protected BulkheadExecutionContext(ActorSystem actorSystem, String name) {
+    super(checkNotNull(actorSystem), checkNotNull(name));
+    Config dispatcherConfig = actorSystem.settings().config().getConfig(name);
+    this.name = name;
+    this.capacity =
+        dispatcherConfig.getInt("thread-pool-executor.fixed-pool-size")
+            + dispatcherConfig.getInt("max-queued-tasks");
+    this.permits = new Semaphore(capacity);
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (!permits.tryAcquire()) {
+      long rejected = rejectedCount.incrementAndGet();
+      logger.warn(
+          "Rejected a task for {}: {} tasks are already running or queued ({} rejected in total).",
+          name,
+          capacity,
+          rejected);
+      throw new RejectedExecutionException(name + " is at capacity.");
+    }
+    try {
+      super.execute(
+          () -> {
+            try {
+              command.run();
+            } finally {
+              permits.release();
+            }
+          });
+    } catch (RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /** Like {@link CustomExecutionContext#current()}, but going through this bulkhead. */
+  @Override
+  public ExecutionContextExecutor current() {
+    return HttpExecution.fromThread((Executor) this);
+  }
+
+  /** The number of tasks currently running or waiting for a thread. */
+  public int inFlightCount() {
+    return capacity - permits.availablePermits();
+  }
+
+  /** The number of tasks rejected since startup because the bulkhead was full. */
+  public long rejectedCount() {
+    return rejectedCount.get();
+  }
+}
@@ -0,0 +1,187 @@
+package repository;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.ebean.Ebean;
+import io.ebean.EbeanServer;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import play.db.Database;
+import play.db.ebean.EbeanConfig;
+import play.inject.ApplicationLifecycle;
+
+/**
+ * Tells every server to drop its cached copies of an entity when one server changes it.
+ *
+ * <p>Changes are announced with Postgres {@code NOTIFY} on the {@value #CHANNEL} channel, so they
+ * are delivered when the announcing transaction commits, and not at all if it rolls back. Each
+ * server holds one connection that {@code LISTEN}s on the channel and passes what it hears to the
+ * subscribed {@link Listener}s. Notifications sent while that connection is down are lost, so
+ * listeners are told to drop everything once it reconnects.
+ */
+@Singleton
+public final class CacheInvalidationBus {
+  private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+  @VisibleForTesting static final String CHANNEL = "civiform_invalidate";
+
+  /** How long a wait for notifications lasts before checking whether the server is stopping. */
+  private static final int POLL_TIMEOUT_MILLIS = 1000;
+
+  private static final Duration MIN_RECONNECT_DELAY = Duration.ofSeconds(1);
+  private static final Duration MAX_RECONNECT_DELAY = Duration.ofSeconds(30);
+
+  /** The kinds of entity whose changes are announced. */
+  public enum Entity {
+    VERSION
+  }
+
+  /** Drops cached entries when they change on any server. */
+  public interface Listener {
+    /** The entity with the given ID has changed. */
+    void invalidate(Entity entity, long id);
+
+    /** Changes may have been missed, so nothing cached can be trusted. */
+    void invalidateAll();
+  }
+
+  private final EbeanServer ebeanServer;
+  private final Database database;
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+  private final CountDownLatch stopped = new CountDownLatch(1);
+
+  @Inject
+  public CacheInvalidationBus(
+      EbeanConfig ebeanConfig, Database database, ApplicationLifecycle lifecycle) {
+    this.ebeanServer = Ebean.getServer(checkNotNull(ebeanConfig).defaultServer());
+    this.database = checkNotNull(database);
+
+    Thread listenerThread = new Thread(this::listen, "cache-invalidation-listener");
+    listenerThread.setDaemon(true);
+    listenerThread.start();
+    checkNotNull(lifecycle)
+        .addStopHook(
+            () -> {
+              stopped.countDown();
+              return CompletableFuture.completedFuture(null);
+            });
+  }
+
+  public void subscribe(Listener listener) {
+    listeners.add(checkNotNull(listener));
+  }
+
+  /**
+   * Announce that an entity has changed. If there is a transaction in progress, other servers hear
+   * about it when it commits. Listeners on this server are told right away as well, so that the
+   * server making the change doesn't serve its old copy while the notification is in flight.
+   *
+   * <p>This runs a query, so call it on the database dispatcher doing the change, like the change
+   * itself.
+   */
+  public void publish(Entity entity, long id) {
+    ebeanServer
+        .createSqlQuery("select pg_notify(?, ?)")
+        .setParameter(1, CHANNEL)
+        .setParameter(2, entity.name() + ":" + id)
+        .findOne();
+    dispatch(entity, id);
+  }
+
+  private void listen() {
+    Duration reconnectDelay = MIN_RECONNECT_DELAY;
+    boolean connectedBefore = false;
+    while (!isStopped()) {
+      try (Connection connection = database.getConnection()) {
+        if (!connection.isWrapperFor(PGConnection.class)) {
+          // Only unit tests run against other databases, and they run on a single server.
+          logger.info("Not connected to Postgres, so not listening on {}.", CHANNEL);
+          return;
+        }
+        connection.setAutoCommit(true);
+        execute(connection, "LISTEN " + CHANNEL);
+        if (connectedBefore) {
+          logger.info("Reconnected to {}, invalidating all cached entries.", CHANNEL);
+          listeners.forEach(Listener::invalidateAll);
+        }
+        connectedBefore = true;
+        reconnectDelay = MIN_RECONNECT_DELAY;
+
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        while (!isStopped()) {
+          PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+          if (notifications == null) {
+            continue;
+          }
+          for (PGNotification notification : notifications) {
+            dispatch(notification.getParameter());
+          }
+        }
+        // The connection goes back to the pool, so stop it from collecting notifications.
+        execute(connection, "UNLISTEN *");
+      } catch (SQLException | RuntimeException e) {
+        if (isStopped()) {
+          return;
+        }
+        logger.warn("Lost connection listening on {}, retrying in {}.", CHANNEL, reconnectDelay, e);
+        awaitStop(reconnectDelay);
+        reconnectDelay = min(reconnectDelay.multipliedBy(2), MAX_RECONNECT_DELAY);
+      }
+    }
+  }
+
+  private void dispatch(String payload) {
+    int separator = payload.indexOf(':');
+    try {
+      dispatch(
+          Entity.valueOf(payload.substring(0, separator)),
+          Long.parseLong(payload.substring(separator + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+      logger.warn("Unrecognized invalidation {}, invalidating all cached entries.", payload);
+      listeners.forEach(Listener::invalidateAll);
+    }
+  }
+
+  private void dispatch(Entity entity, long id) {
+    for (Listener listener : listeners) {
+      listener.invalidate(entity, id);
+    }
+  }
+
+  private boolean isStopped() {
+    return stopped.getCount() == 0;
+  }
+
+  private void awaitStop(Duration timeout) {
+    try {
+      stopped.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      stopped.countDown();
+    }
+  }
+
+  private static void execute(Connection connection, String sql) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+  }
+
+  private static Duration min(Duration a, Duration b) {
+    return a.compareTo(b) <= 0 ? a : b;
+  }
+}
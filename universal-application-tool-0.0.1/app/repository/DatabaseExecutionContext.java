@@ -5,11 +5,13 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import akka.actor.ActorSystem;
 import javax.inject.Inject;
 import javax.inject.Singleton;
-import play.libs.concurrent.CustomExecutionContext;
 
-/** Custom execution context wired to "database.dispatcher" thread pool */
+/**
+ * Custom execution context wired to "database.dispatcher" thread pool, which serves applicant
+ * requests and anything not assigned to a more specific workload.
+ */
 @Singleton
-public class DatabaseExecutionContext extends CustomExecutionContext {
+public class DatabaseExecutionContext extends BulkheadExecutionContext {
   @Inject
   public DatabaseExecutionContext(ActorSystem actorSystem) {
     super(checkNotNull(actorSystem), "database.dispatcher");
@@ -0,0 +1,69 @@
+package repository;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+
+import io.ebean.Ebean;
+import io.ebean.EbeanServer;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import javax.inject.Inject;
+import models.ExportJob;
+import models.ExportJobStatus;
+import play.db.ebean.EbeanConfig;
+
+/**
+ * Stores {@link ExportJob}s. Lookups are asynchronous for controllers; updates are synchronous
+ * because they are made by the export workers, which already run off the request threads.
+ */
+public class ExportJobRepository {
+
+  private final EbeanServer ebeanServer;
+  private final AdminDatabaseExecutionContext executionContext;
+
+  @Inject
+  public ExportJobRepository(
+      EbeanConfig ebeanConfig, AdminDatabaseExecutionContext executionContext) {
+    this.ebeanServer = Ebean.getServer(checkNotNull(ebeanConfig).defaultServer());
+    this.executionContext = checkNotNull(executionContext);
+  }
+
+  public CompletionStage<Optional<ExportJob>> lookupExportJob(long id) {
+    return supplyAsync(
+        () -> ebeanServer.find(ExportJob.class).setId(id).findOneOrEmpty(), executionContext);
+  }
+
+  public CompletionStage<ExportJob> insert(ExportJob exportJob) {
+    return supplyAsync(
+        () -> {
+          ebeanServer.insert(exportJob);
+          return exportJob;
+        },
+        executionContext);
+  }
+
+  public ExportJob update(ExportJob exportJob) {
+    ebeanServer.update(exportJob);
+    return exportJob;
+  }
+
+  /**
+   * Marks failed the queued and running jobs that haven't been updated since {@code updatedBefore},
+   * returning how many there were.
+   */
+  public int failJobsNotUpdatedSince(Instant updatedBefore, String errorMessage) {
+    return ebeanServer
+        .createSqlUpdate(
+            "update export_jobs set status = ?, error_message = ?, update_time = ?"
+                + " where status in (?, ?) and update_time < ?")
+        .setParameter(1, ExportJobStatus.FAILED.getValue())
+        .setParameter(2, errorMessage)
+        .setParameter(3, Timestamp.from(Instant.now()))
+        .setParameter(4, ExportJobStatus.QUEUED.getValue())
+        .setParameter(5, ExportJobStatus.RUNNING.getValue())
+        .setParameter(6, Timestamp.from(updatedBefore))
+        .execute();
+  }
+}
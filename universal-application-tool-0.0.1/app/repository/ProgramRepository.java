@@ -3,45 +3,185 @@ package repository;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.CharMatcher;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import io.ebean.Ebean;
 import io.ebean.EbeanServer;
+import io.ebean.Query;
 import io.ebean.Transaction;
 import io.ebean.TxScope;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Provider;
+import javax.inject.Singleton;
 import models.Account;
+import models.Application;
 import models.LifecycleStage;
 import models.Program;
 import models.Version;
 import play.db.ebean.EbeanConfig;
 import services.program.ProgramNotFoundException;
 
+@Singleton
 public class ProgramRepository {
 
   private final EbeanServer ebeanServer;
   private final DatabaseExecutionContext executionContext;
   private final Provider<VersionRepository> versionRepository;
+  private final ReadReplica readReplica;
+
+  /**
+   * The ID of the active program for each slug that has been looked up. The active programs only
+   * change when a version is published or set live, which clears this on every server.
+   */
+  private final ConcurrentHashMap<String, Long> activeProgramIdsBySlug = new ConcurrentHashMap<>();
+  /** Incremented on every invalidation, so a lookup that raced with one isn't cached. */
+  private final AtomicLong slugCacheGeneration = new AtomicLong();
 
   @Inject
   public ProgramRepository(
       EbeanConfig ebeanConfig,
       DatabaseExecutionContext executionContext,
-      Provider<VersionRepository> versionRepository) {
+      Provider<VersionRepository> versionRepository,
+      CacheInvalidationBus invalidationBus,
+      ReadReplica readReplica) {
     this.ebeanServer = Ebean.getServer(checkNotNull(ebeanConfig).defaultServer());
     this.executionContext = checkNotNull(executionContext);
     this.versionRepository = checkNotNull(versionRepository);
+    this.readReplica = checkNotNull(readReplica);
+    checkNotNull(invalidationBus)
+        .subscribe(
+            new CacheInvalidationBus.Listener() {
+              @Override
+              public void invalidate(CacheInvalidationBus.Entity entity, long id) {
+                if (entity.equals(CacheInvalidationBus.Entity.VERSION)) {
+                  invalidateAll();
+                }
+              }
+
+              @Override
+              public void invalidateAll() {
+                slugCacheGeneration.incrementAndGet();
+                activeProgramIdsBySlug.clear();
+              }
+            });
   }
 
   public CompletionStage<Optional<Program>> lookupProgram(long id) {
+    return lookupProgram(id, executionContext);
+  }
+
+  /**
+   * Like {@link #lookupProgram(long)}, but runs on the given executor, so that work with its own
+   * pool, such as exports, doesn't queue on the applicant database dispatcher.
+   */
+  public CompletionStage<Optional<Program>> lookupProgram(long id, Executor executor) {
     return supplyAsync(
-        () -> ebeanServer.find(Program.class).where().eq("id", id).findOneOrEmpty(),
-        executionContext);
+        () -> ebeanServer.find(Program.class).where().eq("id", id).findOneOrEmpty(), executor);
+  }
+
+  /**
+   * Get the applications to a program, possibly from the read replica, or empty if the program
+   * does not exist.
+   */
+  public Optional<ImmutableList<Application>> getApplications(long programId) {
+    EbeanServer server = readReplica.forReads();
+    if (server.find(Program.class).where().idEq(programId).findCount() > 0) {
+      return Optional.of(ImmutableList.copyOf(applicationsQuery(server, programId).findList()));
+    }
+    return Optional.empty();
+  }
+
+  /** The applications to a program, read directly rather than through the program. */
+  @VisibleForTesting
+  static Query<Application> applicationsQuery(EbeanServer server, long programId) {
+    return server.find(Application.class).where().eq("program.id", programId).query();
+  }
+
+  /**
+   * Get a page of the applications to a program that match a full-text search of applicant names,
+   * email addresses and text answers, best match first, possibly from the read replica.
+   *
+   * <p>Matching uses the GIN-indexed {@code applications.search_vector}, and only the requested
+   * page is loaded, so this costs about the same however many applications the program has. Drafts
+   * match the applicant's data as it was when the draft was last saved.
+   *
+   * <p>Every word of the search must match the start of a word, so "Jo" finds "John".
+   */
+  public ImmutableList<Application> searchApplications(
+      long programId, String search, int limit, int offset) {
+    Optional<String> query = prefixQuery(search);
+    if (query.isEmpty()) {
+      return ImmutableList.of();
+    }
+    EbeanServer server = readReplica.forReads();
+    ImmutableList<Long> ids =
+        server
+            .createSqlQuery(
+                "select id from applications, to_tsquery('simple', ?) query"
+                    + " where program_id = ? and search_vector @@ query"
+                    + " order by ts_rank(search_vector, query) desc, id desc limit ? offset ?")
+            .setParameter(1, query.get())
+            .setParameter(2, programId)
+            .setParameter(3, limit)
+            .setParameter(4, offset)
+            .findList()
+            .stream()
+            .map(row -> row.getLong("id"))
+            .collect(ImmutableList.toImmutableList());
+    if (ids.isEmpty()) {
+      return ImmutableList.of();
+    }
+    Map<Long, Application> applicationsById =
+        server.find(Application.class).where().idIn(ids).findMap();
+    // Loading by ID loses the rank order, so put them back in it.
+    return ids.stream()
+        .map(applicationsById::get)
+        .filter(Objects::nonNull)
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  /** Count the applications to a program that match a {@link #searchApplications} search. */
+  public int countApplicationsMatching(long programId, String search) {
+    Optional<String> query = prefixQuery(search);
+    if (query.isEmpty()) {
+      return 0;
+    }
+    return readReplica
+        .forReads()
+        .find(Application.class)
+        .where()
+        .eq("program.id", programId)
+        .raw("search_vector @@ to_tsquery('simple', ?)", query.get())
+        .findCount();
+  }
+
+  /**
+   * Builds a {@code tsquery} that matches the words of the search as prefixes, all of which must
+   * match, or empty if the search has no words. Characters that are tsquery syntax are dropped, so
+   * any search makes a valid query.
+   */
+  @VisibleForTesting
+  static Optional<String> prefixQuery(String search) {
+    String query =
+        Splitter.on(CharMatcher.whitespace())
+            .omitEmptyStrings()
+            .splitToStream(CharMatcher.anyOf("&|!():*'\\<>").removeFrom(search))
+            .map(term -> "'" + term + "':*")
+            .collect(Collectors.joining(" & "));
+    return query.isEmpty() ? Optional.empty() : Optional.of(query);
   }
 
   public Program insertProgramSync(Program program) {
@@ -120,6 +260,15 @@ public class ProgramRepository {
   public CompletableFuture<Program> getForSlug(String slug) {
     return supplyAsync(
         () -> {
+          Long cachedId = activeProgramIdsBySlug.get(slug);
+          if (cachedId != null) {
+            Optional<Program> cached =
+                ebeanServer.find(Program.class).setId(cachedId).findOneOrEmpty();
+            if (cached.isPresent()) {
+              return cached.get();
+            }
+          }
+          long generation = slugCacheGeneration.get();
           for (Program program :
               ebeanServer.find(Program.class).where().isNull("slug").findList()) {
             program.getSlug();
@@ -134,6 +283,10 @@ public class ProgramRepository {
                   .filter(activeProgram -> programsMatchingSlug.contains(activeProgram))
                   .findFirst();
           if (programMaybe.isPresent()) {
+            activeProgramIdsBySlug.put(slug, programMaybe.get().id);
+            if (slugCacheGeneration.get() != generation) {
+              activeProgramIdsBySlug.remove(slug);
+            }
             return programMaybe.get();
           }
           throw new RuntimeException(new ProgramNotFoundException(slug));
@@ -27,20 +27,25 @@ public class QuestionRepository {
   private final EbeanServer ebeanServer;
   private final DatabaseExecutionContext executionContext;
   private final Provider<VersionRepository> versionRepositoryProvider;
+  private final ReadReplica readReplica;
 
   @Inject
   public QuestionRepository(
       EbeanConfig ebeanConfig,
       DatabaseExecutionContext executionContext,
       ProgramRepository programRepository,
-      Provider<VersionRepository> versionRepositoryProvider) {
+      Provider<VersionRepository> versionRepositoryProvider,
+      ReadReplica readReplica) {
     this.ebeanServer = Ebean.getServer(checkNotNull(ebeanConfig).defaultServer());
     this.executionContext = checkNotNull(executionContext);
     this.versionRepositoryProvider = checkNotNull(versionRepositoryProvider);
+    this.readReplica = checkNotNull(readReplica);
   }
 
+  /** List every version of every question, possibly from the read replica. */
   public CompletionStage<Set<Question>> listQuestions() {
-    return supplyAsync(() -> ebeanServer.find(Question.class).findSet(), executionContext);
+    return supplyAsync(
+        () -> readReplica.forReads().find(Question.class).findSet(), executionContext);
   }
 
   public CompletionStage<Optional<Question>> lookupQuestion(long id) {
@@ -0,0 +1,113 @@
+package repository;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.typesafe.config.Config;
+import io.ebean.Ebean;
+import io.ebean.EbeanServer;
+import io.ebean.EbeanServerFactory;
+import io.ebean.config.ServerConfig;
+import io.ebean.datasource.DataSourceConfig;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import play.db.ebean.EbeanConfig;
+import play.inject.ApplicationLifecycle;
+
+/**
+ * Chooses the database that read-only queries go to.
+ *
+ * <p>When {@code replica_database.url} is set, reads that can tolerate replication lag, such as
+ * exports and dashboards, are sent to that replica so they don't compete with applicant writes on
+ * the primary. Otherwise everything reads from the primary.
+ *
+ * <p>A session that has just written would not see its own change on a lagging replica, so writes
+ * can be recorded against a session key, and reads by that session go to the primary for {@code
+ * replica_database.read_your_writes_window} afterwards. This is best effort: writes are only
+ * recorded on the server that made them, so a read that another server handles may still go to
+ * the replica and miss the write until the replica catches up. Only use the replica for reads where
+ * that is acceptable.
+ */
+@Singleton
+public final class ReadReplica {
+  private static final String REPLICA_SERVER_NAME = "replica";
+
+  private final EbeanServer primary;
+  private final Optional<EbeanServer> replica;
+  private final Cache<String, Boolean> recentWriters;
+
+  @Inject
+  public ReadReplica(EbeanConfig ebeanConfig, Config config, ApplicationLifecycle lifecycle) {
+    this(
+        Ebean.getServer(checkNotNull(ebeanConfig).defaultServer()),
+        createReplica(checkNotNull(config)),
+        config.getDuration("replica_database.read_your_writes_window"));
+    replica.ifPresent(
+        server ->
+            checkNotNull(lifecycle)
+                .addStopHook(
+                    () -> {
+                      server.shutdown(/* shutdownDataSource= */ true, false);
+                      return CompletableFuture.completedFuture(null);
+                    }));
+  }
+
+  @VisibleForTesting
+  ReadReplica(EbeanServer primary, Optional<EbeanServer> replica, Duration readYourWritesWindow) {
+    this.primary = checkNotNull(primary);
+    this.replica = checkNotNull(replica);
+    this.recentWriters = CacheBuilder.newBuilder().expireAfterWrite(readYourWritesWindow).build();
+  }
+
+  /** The server for reads that don't follow a write by the same session. */
+  public EbeanServer forReads() {
+    return replica.orElse(primary);
+  }
+
+  /**
+   * The server for reads by the given session, which is the primary if the session wrote recently.
+   */
+  public EbeanServer forReadsBy(String session) {
+    if (recentWriters.getIfPresent(session) != null) {
+      return primary;
+    }
+    return forReads();
+  }
+
+  /** Record that the given session has written to the primary. */
+  public void recordWriteBy(String session) {
+    if (replica.isPresent()) {
+      recentWriters.put(session, true);
+    }
+  }
+
+  private static Optional<EbeanServer> createReplica(Config config) {
+    String url = config.getString("replica_database.url");
+    if (Strings.isNullOrEmpty(url)) {
+      return Optional.empty();
+    }
+    DataSourceConfig dataSourceConfig = new DataSourceConfig();
+    dataSourceConfig.setDriver(config.getString("replica_database.driver"));
+    dataSourceConfig.setUrl(url);
+    dataSourceConfig.setUsername(config.getString("replica_database.username"));
+    dataSourceConfig.setPassword(config.getString("replica_database.password"));
+    dataSourceConfig.setMaxConnections(config.getInt("replica_database.connection_pool"));
+
+    ServerConfig serverConfig = new ServerConfig();
+    serverConfig.setName(REPLICA_SERVER_NAME);
+    serverConfig.setDataSourceConfig(dataSourceConfig);
+    serverConfig.addPackage("models");
+    // The replica is read-only and its schema comes from the primary, so it is never migrated. It
+    // isn't the default server, so Ebean.getServer() and saving models keep using the primary.
+    serverConfig.setDefaultServer(false);
+    serverConfig.setDdlGenerate(false);
+    serverConfig.setDdlRun(false);
+    return Optional.of(EbeanServerFactory.create(serverConfig));
+  }
+}
@@ -4,6 +4,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 
 import auth.UatProfile;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -11,43 +12,66 @@ import com.google.common.collect.ImmutableSet;
 import forms.AddApplicantToTrustedIntermediaryGroupForm;
 import io.ebean.Ebean;
 import io.ebean.EbeanServer;
+import io.ebean.Query;
+import io.ebean.SqlUpdate;
+import io.ebean.Transaction;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Provider;
+import javax.persistence.OptimisticLockException;
 import models.Account;
 import models.Applicant;
 import models.Application;
 import models.LifecycleStage;
 import models.Program;
 import models.TrustedIntermediaryGroup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import play.db.ebean.EbeanConfig;
+import services.applicant.MergeResult;
 import services.program.ProgramDefinition;
 import services.ti.EmailAddressExistsException;
 import services.ti.NoSuchTrustedIntermediaryError;
 import services.ti.NoSuchTrustedIntermediaryGroupError;
 
 public class UserRepository {
+  private static final Logger logger = LoggerFactory.getLogger(UserRepository.class);
+
+  /** How many times {@link #retryOnConflict} runs an update before giving up. */
+  private static final int MAX_UPDATE_ATTEMPTS = 3;
 
   private final EbeanServer ebeanServer;
   private final DatabaseExecutionContext executionContext;
   private final Provider<VersionRepository> versionRepositoryProvider;
+  private final ReadReplica readReplica;
 
   @Inject
   public UserRepository(
       EbeanConfig ebeanConfig,
       DatabaseExecutionContext executionContext,
-      Provider<VersionRepository> versionRepositoryProvider) {
+      Provider<VersionRepository> versionRepositoryProvider,
+      ReadReplica readReplica) {
     this.ebeanServer = Ebean.getServer(checkNotNull(ebeanConfig).defaultServer());
     this.executionContext = checkNotNull(executionContext);
     this.versionRepositoryProvider = checkNotNull(versionRepositoryProvider);
+    this.readReplica = checkNotNull(readReplica);
   }
 
+  /** List every applicant, possibly from the read replica. */
   public CompletionStage<Set<Applicant>> listApplicants() {
-    return supplyAsync(() -> ebeanServer.find(Applicant.class).findSet(), executionContext);
+    return supplyAsync(
+        () -> readReplica.forReads().find(Applicant.class).findSet(), executionContext);
   }
 
   public CompletionStage<Optional<Applicant>> lookupApplicant(long id) {
@@ -64,21 +88,7 @@ public class UserRepository {
     return supplyAsync(
         () -> {
           ImmutableList<ProgramDefinition> inProgressPrograms =
-              ebeanServer
-                  .find(Program.class)
-                  .alias("p")
-                  .where()
-                  .exists(
-                      ebeanServer
-                          .find(Application.class)
-                          .where()
-                          .eq("applicant.id", applicantId)
-                          .eq("lifecycle_stage", LifecycleStage.DRAFT)
-                          .raw("program.id = p.id")
-                          .query())
-                  .endOr()
-                  .findList()
-                  .stream()
+              programsWithDraftsQuery(applicantId).findList().stream()
                   .map(Program::getProgramDefinition)
                   .collect(ImmutableList.toImmutableList());
           ImmutableList<ProgramDefinition> activePrograms =
@@ -92,6 +102,25 @@ public class UserRepository {
         executionContext.current());
   }
 
+  /** The programs that the applicant has a draft application to. */
+  @VisibleForTesting
+  Query<Program> programsWithDraftsQuery(long applicantId) {
+    return ebeanServer
+        .find(Program.class)
+        .alias("p")
+        .where()
+        .exists(
+            ebeanServer
+                .find(Application.class)
+                .where()
+                .eq("applicant.id", applicantId)
+                .eq("lifecycle_stage", LifecycleStage.DRAFT)
+                .raw("program.id = p.id")
+                .query())
+        .endOr()
+        .query();
+  }
+
   public Optional<Account> lookupAccount(String emailAddress) {
     if (emailAddress == null || emailAddress.isEmpty()) {
       return Optional.empty();
@@ -138,15 +167,107 @@ public class UserRepository {
         executionContext);
   }
 
+  /**
+   * Persist changes to the applicant. Where possible, only the answers that changed since the
+   * applicant was loaded are written, as {@code jsonb_set} patches in a single UPDATE.
+   *
+   * <p>When only some answers are written, the returned stage fails with an {@link
+   * OptimisticLockException} if the applicant was written by someone else since it was loaded,
+   * since the answers would be mixed into data they weren't made against. Use {@link
+   * #retryOnConflict} to load the applicant and make the changes again. Writing the whole applicant
+   * replaces whatever is stored, as any other save of the applicant does.
+   */
   public CompletionStage<Void> updateApplicant(Applicant applicant) {
     return supplyAsync(
         () -> {
-          ebeanServer.update(applicant);
+          Optional<ImmutableMap<ImmutableList<String>, String>> changedValues =
+              applicant.getApplicantData().getChangedValues();
+          if (applicant.id != null && changedValues.isPresent()) {
+            patchApplicant(applicant, changedValues.get());
+          } else {
+            ebeanServer.update(applicant);
+            refreshObjectVersion(applicant);
+          }
           return null;
         },
         executionContext);
   }
 
+  /**
+   * Runs {@code attempt}, and runs it again if it fails because the applicant was written by
+   * someone else, up to three times in all. Each attempt must load the applicant afresh and make
+   * its changes to that.
+   */
+  public static <T> CompletionStage<T> retryOnConflict(
+      Supplier<CompletionStage<T>> attempt, Executor executor) {
+    return retryOnConflict(attempt, executor, MAX_UPDATE_ATTEMPTS);
+  }
+
+  private static <T> CompletionStage<T> retryOnConflict(
+      Supplier<CompletionStage<T>> attempt, Executor executor, int attemptsLeft) {
+    return attempt
+        .get()
+        .handleAsync(
+            (result, e) -> {
+              if (e == null) {
+                return CompletableFuture.completedStage(result);
+              }
+              Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+              if (attemptsLeft > 1 && cause instanceof OptimisticLockException) {
+                logger.info("Applicant changed while it was being updated, trying again.");
+                return retryOnConflict(attempt, executor, attemptsLeft - 1);
+              }
+              return CompletableFuture.<T>failedStage(e);
+            },
+            executor)
+        .thenCompose(stage -> stage);
+  }
+
+  private void patchApplicant(
+      Applicant applicant, ImmutableMap<ImmutableList<String>, String> changedValues) {
+    StringBuilder object = new StringBuilder("object");
+    for (int i = 0; i < changedValues.size(); i++) {
+      object.insert(0, "jsonb_set(").append(", ?::text[], ?::jsonb, true)");
+    }
+    SqlUpdate update =
+        ebeanServer.createSqlUpdate(
+            "update applicants set object = "
+                + object
+                + ", preferred_locale = ? where id = ? and object_version = ?");
+    int position = 1;
+    for (Map.Entry<ImmutableList<String>, String> change : changedValues.entrySet()) {
+      update.setParameter(position++, toTextArray(change.getKey()));
+      update.setParameter(position++, change.getValue());
+    }
+    update.setParameter(position++, applicant.getPreferredLocaleTag());
+    update.setParameter(position++, applicant.id);
+    update.setParameter(position, applicant.getObjectVersion());
+    if (update.execute() == 0) {
+      throw new OptimisticLockException(
+          String.format("Applicant %d was changed since it was loaded.", applicant.id));
+    }
+    // The database moved the version on by one, and a later patch of this applicant checks it.
+    applicant.setObjectVersion(applicant.getObjectVersion() + 1);
+    applicant.getApplicantData().markChangesPersisted();
+  }
+
+  /** Reads back the version the database set, so that a later patch of the applicant checks it. */
+  private void refreshObjectVersion(Applicant applicant) {
+    applicant.setObjectVersion(
+        ebeanServer
+            .createSqlQuery("select object_version from applicants where id = ?")
+            .setParameter(1, applicant.id)
+            .mapToScalar(Long.class)
+            .findOne());
+  }
+
+  /** Formats keys as a Postgres text array literal, quoting each so any key is safe. */
+  private static String toTextArray(ImmutableList<String> keys) {
+    return keys.stream()
+        .map(key -> '"' + key.replace("\\", "\\\\").replace("\"", "\\\"") + '"')
+        .collect(Collectors.joining(",", "{", "}"));
+  }
+
   public Optional<Applicant> lookupApplicantSync(long id) {
     return ebeanServer.find(Applicant.class).setId(id).findOneOrEmpty();
   }
@@ -176,7 +297,18 @@ public class UserRepository {
     }
     // At this point, "left" is older, "right" is newer, we will merge "left" into "right", because
     // the newer applicant is always preferred when more than one applicant matches an account.
-    right.getApplicantData().mergeFrom(left.getApplicantData());
+    long start = System.nanoTime();
+    MergeResult merge = right.getApplicantData().mergeFrom(left.getApplicantData());
+    logger.info(
+        "Merged applicant {} into {} in {} us: visited {} keys, copied {}, appended {} items,"
+            + " {} conflicts.",
+        left.id,
+        right.id,
+        (System.nanoTime() - start) / 1_000,
+        merge.keysVisited(),
+        merge.valuesCopied(),
+        merge.itemsAppended(),
+        merge.conflicts().size());
     return right;
   }
 
@@ -255,6 +387,20 @@ public class UserRepository {
     return uatProfile.getAccount().join().getMemberOfGroup();
   }
 
+  /**
+   * List the accounts managed by a TI group whose name or email matches the search, for its
+   * dashboard. These may be read from the read replica, unless the group has just added a client.
+   */
+  public ImmutableList<Account> listManagedAccounts(long tiGroupId, Optional<String> search) {
+    return readReplica
+        .forReadsBy(tiGroupSession(tiGroupId))
+        .find(TrustedIntermediaryGroup.class)
+        .setId(tiGroupId)
+        .findOneOrEmpty()
+        .map(tiGroup -> tiGroup.getManagedAccounts(search))
+        .orElse(ImmutableList.of());
+  }
+
   /**
    * Create an applicant and add it to the provided trusted intermediary group. Associate it with an
    * email address if one is provided, but if one is not provided, use an anonymous (guest-style)
@@ -280,6 +426,75 @@ public class UserRepository {
         .getApplicantData()
         .setUserName(form.getFirstName(), form.getMiddleName(), form.getLastName());
     applicant.save();
+    readReplica.recordWriteBy(tiGroupSession(tiGroup.id));
+  }
+
+  /**
+   * Return the given email addresses that already belong to an account, using one query for the
+   * whole set.
+   */
+  public ImmutableSet<String> findExistingEmailAddresses(ImmutableSet<String> emailAddresses) {
+    if (emailAddresses.isEmpty()) {
+      return ImmutableSet.of();
+    }
+    return ImmutableSet.copyOf(
+        ebeanServer
+            .find(Account.class)
+            .select("emailAddress")
+            .where()
+            .in("emailAddress", emailAddresses)
+            .<String>findSingleAttributeList());
+  }
+
+  /**
+   * Create an applicant for each of the forms and add them to the provided trusted intermediary
+   * group, like {@link #createNewApplicantForTrustedIntermediaryGroup} does for one. The accounts
+   * and then the applicants are inserted with JDBC batches in a single transaction.
+   *
+   * <p>The caller must check that none of the email addresses already belong to an account, see
+   * {@link #findExistingEmailAddresses}.
+   */
+  public void createNewApplicantsForTrustedIntermediaryGroup(
+      ImmutableList<AddApplicantToTrustedIntermediaryGroupForm> forms,
+      TrustedIntermediaryGroup tiGroup) {
+    if (forms.isEmpty()) {
+      return;
+    }
+    try (Transaction transaction = ebeanServer.beginTransaction()) {
+      transaction.setBatchMode(true);
+      transaction.setBatchSize(forms.size());
+      List<Account> accounts = new ArrayList<>();
+      for (AddApplicantToTrustedIntermediaryGroupForm form : forms) {
+        Account account = new Account();
+        if (!Strings.isNullOrEmpty(form.getEmailAddress())) {
+          account.setEmailAddress(form.getEmailAddress());
+        }
+        account.setManagedByGroup(tiGroup);
+        accounts.add(account);
+      }
+      ebeanServer.insertAll(accounts, transaction);
+      // The applicants refer to the accounts, so the accounts' generated IDs are needed first.
+      transaction.flush();
+
+      List<Applicant> applicants = new ArrayList<>();
+      for (int i = 0; i < forms.size(); i++) {
+        AddApplicantToTrustedIntermediaryGroupForm form = forms.get(i);
+        Applicant applicant = new Applicant();
+        applicant.setAccount(accounts.get(i));
+        applicant
+            .getApplicantData()
+            .setUserName(form.getFirstName(), form.getMiddleName(), form.getLastName());
+        applicants.add(applicant);
+      }
+      ebeanServer.insertAll(applicants, transaction);
+      transaction.commit();
+    }
+    readReplica.recordWriteBy(tiGroupSession(tiGroup.id));
+  }
+
+  /** The members of a TI group share a client list, so they are one session for reads. */
+  private static String tiGroupSession(long tiGroupId) {
+    return "ti-group:" + tiGroupId;
   }
 
   /**
@@ -40,11 +40,16 @@ public class VersionRepository {
   private final EbeanServer ebeanServer;
   private final Logger LOG = LoggerFactory.getLogger(VersionRepository.class);
   private final ProgramRepository programRepository;
+  private final CacheInvalidationBus invalidationBus;
 
   @Inject
-  public VersionRepository(EbeanConfig ebeanConfig, ProgramRepository programRepository) {
+  public VersionRepository(
+      EbeanConfig ebeanConfig,
+      ProgramRepository programRepository,
+      CacheInvalidationBus invalidationBus) {
     this.ebeanServer = Ebean.getServer(checkNotNull(ebeanConfig).defaultServer());
     this.programRepository = checkNotNull(programRepository);
+    this.invalidationBus = checkNotNull(invalidationBus);
   }
 
   /**
@@ -99,6 +104,7 @@ public class VersionRepository {
       active.save();
       draft.save();
       draft.refresh();
+      invalidationBus.publish(CacheInvalidationBus.Entity.VERSION, draft.id);
       ebeanServer.commitTransaction();
     } finally {
       ebeanServer.endTransaction();
@@ -305,5 +311,6 @@ public class VersionRepository {
     activeVersion.save();
     draftVersion.setLifecycleStage(LifecycleStage.DELETED);
     draftVersion.save();
+    invalidationBus.publish(CacheInvalidationBus.Entity.VERSION, versionId);
   }
 }
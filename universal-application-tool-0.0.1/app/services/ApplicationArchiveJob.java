@@ -0,0 +1,99 @@
+package services;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import akka.actor.ActorSystem;
+import akka.actor.Cancellable;
+import com.google.common.annotations.VisibleForTesting;
+import com.typesafe.config.Config;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import play.inject.ApplicationLifecycle;
+import repository.AdminDatabaseExecutionContext;
+import repository.ApplicationRepository;
+
+/**
+ * Periodically moves obsolete and deleted applications that haven't changed for {@code
+ * application_archive.min_age} from {@code applications} to {@code applications_archive}.
+ *
+ * <p>Applicants only ever read active and draft applications, so archiving keeps the table and
+ * its indexes, and the time it takes to vacuum them, in proportion to the applications in use
+ * rather than to every application ever submitted. Archived applications can still be looked up
+ * with {@link ApplicationRepository#getApplication} and {@link
+ * ApplicationRepository#getArchivedApplications}, but exports and the admin application list
+ * don't read the archive yet, so the job only runs when {@code application_archive.enabled} is
+ * set.
+ *
+ * <p>Each batch is its own transaction, so rows are only locked briefly. Batches run on the admin
+ * database dispatcher, so they don't take connections from applicants.
+ */
+@Singleton
+public final class ApplicationArchiveJob {
+  private static final Logger logger = LoggerFactory.getLogger(ApplicationArchiveJob.class);
+
+  private final ApplicationRepository applicationRepository;
+  private final Clock clock;
+  private final Duration minAge;
+  private final int batchSize;
+  private volatile boolean stopped = false;
+
+  @Inject
+  public ApplicationArchiveJob(
+      ApplicationRepository applicationRepository,
+      Clock clock,
+      Config config,
+      ActorSystem actorSystem,
+      AdminDatabaseExecutionContext executionContext,
+      ApplicationLifecycle lifecycle) {
+    this.applicationRepository = checkNotNull(applicationRepository);
+    this.clock = checkNotNull(clock);
+    this.minAge = checkNotNull(config).getDuration("application_archive.min_age");
+    this.batchSize = config.getInt("application_archive.batch_size");
+    if (!config.getBoolean("application_archive.enabled")) {
+      return;
+    }
+    Duration interval = config.getDuration("application_archive.interval");
+    Cancellable schedule =
+        checkNotNull(actorSystem)
+            .scheduler()
+            .scheduleWithFixedDelay(
+                interval, interval, this::archiveQuietly, checkNotNull(executionContext));
+    checkNotNull(lifecycle)
+        .addStopHook(
+            () -> {
+              stopped = true;
+              schedule.cancel();
+              return CompletableFuture.completedFuture(null);
+            });
+  }
+
+  private void archiveQuietly() {
+    long start = System.nanoTime();
+    try {
+      int archived = archive();
+      logger.info(
+          "Archived {} applications in {} ms.", archived, (System.nanoTime() - start) / 1_000_000);
+    } catch (RuntimeException e) {
+      logger.warn("Archiving applications failed, will try again next time.", e);
+    }
+  }
+
+  /** Archives applications in batches until there are none left, returning how many it moved. */
+  @VisibleForTesting
+  int archive() {
+    Instant changedBefore = clock.instant().minus(minAge);
+    int total = 0;
+    int archived;
+    do {
+      archived = applicationRepository.archiveApplications(changedBefore, batchSize);
+      total += archived;
+    } while (archived == batchSize && !stopped);
+    return total;
+  }
+}
@@ -54,4 +54,15 @@ public class PaginationInfo<T> {
     }
     return new PaginationInfo<V>(allItems, pageItems, page, totalPageCount);
   }
+
+  /**
+   * Describe a page that was loaded on its own, out of {@code totalItemCount} items. Only the items
+   * on the page are known, so they are also what {@link #getAllItems} returns.
+   */
+  public static <V> PaginationInfo<V> ofPage(
+      ImmutableList<V> pageItems, int totalItemCount, int pageSize, int page) {
+    // Display 1 page (which is empty) when there are no items.
+    int totalPageCount = Math.max(1, (int) Math.ceil((double) totalItemCount / pageSize));
+    return new PaginationInfo<V>(pageItems, pageItems, page, totalPageCount);
+  }
 }
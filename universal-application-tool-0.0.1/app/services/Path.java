@@ -2,61 +2,124 @@ package services;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
-import com.google.auto.value.AutoValue;
-import com.google.auto.value.extension.memoized.Memoized;
 import com.google.common.base.Joiner;
-import com.google.common.base.Splitter;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import com.google.common.collect.Maps;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import javax.annotation.Nullable;
 import services.applicant.question.Scalar;
 
 /**
  * Represents a path into the applicant JSON data. Stored as the path to data without the JsonPath
  * prefix: $.
+ *
+ * <p>A path is a linked list of segments: each path points at its parent and holds only its last
+ * segment, already split into a key name and an array index. This makes {@link #parentPath()},
+ * {@link #join(Scalar)} and single-segment {@link #join(String)} constant time, and avoids regular
+ * expressions in the array element methods. Paths parsed by {@link #create(String)} are interned,
+ * since the same few hundred paths are parsed over and over while rendering and updating blocks.
  */
-@AutoValue
-public abstract class Path {
+public final class Path {
   public static final String ARRAY_SUFFIX = "[]";
   private static final String JSON_PATH_START_TOKEN = "$";
-  private static final Pattern ARRAY_INDEX_REGEX = Pattern.compile(".*(\\[(\\d*)])$");
-  private static final int ARRAY_SUFFIX_GROUP = 1;
-  private static final int ARRAY_INDEX_GROUP = 2;
   private static final char JSON_PATH_DIVIDER = '.';
   private static final String JSON_PATH_START = JSON_PATH_START_TOKEN + JSON_PATH_DIVIDER;
-  private static final Splitter JSON_SPLITTER = Splitter.on(JSON_PATH_DIVIDER);
   private static final Joiner JSON_JOINER = Joiner.on(JSON_PATH_DIVIDER);
 
+  /** {@link #arrayIndex} of a segment that does not end in an array suffix, e.g. {@code name}. */
+  private static final int NOT_AN_ARRAY_ELEMENT = -1;
+  /** {@link #arrayIndex} of a segment with an empty array suffix, e.g. {@code children[]}. */
+  private static final int NO_ARRAY_INDEX = -2;
+
+  /**
+   * Upper bound on the number of interned paths. The set of paths in use is bounded by the
+   * questions in the active and draft versions, but paths are also parsed from request data.
+   */
+  private static final int MAX_INTERNED_PATHS = 10_000;
+
+  private static final Cache<String, Path> INTERNED_PATHS =
+      CacheBuilder.newBuilder().maximumSize(MAX_INTERNED_PATHS).build();
+  private static final Map<Scalar, String> SCALAR_SEGMENTS = scalarSegments();
+  private static final Path EMPTY = new Path();
+
+  /** The path without the last segment, or null for the empty path. */
+  @Nullable private final Path parent;
+  /** The last segment, e.g. {@code children[2]}. */
+  private final String segment;
+  /** The last segment without an array suffix, e.g. {@code children}. */
+  private final String segmentName;
+  /** The array index of the last segment, or one of the sentinels above. */
+  private final int arrayIndex;
+
+  private final int size;
+  private final int hashCode;
+
+  // Lazily computed. These are immutable values, so a racy initialization at worst computes them
+  // more than once.
+  @Nullable private ImmutableList<String> segments;
+  @Nullable private String string;
+
+  /** Creates the empty path. */
+  private Path() {
+    this.parent = null;
+    this.segment = "";
+    this.segmentName = "";
+    this.arrayIndex = NOT_AN_ARRAY_ELEMENT;
+    this.size = 0;
+    this.hashCode = 1;
+  }
+
+  /** Creates a child of {@code parent}. The segment must already be lower case. */
+  private Path(Path parent, String segment) {
+    this.parent = parent;
+    this.segment = segment;
+    int suffixStart = arraySuffixStart(segment);
+    if (suffixStart < 0) {
+      this.segmentName = segment;
+      this.arrayIndex = NOT_AN_ARRAY_ELEMENT;
+    } else {
+      this.segmentName = segment.substring(0, suffixStart);
+      this.arrayIndex = parseArrayIndex(segment, suffixStart);
+    }
+    this.size = parent.size + 1;
+    this.hashCode = 31 * parent.hashCode + segment.hashCode();
+  }
+
   public static Path empty() {
-    return create(ImmutableList.of());
+    return EMPTY;
   }
 
   @JsonCreator
   public static Path create(String path) {
-    path = path.trim();
-    if (path.startsWith(JSON_PATH_START)) {
-      path = path.substring(JSON_PATH_START.length());
-    }
-    if (path.isEmpty()) {
-      return empty();
+    Path interned = INTERNED_PATHS.getIfPresent(path);
+    if (interned == null) {
+      interned = EMPTY.join(path);
+      INTERNED_PATHS.put(path, interned);
     }
-    return create(ImmutableList.copyOf(JSON_SPLITTER.splitToList(path)));
-  }
-
-  private static Path create(ImmutableList<String> segments) {
-    return new AutoValue_Path(
-        segments.stream().map(String::toLowerCase).collect(ImmutableList.toImmutableList()));
+    return interned;
   }
 
   /**
    * The list of path segments. A path {@code applicant.favorites.color} would return ["applicant",
    * "favorites", "color"].
    */
-  public abstract ImmutableList<String> segments();
+  public ImmutableList<String> segments() {
+    if (segments == null) {
+      String[] result = new String[size];
+      for (Path path = this; path.size > 0; path = path.parent) {
+        result[path.size - 1] = path.segment;
+      }
+      segments = ImmutableList.copyOf(result);
+    }
+    return segments;
+  }
 
-  @Memoized
   public boolean isEmpty() {
-    return segments().isEmpty();
+    return size == 0;
   }
 
   /**
@@ -65,14 +128,15 @@ public abstract class Path {
    * <p>Example: {@code "applicant.children[2].favorite_color.text"}
    */
   @JsonValue
-  @Memoized
   @Override
   public String toString() {
-    return isEmpty() ? JSON_PATH_START_TOKEN : JSON_JOINER.join(segments());
+    if (string == null) {
+      string = isEmpty() ? JSON_PATH_START_TOKEN : JSON_JOINER.join(segments());
+    }
+    return string;
   }
 
   /** Returns this path in JsonPath predicate format, which must start with \$. */
-  @Memoized
   public String predicateFormat() {
     return JSON_PATH_START + toString();
   }
@@ -81,12 +145,8 @@ public abstract class Path {
    * The {@link Path} of the parent. For example, a path {@code applicant.favorite_color.text} would
    * return {@code applicant.favorite_color}.
    */
-  @Memoized
   public Path parentPath() {
-    if (segments().isEmpty()) {
-      return Path.empty();
-    }
-    return Path.create(segments().subList(0, segments().size() - 1));
+    return parent == null ? EMPTY : parent;
   }
 
   /**
@@ -95,9 +155,22 @@ public abstract class Path {
    * <p>If joining a {@link Scalar}, please use {@link Path#join(Scalar)} instead.
    */
   public Path join(String path) {
-    Path other = Path.create(path);
-    return Path.create(
-        ImmutableList.<String>builder().addAll(segments()).addAll(other.segments()).build());
+    path = path.trim();
+    if (path.startsWith(JSON_PATH_START)) {
+      path = path.substring(JSON_PATH_START.length());
+    }
+    if (path.isEmpty()) {
+      return this;
+    }
+
+    Path result = this;
+    int start = 0;
+    int end;
+    while ((end = path.indexOf(JSON_PATH_DIVIDER, start)) >= 0) {
+      result = new Path(result, path.substring(start, end).toLowerCase());
+      start = end + 1;
+    }
+    return new Path(result, path.substring(start).toLowerCase());
   }
 
   /**
@@ -107,28 +180,22 @@ public abstract class Path {
    * to append to a path.
    */
   public Path join(Scalar scalar) {
-    Path other = Path.create(scalar.name());
-    return Path.create(
-        ImmutableList.<String>builder().addAll(segments()).addAll(other.segments()).build());
+    return new Path(this, SCALAR_SEGMENTS.get(scalar));
   }
 
   /**
    * The last segment in this path. For example, a path {@code applicant.favorites.color} would
    * return "color".
    */
-  @Memoized
   public String keyName() {
-    if (segments().isEmpty()) {
-      return "";
-    }
-    return segments().get(segments().size() - 1);
+    return segment;
   }
 
   /**
    * Checks whether this path is referring to an array element, e.g. {@code applicant.children[3]}.
    */
   public boolean isArrayElement() {
-    return ARRAY_INDEX_REGEX.matcher(keyName()).find();
+    return arrayIndex != NOT_AN_ARRAY_ELEMENT;
   }
 
   /** Returns this path as a path to an array element, e.g. {@code applicant.children[3]}. */
@@ -136,7 +203,7 @@ public abstract class Path {
     if (isArrayElement()) {
       return this;
     }
-    return parentPath().join(keyName() + ARRAY_SUFFIX);
+    return new Path(parentPath(), segment + ARRAY_SUFFIX);
   }
 
   /**
@@ -146,7 +213,11 @@ public abstract class Path {
    * <p>For paths to non repeated entity collections, {@code IllegalStateException} is thrown.
    */
   public Path withoutArrayReference() {
-    return parentPath().join(keyNameWithoutArrayIndex());
+    if (!isArrayElement()) {
+      throw new IllegalStateException(
+          String.format("This path %s does not reference an array element.", this));
+    }
+    return parentPath().join(segmentName);
   }
 
   /**
@@ -158,16 +229,11 @@ public abstract class Path {
    * <p>For paths to non-array elements, {@code IllegalStateException} is thrown.
    */
   public int arrayIndex() {
-    Matcher matcher = ARRAY_INDEX_REGEX.matcher(keyName());
-    matcher.matches();
-
-    try {
-      return Integer.valueOf(matcher.group(ARRAY_INDEX_GROUP));
-
-    } catch (IllegalStateException | NumberFormatException e) {
+    if (arrayIndex < 0) {
       throw new IllegalStateException(
-          String.format("This path %s does not reference a repeated entity element.", this), e);
+          String.format("This path %s does not reference a repeated entity element.", this));
     }
+    return arrayIndex;
   }
 
   /**
@@ -176,19 +242,11 @@ public abstract class Path {
    * <p>For paths to non-array elements, {@code IllegalStateException} is thrown.
    */
   public Path atIndex(int index) {
-    Matcher matcher = ARRAY_INDEX_REGEX.matcher(keyName());
-    if (matcher.matches()) {
-      return parentPath()
-          .join(
-              new StringBuilder(keyName())
-                  .replace(
-                      matcher.start(ARRAY_INDEX_GROUP),
-                      matcher.end(ARRAY_INDEX_GROUP),
-                      String.valueOf(index))
-                  .toString());
+    if (!isArrayElement()) {
+      throw new IllegalStateException(
+          String.format("This path %s does not reference a repeated entity collection.", this));
     }
-    throw new IllegalStateException(
-        String.format("This path %s does not reference a repeated entity collection.", this));
+    return new Path(parentPath(), segmentName + '[' + index + ']');
   }
 
   /**
@@ -196,62 +254,88 @@ public abstract class Path {
    * "a.b[].c[].d" starts with "a.b.c".
    */
   public boolean startsWith(Path other) {
-    ImmutableList<String> thisSegments =
-        segments().stream().map(this::stripArraySuffix).collect(ImmutableList.toImmutableList());
-    ImmutableList<String> otherSegments =
-        other.segments().stream()
-            .map(this::stripArraySuffix)
-            .collect(ImmutableList.toImmutableList());
-
     // This can't start with something that is longer than it.
-    if (otherSegments.size() > thisSegments.size()) {
+    if (other.size > size) {
       return false;
     }
 
-    for (int i = 0; i < otherSegments.size(); i++) {
-      if (!thisSegments.get(i).equals(otherSegments.get(i))) {
+    Path prefix = this;
+    while (prefix.size > other.size) {
+      prefix = prefix.parent;
+    }
+    for (Path otherPrefix = other; prefix.size > 0; otherPrefix = otherPrefix.parent) {
+      if (!prefix.segmentName.equals(otherPrefix.segmentName)) {
         return false;
       }
+      prefix = prefix.parent;
     }
     return true;
   }
 
-  /**
-   * Returns the path's key name without an array index suffix. e.g. {@code a.b[1].c[3]} returns
-   * "c".
-   *
-   * <p>For paths to non-array elements, {@code IllegalStateException} is thrown.
-   */
-  private String keyNameWithoutArrayIndex() {
-    return stripArraySuffix(keyName(), /* strict= */ true);
+  @Override
+  public boolean equals(@Nullable Object object) {
+    if (this == object) {
+      return true;
+    }
+    if (!(object instanceof Path)) {
+      return false;
+    }
+    Path that = (Path) object;
+    if (hashCode != that.hashCode || size != that.size) {
+      return false;
+    }
+    for (Path a = this, b = that; a.size > 0; a = a.parent, b = b.parent) {
+      if (!a.segment.equals(b.segment)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
   }
 
   /**
-   * Returns the path segment without an {@link #ARRAY_SUFFIX}.
-   *
-   * @param segment a path segment to strip of {@link #ARRAY_SUFFIX}
-   * @param strict if true, throws an {@link IllegalArgumentException} if segment does not have
-   *     anything to strip
-   * @return segment, without an {@link #ARRAY_SUFFIX}
+   * Returns the position of the array suffix in the segment, e.g. 8 for {@code children[2]}, or -1
+   * if the segment does not end in a bracketed, possibly empty, run of digits.
    */
-  private String stripArraySuffix(String segment, boolean strict) {
-    Matcher matcher = ARRAY_INDEX_REGEX.matcher(segment);
-    if (matcher.matches()) {
-      return new StringBuilder(segment)
-          .replace(matcher.start(ARRAY_SUFFIX_GROUP), matcher.end(ARRAY_SUFFIX_GROUP), "")
-          .toString();
+  private static int arraySuffixStart(String segment) {
+    int last = segment.length() - 1;
+    if (last < 0 || segment.charAt(last) != ']') {
+      return -1;
     }
-
-    if (strict) {
-      throw new IllegalStateException(
-          String.format("This path %s does not reference an array element.", this));
+    for (int i = last - 1; i >= 0; i--) {
+      char c = segment.charAt(i);
+      if (c == '[') {
+        return i;
+      }
+      if (c < '0' || c > '9') {
+        return -1;
+      }
     }
+    return -1;
+  }
 
-    return segment;
+  private static int parseArrayIndex(String segment, int suffixStart) {
+    int digitsStart = suffixStart + 1;
+    int digitsEnd = segment.length() - 1;
+    if (digitsStart == digitsEnd) {
+      return NO_ARRAY_INDEX;
+    }
+    try {
+      return Integer.parseInt(segment, digitsStart, digitsEnd, 10);
+    } catch (NumberFormatException e) {
+      // Too many digits to be a real index.
+      return NO_ARRAY_INDEX;
+    }
   }
 
-  /** Non-strict version of {@link #stripArraySuffix(String, boolean)} */
-  private String stripArraySuffix(String segment) {
-    return stripArraySuffix(segment, /* strict= */ false);
+  private static Map<Scalar, String> scalarSegments() {
+    EnumMap<Scalar, String> segments = new EnumMap<>(Scalar.class);
+    Arrays.stream(Scalar.values())
+        .forEach(scalar -> segments.put(scalar, scalar.name().toLowerCase()));
+    return Maps.immutableEnumMap(segments);
   }
 }
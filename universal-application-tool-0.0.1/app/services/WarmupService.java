@@ -0,0 +1,111 @@
+package services;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import play.api.db.evolutions.ApplicationEvolutions;
+import repository.DatabaseExecutionContext;
+import services.applicant.ApplicantData;
+import services.applicant.predicate.JsonPathPredicateGenerator;
+import services.applicant.predicate.PredicateEvaluator;
+import services.program.ActiveAndDraftPrograms;
+import services.program.BlockDefinition;
+import services.program.ProgramDefinition;
+import services.program.ProgramService;
+import services.question.QuestionService;
+
+/**
+ * Does the one-time work that the first applicant to reach a freshly started server would
+ * otherwise wait for: loading the classes and Ebean metadata behind the active and draft versions
+ * by reading them once, and parsing the JsonPath of every visibility predicate into JsonPath's
+ * cache. The versions and definitions it reads are not kept, so requests still read them as
+ * before, just without the start-up costs.
+ *
+ * <p>Warm-up starts when the application does, and the server reports that it is not ready until
+ * it finishes, so the load balancer doesn't send it traffic in the meantime. A failed warm-up is
+ * logged and otherwise ignored, since the server can still serve requests, just more slowly.
+ */
+@Singleton
+public final class WarmupService {
+  private static final Logger logger = LoggerFactory.getLogger(WarmupService.class);
+
+  private final ProgramService programService;
+  private final QuestionService questionService;
+  private final CompletableFuture<Void> warmup;
+
+  @Inject
+  public WarmupService(
+      ProgramService programService,
+      QuestionService questionService,
+      DatabaseExecutionContext executionContext,
+      ApplicationEvolutions evolutions) {
+    this(programService, questionService, (Executor) executionContext);
+    // Evolutions are applied when ApplicationEvolutions is constructed, so depending on it means
+    // warm-up doesn't read tables that are about to change.
+    checkNotNull(evolutions);
+  }
+
+  @VisibleForTesting
+  WarmupService(ProgramService programService, QuestionService questionService, Executor executor) {
+    this.programService = checkNotNull(programService);
+    this.questionService = checkNotNull(questionService);
+    this.warmup = CompletableFuture.runAsync(this::warmUpQuietly, checkNotNull(executor));
+  }
+
+  /** Returns true once warm-up has finished, whether or not it succeeded. */
+  public boolean isReady() {
+    return warmup.isDone();
+  }
+
+  private void warmUpQuietly() {
+    long start = System.nanoTime();
+    try {
+      int programCount = warmUp();
+      logger.info(
+          "Warmed up {} active programs in {} ms.",
+          programCount,
+          (System.nanoTime() - start) / 1_000_000);
+    } catch (RuntimeException e) {
+      logger.warn("Warm-up failed, the first requests may be slow.", e);
+    }
+  }
+
+  /**
+   * Reads the questions and the active and draft programs, and parses the active programs'
+   * predicates, returning the number of active programs.
+   */
+  @VisibleForTesting
+  int warmUp() {
+    questionService.getReadOnlyQuestionService().toCompletableFuture().join();
+    ActiveAndDraftPrograms programs = programService.getActiveAndDraftPrograms();
+    for (ProgramDefinition program : programs.getActivePrograms()) {
+      parsePredicates(program);
+    }
+    return programs.getActiveSize();
+  }
+
+  /**
+   * Evaluates each visibility predicate against empty applicant data, which parses its JsonPath
+   * into JsonPath's cache. Predicates on repeated questions need a repeated entity, so they are
+   * parsed the first time an applicant reaches them instead.
+   */
+  private static void parsePredicates(ProgramDefinition program) {
+    PredicateEvaluator evaluator =
+        new PredicateEvaluator(
+            new ApplicantData(),
+            new JsonPathPredicateGenerator(
+                program.streamQuestionDefinitions().collect(toImmutableList()),
+                Optional.empty()));
+    for (BlockDefinition block : program.blockDefinitions()) {
+      block.visibilityPredicate().ifPresent(predicate -> evaluator.evaluate(predicate.rootNode()));
+    }
+  }
+}
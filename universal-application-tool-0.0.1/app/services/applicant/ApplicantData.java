@@ -4,6 +4,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.PathNotFoundException;
 import com.jayway.jsonpath.TypeRef;
@@ -16,12 +17,15 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import javax.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,6 +61,24 @@ public class ApplicantData {
   private boolean locked = false;
   private Optional<Locale> preferredLocale;
 
+  /**
+   * Incremented on every change to {@link #jsonData}. The serialized JSON and its hash are
+   * memoized for a single modification count, so that equality checks and hashing serialize the
+   * document at most once per change instead of on every call.
+   */
+  private long modificationCount = 0;
+
+  private long fingerprintModificationCount = -1;
+  @Nullable private String jsonStringMemo;
+  private int jsonHashMemo;
+
+  /**
+   * The paths written since this data was loaded or last persisted, so that only they need to be
+   * written back. Changes inside an array are recorded as a change to the whole array, since
+   * insertions and deletions shift the indices of later elements.
+   */
+  private final Set<Path> changedPaths = new LinkedHashSet<>();
+
   public ApplicantData() {
     this(EMPTY_APPLICANT_DATA_JSON);
   }
@@ -75,6 +97,14 @@ public class ApplicantData {
     locked = true;
   }
 
+  /**
+   * Returns true if this ApplicantData has been locked, in which case anything derived from it can
+   * be safely memoized.
+   */
+  public boolean isLocked() {
+    return locked;
+  }
+
   /** Returns true if this applicant has set their preferred locale, and false otherwise. */
   public boolean hasPreferredLocale() {
     return this.preferredLocale.isPresent();
@@ -247,11 +277,15 @@ public class ApplicantData {
   private void putAt(Path path, Object value) {
     checkLocked();
     jsonData.put(path.parentPath().toString(), path.keyName(), value);
+    modificationCount++;
+    changedPaths.add(path);
   }
 
   private void addAt(Path path, Object value) {
     checkLocked();
     jsonData.add(path.withoutArrayReference().toString(), value);
+    modificationCount++;
+    changedPaths.add(path.withoutArrayReference());
   }
 
   /**
@@ -450,6 +484,8 @@ public class ApplicantData {
     for (int index : reverseSortedIndices) {
       jsonData.delete(path.atIndex(index).toString());
     }
+    modificationCount++;
+    changedPaths.add(path.withoutArrayReference());
     return true;
   }
 
@@ -475,68 +511,200 @@ public class ApplicantData {
   }
 
   public String asJsonString() {
-    return jsonData.jsonString();
+    updateFingerprint();
+    return jsonStringMemo;
   }
 
   @Override
   public boolean equals(@Nullable Object object) {
+    if (this == object) {
+      return true;
+    }
     if (object instanceof ApplicantData) {
       ApplicantData that = (ApplicantData) object;
       // Need to compare the JSON strings rather than the DocumentContexts themselves since
-      // DocumentContext does not override equals.
-      return jsonData.jsonString().equals(that.jsonData.jsonString());
+      // DocumentContext does not override equals. The memoized hashes rule out most unequal pairs
+      // without comparing the strings.
+      return hashCode() == that.hashCode() && asJsonString().equals(that.asJsonString());
     }
     return false;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(jsonData.jsonString());
+    updateFingerprint();
+    return jsonHashMemo;
   }
 
   /**
-   * Copies all keys from {@code other}, recursively. All lists are merged. No values will be
-   * overwritten.
+   * Returns the values written since this data was loaded or last marked persisted, keyed by their
+   * path as a list of JSON object keys and array indices, e.g. ["applicant", "children", "2",
+   * "name"]. Writing each value at its path to the previously persisted JSON produces this data.
    *
-   * @return A list of {@code Path}s whose values could not be copied due to conflicts.
+   * <p>Paths within another changed path are left out, since the value of the outer path includes
+   * them. Returns empty if the changes can't be expressed this way, in which case the whole
+   * document must be written.
    */
-  public ImmutableList<Path> mergeFrom(ApplicantData other) {
-    Map<?, ?> rootAsMap = other.jsonData.read("$", Map.class);
-    return mergeFrom(Path.empty(), rootAsMap);
+  public Optional<ImmutableMap<ImmutableList<String>, String>> getChangedValues() {
+    Map<ImmutableList<String>, Path> keyPaths = new HashMap<>();
+    for (Path path : changedPaths) {
+      Optional<ImmutableList<String>> keyPath = toKeyPath(path);
+      if (keyPath.isEmpty()) {
+        return Optional.empty();
+      }
+      keyPaths.put(keyPath.get(), path);
+    }
+
+    ImmutableMap.Builder<ImmutableList<String>, String> values = ImmutableMap.builder();
+    for (Map.Entry<ImmutableList<String>, Path> entry : keyPaths.entrySet()) {
+      if (keyPaths.keySet().stream().anyMatch(other -> isStrictPrefix(other, entry.getKey()))) {
+        continue;
+      }
+      try {
+        Object value = jsonData.read(entry.getValue().toString());
+        values.put(entry.getKey(), jsonData.configuration().jsonProvider().toJson(value));
+      } catch (PathNotFoundException e) {
+        // Written, then removed along with an enclosing array element.
+        return Optional.empty();
+      }
+    }
+    return Optional.of(values.build());
+  }
+
+  /** Forgets the changes made so far, once they have been persisted. */
+  public void markChangesPersisted() {
+    changedPaths.clear();
+  }
+
+  /** Converts a path to a list of keys and indices, or empty if it has an unindexed array. */
+  private static Optional<ImmutableList<String>> toKeyPath(Path path) {
+    ImmutableList.Builder<String> keyPath = ImmutableList.builder();
+    for (String segment : path.segments()) {
+      int arrayStart = segment.indexOf('[');
+      if (arrayStart < 0) {
+        keyPath.add(segment);
+        continue;
+      }
+      String index = segment.substring(arrayStart + 1, segment.length() - 1);
+      if (index.isEmpty()) {
+        return Optional.empty();
+      }
+      keyPath.add(segment.substring(0, arrayStart), index);
+    }
+    return Optional.of(keyPath.build());
   }
 
-  private ImmutableList<Path> mergeFrom(Path rootKey, Map<?, ?> other) {
+  private static boolean isStrictPrefix(ImmutableList<String> prefix, ImmutableList<String> path) {
+    return prefix.size() < path.size() && path.subList(0, prefix.size()).equals(prefix);
+  }
+
+  /** Re-serializes the JSON data if it has changed since it was last serialized. */
+  private void updateFingerprint() {
+    if (fingerprintModificationCount != modificationCount) {
+      jsonStringMemo = jsonData.jsonString();
+      jsonHashMemo = Objects.hash(jsonStringMemo);
+      fingerprintModificationCount = modificationCount;
+    }
+  }
+
+  /**
+   * Copies all keys from {@code other} that are missing here, in one walk over both documents. No
+   * values will be overwritten. Where both have a key:
+   *
+   * <ul>
+   *   <li>two objects are merged, key by key;
+   *   <li>the items of the other array are appended to this one;
+   *   <li>an empty object or array in {@code other} has nothing to copy, so is ignored;
+   *   <li>any other pair of values, including an object and an array, is a conflict unless the
+   *       values are equal, and this data's value is kept.
+   * </ul>
+   */
+  public MergeResult mergeFrom(ApplicantData other) {
     checkLocked();
-    ImmutableList.Builder<Path> pathsRemoved = new ImmutableList.Builder<>();
-    for (Map.Entry<?, ?> entry : other.entrySet()) {
-      String key = entry.getKey().toString();
-      Path path = rootKey.join(key);
-      if (hasPath(path)) {
-        if (entry.getValue() instanceof Map) {
-          // Recurse into maps.
-          pathsRemoved.addAll(mergeFrom(path, (Map) entry.getValue()));
-        } else if (entry.getValue() instanceof List) {
-          // Add items from lists.
+    TreeMerge merge = new TreeMerge();
+    merge.mergeObjects(Path.empty(), asObject(jsonData.json()), asObject(other.jsonData.json()));
+    if (merge.valuesCopied > 0 || merge.itemsAppended > 0) {
+      modificationCount++;
+    }
+    return MergeResult.create(
+        merge.conflicts.build(), merge.keysVisited, merge.valuesCopied, merge.itemsAppended);
+  }
+
+  /**
+   * Merges the Java maps and lists that {@code JacksonJsonProvider} parses documents into,
+   * without going through JsonPath, so each key is looked up once rather than once per level of
+   * its path.
+   */
+  private final class TreeMerge {
+    private final ImmutableList.Builder<Path> conflicts = ImmutableList.builder();
+    private int keysVisited = 0;
+    private int valuesCopied = 0;
+    private int itemsAppended = 0;
+
+    private void mergeObjects(Path path, Map<String, Object> target, Map<String, Object> source) {
+      for (Map.Entry<String, Object> entry : source.entrySet()) {
+        keysVisited++;
+        String key = entry.getKey();
+        Path keyPath = path.join(key);
+        Object sourceValue = entry.getValue();
+        if (!target.containsKey(key)) {
+          target.put(key, deepCopy(sourceValue));
+          valuesCopied++;
+          changedPaths.add(keyPath);
+          continue;
+        }
+        if (isEmptyContainer(sourceValue)) {
+          continue;
+        }
+        Object targetValue = target.get(key);
+        if (sourceValue instanceof Map && targetValue instanceof Map) {
+          mergeObjects(keyPath, asObject(targetValue), asObject(sourceValue));
+        } else if (sourceValue instanceof List && targetValue instanceof List) {
           // TODO(github.com/seattle-uat/civiform/issues/405): improve merge for repeated fields.
-          for (Object item : (List) entry.getValue()) {
-            jsonData.add(path.toString(), item);
-          }
-        } else {
-          try {
-            if (!this.read(path, Object.class).equals(entry.getValue())) {
-              pathsRemoved.add(path);
-            }
-          } catch (JsonPathTypeMismatchException e) {
-            // If we can't confirm they're equal, consider it removed.
-            pathsRemoved.add(path);
+          // The array is replaced with a copy, since arrays written by put may be immutable.
+          List<Object> merged = new ArrayList<>((List<?>) targetValue);
+          for (Object item : (List<?>) sourceValue) {
+            merged.add(deepCopy(item));
           }
+          target.put(key, merged);
+          itemsAppended += ((List<?>) sourceValue).size();
+          changedPaths.add(keyPath);
+        } else if (!Objects.equals(targetValue, sourceValue)) {
+          conflicts.add(keyPath);
         }
-      } else {
-        // currently empty, can add.
-        this.put(path, entry.getValue());
       }
     }
-    return pathsRemoved.build();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> asObject(Object value) {
+    return (Map<String, Object>) value;
+  }
+
+  private static boolean isEmptyContainer(@Nullable Object value) {
+    return (value instanceof Map && ((Map<?, ?>) value).isEmpty())
+        || (value instanceof List && ((List<?>) value).isEmpty());
+  }
+
+  /** Copies objects and arrays, so the merged data doesn't share them with the other data. */
+  @Nullable
+  private static Object deepCopy(@Nullable Object value) {
+    if (value instanceof Map) {
+      Map<String, Object> copy = new LinkedHashMap<>();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        copy.put(entry.getKey().toString(), deepCopy(entry.getValue()));
+      }
+      return copy;
+    }
+    if (value instanceof List) {
+      List<Object> copy = new ArrayList<>(((List<?>) value).size());
+      for (Object item : (List<?>) value) {
+        copy.add(deepCopy(item));
+      }
+      return copy;
+    }
+    // Everything else is a string, number, boolean or null, which are immutable.
+    return value;
   }
 
   public void setUserName(String displayName) {
@@ -78,6 +78,13 @@ public interface ApplicantService {
   CompletionStage<ReadOnlyApplicantProgramService> getReadOnlyApplicantProgramService(
       Application application);
 
+  /**
+   * Get a {@link ReadOnlyApplicantProgramService} from an application and the definition of its
+   * program, for callers such as exports that look each program up once for many applications.
+   */
+  ReadOnlyApplicantProgramService getReadOnlyApplicantProgramService(
+      Application application, ProgramDefinition programDefinition);
+
   /**
    * Return all programs that are appropriate to serve to an applicant - which is any active
    * program, plus any program where they have an application in the draft stage.
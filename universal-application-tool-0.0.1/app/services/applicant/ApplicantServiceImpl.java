@@ -114,6 +114,13 @@ public class ApplicantServiceImpl implements ApplicantService {
     }
   }
 
+  @Override
+  public ReadOnlyApplicantProgramService getReadOnlyApplicantProgramService(
+      Application application, ProgramDefinition programDefinition) {
+    return new ReadOnlyApplicantProgramServiceImpl(
+        application.getApplicantData(), programDefinition);
+  }
+
   @Override
   public CompletionStage<ReadOnlyApplicantProgramService> stageAndUpdateIfValid(
       long applicantId, long programId, String blockId, ImmutableMap<String, String> updateMap) {
@@ -133,7 +140,11 @@ public class ApplicantServiceImpl implements ApplicantService {
           new IllegalArgumentException("Path contained reserved scalar key"));
     }
 
-    return stageAndUpdateIfValid(applicantId, programId, blockId, updates);
+    // Another request, e.g. from another tab, may save the applicant in between loading and saving
+    // it here, in which case the updates are staged again on what it saved.
+    return UserRepository.retryOnConflict(
+        () -> stageAndUpdateIfValid(applicantId, programId, blockId, updates),
+        httpExecutionContext.current());
   }
 
   private CompletionStage<ReadOnlyApplicantProgramService> stageAndUpdateIfValid(
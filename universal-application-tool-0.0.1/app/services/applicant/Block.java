@@ -43,6 +43,9 @@ public final class Block {
 
   private Optional<ImmutableList<ApplicantQuestion>> questionsMemo = Optional.empty();
   private Optional<ImmutableMap<Path, ScalarType>> scalarsMemo = Optional.empty();
+  // Only memoized for locked ApplicantData, since these depend on the applicant's answers.
+  private Optional<Boolean> hasErrorsMemo = Optional.empty();
+  private Optional<Boolean> completeWithoutErrorsMemo = Optional.empty();
 
   Block(
       String id,
@@ -149,18 +152,33 @@ public final class Block {
 
   /** A block has errors if any one of its {@link ApplicantQuestion}s has errors. */
   public boolean hasErrors() {
-    return getQuestions().stream().anyMatch(ApplicantQuestion::hasErrors);
+    if (hasErrorsMemo.isPresent()) {
+      return hasErrorsMemo.get();
+    }
+    boolean hasErrors = getQuestions().stream().anyMatch(ApplicantQuestion::hasErrors);
+    if (applicantData.isLocked()) {
+      hasErrorsMemo = Optional.of(hasErrors);
+    }
+    return hasErrors;
   }
 
   /**
    * Checks whether the block is complete - that is, {@link ApplicantData} has values at all the
-   * paths for all required questions in this block and there are no errors. Note: this cannot be
-   * memoized, since we need to reflect internal changes to ApplicantData.
+   * paths for all required questions in this block and there are no errors. Note: this is only
+   * memoized if the ApplicantData is locked, since otherwise we need to reflect internal changes to
+   * ApplicantData.
    */
   public boolean isCompleteWithoutErrors() {
+    if (completeWithoutErrorsMemo.isPresent()) {
+      return completeWithoutErrorsMemo.get();
+    }
     // TODO(https://github.com/seattle-uat/civiform/issues/551): Stream only required scalar paths
     //  instead of all scalar paths.
-    return isComplete() && !hasErrors();
+    boolean completeWithoutErrors = isComplete() && !hasErrors();
+    if (applicantData.isLocked()) {
+      completeWithoutErrorsMemo = Optional.of(completeWithoutErrors);
+    }
+    return completeWithoutErrors;
   }
 
   /**
@@ -195,6 +213,9 @@ public final class Block {
 
   @Override
   public boolean equals(@Nullable Object object) {
+    if (this == object) {
+      return true;
+    }
     if (object instanceof Block) {
       Block that = (Block) object;
       return this.id.equals(that.id)
@@ -0,0 +1,27 @@
+package services.applicant;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import services.Path;
+
+/** What {@link ApplicantData#mergeFrom} did. */
+@AutoValue
+public abstract class MergeResult {
+
+  public static MergeResult create(
+      ImmutableList<Path> conflicts, int keysVisited, int valuesCopied, int itemsAppended) {
+    return new AutoValue_MergeResult(conflicts, keysVisited, valuesCopied, itemsAppended);
+  }
+
+  /** The paths whose values could not be copied, because a different value was already there. */
+  public abstract ImmutableList<Path> conflicts();
+
+  /** The number of keys in the other data that were looked at. */
+  public abstract int keysVisited();
+
+  /** The number of keys copied along with everything under them, because they were missing. */
+  public abstract int valuesCopied();
+
+  /** The number of items appended to arrays that were already there. */
+  public abstract int itemsAppended();
+}
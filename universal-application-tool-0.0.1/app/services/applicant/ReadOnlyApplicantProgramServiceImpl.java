@@ -60,12 +60,15 @@ public class ReadOnlyApplicantProgramServiceImpl implements ReadOnlyApplicantPro
   @Override
   public ImmutableList<Block> getInProgressBlocks() {
     if (currentBlockList == null) {
+      // Filter the active blocks rather than building new ones, so that completeness memoized by
+      // each Block is shared between the two lists.
       currentBlockList =
-          getBlocks(
-              block ->
-                  (!block.isCompleteWithoutErrors()
+          getAllActiveBlocks().stream()
+              .filter(
+                  block ->
+                      !block.isCompleteWithoutErrors()
                           || block.wasCompletedInProgram(programDefinition.id()))
-                      && showBlock(block));
+              .collect(toImmutableList());
     }
     return currentBlockList;
   }
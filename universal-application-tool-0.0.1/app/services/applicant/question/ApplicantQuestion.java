@@ -30,6 +30,12 @@ public class ApplicantQuestion {
   private final ApplicantData applicantData;
   private final Optional<RepeatedEntity> repeatedEntity;
 
+  private Optional<Path> contextualizedPathMemo = Optional.empty();
+  private Optional<ImmutableMap<Path, ScalarType>> contextualizedScalarsMemo = Optional.empty();
+  // Presenters cache the answers they read, so they are only memoized for locked ApplicantData.
+  private Optional<PresentsErrors> errorsPresenterMemo = Optional.empty();
+  private Optional<Boolean> hasErrorsMemo = Optional.empty();
+
   /**
    * If this is a repeated question, it should be created with the repeated entity associated with
    * this question. If this is not a repeated question, then it should be created with an {@code
@@ -85,7 +91,13 @@ public class ApplicantQuestion {
    * "applicant.household_member[3].name".
    */
   public Path getContextualizedPath() {
-    return questionDefinition.getContextualizedPath(repeatedEntity, ApplicantData.APPLICANT_PATH);
+    if (contextualizedPathMemo.isEmpty()) {
+      contextualizedPathMemo =
+          Optional.of(
+              questionDefinition.getContextualizedPath(
+                  repeatedEntity, ApplicantData.APPLICANT_PATH));
+    }
+    return contextualizedPathMemo.get();
   }
 
   /**
@@ -95,27 +107,48 @@ public class ApplicantQuestion {
    * <p>This should not be used for {@link QuestionType#ENUMERATOR} questions.
    */
   public ImmutableMap<Path, ScalarType> getContextualizedScalars() {
+    if (contextualizedScalarsMemo.isPresent()) {
+      return contextualizedScalarsMemo.get();
+    }
+    Path contextualizedPath = getContextualizedPath();
     try {
-      return ImmutableMap.<Scalar, ScalarType>builder()
-          .putAll(Scalar.getScalars(getType()))
-          .putAll(Scalar.getMetadataScalars())
-          .build()
-          .entrySet()
-          .stream()
-          .collect(
-              ImmutableMap.toImmutableMap(
-                  entry -> getContextualizedPath().join(entry.getKey()), Map.Entry::getValue));
+      contextualizedScalarsMemo =
+          Optional.of(
+              ImmutableMap.<Scalar, ScalarType>builder()
+                  .putAll(Scalar.getScalars(getType()))
+                  .putAll(Scalar.getMetadataScalars())
+                  .build()
+                  .entrySet()
+                  .stream()
+                  .collect(
+                      ImmutableMap.toImmutableMap(
+                          entry -> contextualizedPath.join(entry.getKey()),
+                          Map.Entry::getValue)));
     } catch (InvalidQuestionTypeException | UnsupportedQuestionTypeException e) {
       throw new RuntimeException(e);
     }
+    return contextualizedScalarsMemo.get();
   }
 
   public ImmutableSet<ValidationErrorMessage> getQuestionErrors() {
     return errorsPresenter().getQuestionErrors();
   }
 
+  /**
+   * Returns true if the answer to this question fails validation. The result is memoized if the
+   * {@link ApplicantData} is locked.
+   */
   public boolean hasErrors() {
-    return errorsPresenter().hasQuestionErrors() || errorsPresenter().hasTypeSpecificErrors();
+    if (hasErrorsMemo.isPresent()) {
+      return hasErrorsMemo.get();
+    }
+    PresentsErrors errorsPresenter = errorsPresenter();
+    boolean hasErrors =
+        errorsPresenter.hasQuestionErrors() || errorsPresenter.hasTypeSpecificErrors();
+    if (applicantData.isLocked()) {
+      hasErrorsMemo = Optional.of(hasErrors);
+    }
+    return hasErrors;
   }
 
   public Optional<Long> getUpdatedInProgramMetadata() {
@@ -183,7 +216,22 @@ public class ApplicantQuestion {
     return new TextQuestion(this);
   }
 
+  /**
+   * Returns the type-specific question for this question. The same instance is returned on every
+   * call if the {@link ApplicantData} is locked, so answers are read and validated once.
+   */
   public PresentsErrors errorsPresenter() {
+    if (errorsPresenterMemo.isPresent()) {
+      return errorsPresenterMemo.get();
+    }
+    PresentsErrors errorsPresenter = createErrorsPresenter();
+    if (applicantData.isLocked()) {
+      errorsPresenterMemo = Optional.of(errorsPresenter);
+    }
+    return errorsPresenter;
+  }
+
+  private PresentsErrors createErrorsPresenter() {
     switch (getType()) {
       case ADDRESS:
         return createAddressQuestion();
@@ -213,6 +261,9 @@ public class ApplicantQuestion {
 
   @Override
   public boolean equals(@Nullable Object object) {
+    if (this == object) {
+      return true;
+    }
     if (object instanceof ApplicantQuestion) {
       ApplicantQuestion that = (ApplicantQuestion) object;
       return this.questionDefinition.equals(that.questionDefinition)
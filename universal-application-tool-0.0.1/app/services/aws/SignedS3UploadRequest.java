@@ -8,6 +8,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.guava.GuavaModule;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.google.auto.value.AutoValue;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
@@ -26,18 +28,49 @@ public abstract class SignedS3UploadRequest {
 
   private static final long MB_TO_BYTES = 1L << 20;
 
+  private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+  /**
+   * {@link Mac} instances are not thread safe, and {@link Mac#getInstance} looks up the provider
+   * each time, so each thread reuses its own.
+   */
+  private static final ThreadLocal<Mac> HMAC =
+      ThreadLocal.withInitial(
+          () -> {
+            try {
+              return Mac.getInstance(HMAC_ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+              throw new RuntimeException(e);
+            }
+          });
+
+  /**
+   * Signing keys only depend on the secret key, date, region and service, so they change daily or
+   * when the credentials are rotated. Old dates fall out of the cache by size.
+   */
+  private static final Cache<SigningKeyScope, byte[]> SIGNING_KEYS =
+      CacheBuilder.newBuilder().maximumSize(16).build();
+
   private static byte[] HmacSHA256(String data, byte[] key) {
+    Mac mac = HMAC.get();
     try {
-      String algorithm = "HmacSHA256";
-      Mac mac = Mac.getInstance(algorithm);
-      mac.init(new SecretKeySpec(key, algorithm));
-      return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-    } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+      mac.init(new SecretKeySpec(key, HMAC_ALGORITHM));
+    } catch (InvalidKeyException e) {
       throw new RuntimeException(e);
     }
+    return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static byte[] getSigningKey(
+      String secretKey, String dateStamp, String regionName, String serviceName) {
+    return SIGNING_KEYS
+        .asMap()
+        .computeIfAbsent(
+            SigningKeyScope.create(secretKey, dateStamp, regionName, serviceName),
+            scope -> deriveSigningKey(secretKey, dateStamp, regionName, serviceName));
   }
 
-  private static byte[] getSigningKey(
+  private static byte[] deriveSigningKey(
       String secretKey, String dateStamp, String regionName, String serviceName) {
     byte[] kSecret = ("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8);
     byte[] kDate = HmacSHA256(dateStamp, kSecret);
@@ -47,6 +80,30 @@ public abstract class SignedS3UploadRequest {
     return kSigning;
   }
 
+  /** The inputs of a signing key. */
+  @AutoValue
+  abstract static class SigningKeyScope {
+    static SigningKeyScope create(
+        String secretKey, String dateStamp, String regionName, String serviceName) {
+      return new AutoValue_SignedS3UploadRequest_SigningKeyScope(
+          secretKey, dateStamp, regionName, serviceName);
+    }
+
+    abstract String secretKey();
+
+    abstract String dateStamp();
+
+    abstract String regionName();
+
+    abstract String serviceName();
+
+    /** Leaves out the secret key. */
+    @Override
+    public final String toString() {
+      return String.join("/", dateStamp(), regionName(), serviceName());
+    }
+  }
+
   public static Builder builder() {
     return new AutoValue_SignedS3UploadRequest.Builder()
         .setAlgorithm("AWS4-HMAC-SHA256")
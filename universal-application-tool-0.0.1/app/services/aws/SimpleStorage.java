@@ -4,6 +4,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.typesafe.config.Config;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -28,10 +32,22 @@ public class SimpleStorage {
   public static final String AWS_S3_BUCKET_CONF_PATH = "aws.s3.bucket";
   public static final Duration AWS_PRESIGNED_URL_DURATION = Duration.ofMinutes(10);
 
+  /**
+   * How long a presigned URL is reused for the same key. Shorter than {@link
+   * #AWS_PRESIGNED_URL_DURATION} so that a reused URL is still valid for at least five minutes.
+   *
+   * <p>A URL is only valid while the credentials that signed it are, so URLs signed with temporary
+   * session credentials, which may expire sooner, are not reused.
+   */
+  private static final Duration PRESIGNED_URL_CACHE_DURATION = Duration.ofMinutes(5);
+
+  private static final int PRESIGNED_URL_CACHE_SIZE = 10_000;
+
   private final Region region;
   private final Credentials credentials;
   private final String bucket;
   private final Client client;
+  private final Cache<String, URL> presignedUrls;
 
   @Inject
   public SimpleStorage(
@@ -52,6 +68,8 @@ public class SimpleStorage {
       client = new AwsClient();
     }
 
+    presignedUrls = newPresignedUrlCache(Ticker.systemTicker());
+
     appLifecycle.addStopHook(
         () -> {
           client.close();
@@ -59,7 +77,36 @@ public class SimpleStorage {
         });
   }
 
+  @VisibleForTesting
+  SimpleStorage(
+      Region region, Credentials credentials, String bucket, Client client, Ticker ticker) {
+    this.region = checkNotNull(region);
+    this.credentials = checkNotNull(credentials);
+    this.bucket = checkNotNull(bucket);
+    this.client = checkNotNull(client);
+    this.presignedUrls = newPresignedUrlCache(ticker);
+  }
+
+  private static Cache<String, URL> newPresignedUrlCache(Ticker ticker) {
+    return CacheBuilder.newBuilder()
+        .expireAfterWrite(PRESIGNED_URL_CACHE_DURATION)
+        .maximumSize(PRESIGNED_URL_CACHE_SIZE)
+        .ticker(ticker)
+        .build();
+  }
+
+  /**
+   * Returns a URL to download the file with the given key. Admins reviewing applications request
+   * the same files repeatedly, so recently presigned URLs are reused.
+   */
   public URL getPresignedUrl(String key) {
+    if (credentials.getCredentials() instanceof AwsSessionCredentials) {
+      return presignGetUrl(key);
+    }
+    return presignedUrls.asMap().computeIfAbsent(key, this::presignGetUrl);
+  }
+
+  private URL presignGetUrl(String key) {
     GetObjectRequest getObjectRequest = GetObjectRequest.builder().key(key).bucket(bucket).build();
 
     GetObjectPresignRequest getObjectPresignRequest =
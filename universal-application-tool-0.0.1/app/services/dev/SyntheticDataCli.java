@@ -0,0 +1,68 @@
+package services.dev;
+
+import play.Application;
+import play.Mode;
+import play.inject.guice.GuiceApplicationBuilder;
+
+/**
+ * Command line entry point for {@link SyntheticDataGenerator}, for volumes too large to generate
+ * within a request. Run it from the sbt shell against the database in {@code application.conf},
+ * passing any {@link SyntheticDataConfig} volumes as {@code name=value} arguments:
+ *
+ * <pre>
+ *   runMain services.dev.SyntheticDataCli applicantCount=200000 batchSize=2000
+ * </pre>
+ */
+public final class SyntheticDataCli {
+
+  private SyntheticDataCli() {}
+
+  public static void main(String[] args) {
+    SyntheticDataConfig config = parseArgs(args);
+    Application app = new GuiceApplicationBuilder().in(Mode.DEV).build();
+    try {
+      SyntheticDataSummary summary =
+          app.injector().instanceOf(SyntheticDataGenerator.class).generate(config);
+      System.out.println(summary);
+    } finally {
+      play.api.Play.stop(app.asScala());
+    }
+  }
+
+  static SyntheticDataConfig parseArgs(String[] args) {
+    SyntheticDataConfig.Builder builder = SyntheticDataConfig.builder();
+    for (String arg : args) {
+      String[] parts = arg.split("=", 2);
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Expected name=value but got: " + arg);
+      }
+      String value = parts[1].trim();
+      switch (parts[0].trim()) {
+        case "questionsPerType":
+          builder.setQuestionsPerType(Integer.parseInt(value));
+          break;
+        case "programCount":
+          builder.setProgramCount(Integer.parseInt(value));
+          break;
+        case "applicantCount":
+          builder.setApplicantCount(Integer.parseInt(value));
+          break;
+        case "maxApplicationsPerApplicant":
+          builder.setMaxApplicationsPerApplicant(Integer.parseInt(value));
+          break;
+        case "maxHouseholdMembers":
+          builder.setMaxHouseholdMembers(Integer.parseInt(value));
+          break;
+        case "batchSize":
+          builder.setBatchSize(Integer.parseInt(value));
+          break;
+        case "randomSeed":
+          builder.setRandomSeed(Long.parseLong(value));
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown synthetic data setting: " + parts[0]);
+      }
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,86 @@
+package services.dev;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * Volumes for {@link SyntheticDataGenerator}. The defaults produce a data set that loads in a few
+ * seconds; load and capacity testing should raise {@link #applicantCount()} into the hundreds of
+ * thousands.
+ */
+@AutoValue
+public abstract class SyntheticDataConfig {
+
+  public static Builder builder() {
+    return new AutoValue_SyntheticDataConfig.Builder()
+        .setQuestionsPerType(2)
+        .setProgramCount(5)
+        .setApplicantCount(1000)
+        .setMaxApplicationsPerApplicant(3)
+        .setMaxHouseholdMembers(4)
+        .setBatchSize(1000)
+        .setRandomSeed(0L);
+  }
+
+  /** Number of questions created for every {@link services.question.types.QuestionType}. */
+  public abstract int questionsPerType();
+
+  /**
+   * Number of programs created. Each program has a block per question type, an enumerator block
+   * with a repeated block, and a block gated by a visibility predicate.
+   */
+  public abstract int programCount();
+
+  /** Number of applicants created, each with their own account. */
+  public abstract int applicantCount();
+
+  /**
+   * Upper bound on the number of programs each applicant applies to. Each application is a draft,
+   * or an active submission that may have an obsolete submission before it.
+   */
+  public abstract int maxApplicationsPerApplicant();
+
+  /** Upper bound on the number of household members each applicant enumerates. */
+  public abstract int maxHouseholdMembers();
+
+  /** Number of applicants inserted per JDBC batch and transaction. */
+  public abstract int batchSize();
+
+  /** Seed for the answers and application stages, so runs with the same volumes are comparable. */
+  public abstract long randomSeed();
+
+  public abstract Builder toBuilder();
+
+  @AutoValue.Builder
+  public abstract static class Builder {
+    public abstract Builder setQuestionsPerType(int questionsPerType);
+
+    public abstract Builder setProgramCount(int programCount);
+
+    public abstract Builder setApplicantCount(int applicantCount);
+
+    public abstract Builder setMaxApplicationsPerApplicant(int maxApplicationsPerApplicant);
+
+    public abstract Builder setMaxHouseholdMembers(int maxHouseholdMembers);
+
+    public abstract Builder setBatchSize(int batchSize);
+
+    public abstract Builder setRandomSeed(long randomSeed);
+
+    abstract SyntheticDataConfig autoBuild();
+
+    public SyntheticDataConfig build() {
+      SyntheticDataConfig config = autoBuild();
+      checkArgument(config.questionsPerType() > 0, "questionsPerType must be positive");
+      checkArgument(config.programCount() > 0, "programCount must be positive");
+      checkArgument(config.applicantCount() >= 0, "applicantCount must not be negative");
+      checkArgument(
+          config.maxApplicationsPerApplicant() >= 0,
+          "maxApplicationsPerApplicant must not be negative");
+      checkArgument(config.maxHouseholdMembers() >= 0, "maxHouseholdMembers must not be negative");
+      checkArgument(config.batchSize() > 0, "batchSize must be positive");
+      return config;
+    }
+  }
+}
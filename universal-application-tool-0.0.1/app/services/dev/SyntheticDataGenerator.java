@@ -0,0 +1,594 @@
+package services.dev;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import forms.BlockForm;
+import io.ebean.Ebean;
+import io.ebean.EbeanServer;
+import io.ebean.Transaction;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.IntStream;
+import javax.inject.Inject;
+import models.LifecycleStage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import play.db.ebean.EbeanConfig;
+import repository.VersionRepository;
+import services.CiviFormError;
+import services.ErrorAnd;
+import services.LocalizedStrings;
+import services.Path;
+import services.applicant.ApplicantData;
+import services.applicant.RepeatedEntity;
+import services.applicant.question.Scalar;
+import services.program.BlockDefinition;
+import services.program.ProgramDefinition;
+import services.program.ProgramQuestionDefinition;
+import services.program.ProgramService;
+import services.program.predicate.LeafOperationExpressionNode;
+import services.program.predicate.Operator;
+import services.program.predicate.PredicateAction;
+import services.program.predicate.PredicateDefinition;
+import services.program.predicate.PredicateExpressionNode;
+import services.program.predicate.PredicateValue;
+import services.question.QuestionOption;
+import services.question.QuestionService;
+import services.question.exceptions.UnsupportedQuestionTypeException;
+import services.question.types.EnumeratorQuestionDefinition;
+import services.question.types.MultiOptionQuestionDefinition;
+import services.question.types.QuestionDefinition;
+import services.question.types.QuestionDefinitionBuilder;
+import services.question.types.QuestionType;
+
+/**
+ * Generates large, realistic data sets for local load and capacity testing. For development use
+ * only: it is exposed through {@link controllers.dev.DatabaseSeedController}, {@link
+ * SyntheticDataCli}, and test fixtures, never through production routes.
+ *
+ * <p>Questions and programs are created through {@link QuestionService} and {@link
+ * ProgramService} so they are versioned like admin-authored content, and are then published.
+ * Accounts, applicants and applications are the bulk of the data, so they are written with batched
+ * JDBC inserts, {@link SyntheticDataConfig#batchSize()} applicants per transaction. Row IDs are
+ * reserved from the tables' sequences up front so that each batch needs a constant number of round
+ * trips.
+ */
+public final class SyntheticDataGenerator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+  private static final ImmutableList<QuestionOption> OPTIONS =
+      ImmutableList.of(
+          QuestionOption.create(1L, LocalizedStrings.of(Locale.US, "first option")),
+          QuestionOption.create(2L, LocalizedStrings.of(Locale.US, "second option")),
+          QuestionOption.create(3L, LocalizedStrings.of(Locale.US, "third option")),
+          QuestionOption.create(4L, LocalizedStrings.of(Locale.US, "fourth option")));
+  private static final ImmutableList<String> FIRST_NAMES =
+      ImmutableList.of("Alex", "Jordan", "Kim", "Maria", "Nguyen", "Sam", "Taylor", "Yusuf");
+  private static final ImmutableList<String> LAST_NAMES =
+      ImmutableList.of("Ahmed", "Garcia", "Lee", "Martin", "Okafor", "Smith", "Tran", "Walker");
+  private static final ImmutableList<Locale> LOCALES =
+      ImmutableList.of(
+          Locale.US, Locale.US, Locale.US, Locale.forLanguageTag("es-US"), Locale.KOREAN);
+
+  private static final String INSERT_ACCOUNT =
+      "insert into accounts (id, email_address) values (?, ?)";
+  private static final String INSERT_APPLICANT =
+      "insert into applicants (id, account_id, preferred_locale, object, when_created)"
+          + " values (?, ?, ?, cast(? as jsonb), ?)";
+  private static final String INSERT_APPLICATION =
+      "insert into applications (id, applicant_id, program_id, lifecycle_stage, preferred_locale,"
+          + " object, create_time, submit_time) values (?, ?, ?, ?, ?, cast(? as jsonb), ?, ?)";
+  private static final String RESERVE_IDS =
+      "select nextval(cast(? as regclass)) from generate_series(1, ?)";
+
+  private final EbeanServer ebeanServer;
+  private final QuestionService questionService;
+  private final ProgramService programService;
+  private final VersionRepository versionRepository;
+  private final Clock clock;
+
+  @Inject
+  public SyntheticDataGenerator(
+      EbeanConfig ebeanConfig,
+      QuestionService questionService,
+      ProgramService programService,
+      VersionRepository versionRepository,
+      Clock clock) {
+    this.ebeanServer = Ebean.getServer(checkNotNull(ebeanConfig).defaultServer());
+    this.questionService = checkNotNull(questionService);
+    this.programService = checkNotNull(programService);
+    this.versionRepository = checkNotNull(versionRepository);
+    this.clock = checkNotNull(clock);
+  }
+
+  /**
+   * Creates and publishes questions and programs, then creates applicants with applications to
+   * those programs, according to the volumes in {@code config}.
+   */
+  public SyntheticDataSummary generate(SyntheticDataConfig config) {
+    Instant start = clock.instant();
+    String runTag = Long.toString(start.toEpochMilli(), Character.MAX_RADIX);
+    Random random = new Random(config.randomSeed());
+
+    ImmutableListMultimap<QuestionType, QuestionDefinition> questions =
+        insertQuestions(runTag, config.questionsPerType());
+    ImmutableMap<Long, QuestionDefinition> repeatedQuestionsByEnumeratorId =
+        insertRepeatedQuestions(runTag, questions.get(QuestionType.ENUMERATOR));
+    LOG.info("Run {} created {} questions", runTag, questions.size());
+
+    ImmutableList<ProgramDefinition> programs =
+        IntStream.range(0, config.programCount())
+            .mapToObj(
+                index ->
+                    insertProgram(
+                        String.format("synthetic %s program %d", runTag, index),
+                        questionsForProgram(questions, index),
+                        repeatedQuestionsByEnumeratorId))
+            .collect(toImmutableList());
+    versionRepository.publishNewSynchronizedVersion();
+    LOG.info("Run {} created and published {} programs", runTag, programs.size());
+
+    long applicationCount = 0;
+    for (int offset = 0; offset < config.applicantCount(); offset += config.batchSize()) {
+      int batchSize = Math.min(config.batchSize(), config.applicantCount() - offset);
+      applicationCount +=
+          insertApplicantBatch(
+              runTag,
+              offset,
+              batchSize,
+              programs,
+              repeatedQuestionsByEnumeratorId,
+              config,
+              random);
+      LOG.info(
+          "Run {} inserted {} of {} applicants",
+          runTag,
+          offset + batchSize,
+          config.applicantCount());
+    }
+
+    return SyntheticDataSummary.create(
+        runTag,
+        questions.size() + repeatedQuestionsByEnumeratorId.size(),
+        programs.size(),
+        config.applicantCount(),
+        applicationCount,
+        Duration.between(start, clock.instant()));
+  }
+
+  private ImmutableListMultimap<QuestionType, QuestionDefinition> insertQuestions(
+      String runTag, int questionsPerType) {
+    ImmutableListMultimap.Builder<QuestionType, QuestionDefinition> questions =
+        ImmutableListMultimap.builder();
+    for (QuestionType questionType : QuestionType.values()) {
+      for (int i = 0; i < questionsPerType; i++) {
+        String name =
+            String.format(
+                "synthetic %s %s %d", runTag, questionType.name().toLowerCase(Locale.ROOT), i);
+        QuestionDefinitionBuilder builder =
+            new QuestionDefinitionBuilder()
+                .setName(name)
+                .setDescription("Synthetic question for load testing")
+                .setQuestionType(questionType)
+                .setQuestionText(LocalizedStrings.of(Locale.US, "Synthetic question " + name))
+                .setQuestionHelpText(LocalizedStrings.of(Locale.US, "Synthetic help text"));
+        if (questionType.isMultiOptionType()) {
+          builder.setQuestionOptions(OPTIONS);
+        }
+        if (questionType.equals(QuestionType.ENUMERATOR)) {
+          builder.setEntityType(LocalizedStrings.of(Locale.US, "household member"));
+        }
+        questions.put(questionType, create(builder));
+      }
+    }
+    return questions.build();
+  }
+
+  /** Creates a repeated text question for each enumerator, keyed by the enumerator's ID. */
+  private ImmutableMap<Long, QuestionDefinition> insertRepeatedQuestions(
+      String runTag, ImmutableList<QuestionDefinition> enumerators) {
+    ImmutableMap.Builder<Long, QuestionDefinition> repeatedQuestions = ImmutableMap.builder();
+    for (QuestionDefinition enumerator : enumerators) {
+      QuestionDefinitionBuilder builder =
+          new QuestionDefinitionBuilder()
+              .setName(String.format("synthetic %s repeated %d", runTag, enumerator.getId()))
+              .setEnumeratorId(Optional.of(enumerator.getId()))
+              .setDescription("Synthetic repeated question for load testing")
+              .setQuestionType(QuestionType.TEXT)
+              .setQuestionText(LocalizedStrings.of(Locale.US, "What is $this's occupation?"))
+              .setQuestionHelpText(LocalizedStrings.of(Locale.US, "Describe what $this does."));
+      repeatedQuestions.put(enumerator.getId(), create(builder));
+    }
+    return repeatedQuestions.build();
+  }
+
+  private QuestionDefinition create(QuestionDefinitionBuilder builder) {
+    try {
+      ErrorAnd<QuestionDefinition, CiviFormError> result = questionService.create(builder.build());
+      if (result.isError()) {
+        throw new IllegalStateException("Could not create question: " + result.getErrors());
+      }
+      return result.getResult();
+    } catch (UnsupportedQuestionTypeException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /** Picks one question of every type for the program with the given index. */
+  private static ImmutableMap<QuestionType, QuestionDefinition> questionsForProgram(
+      ImmutableListMultimap<QuestionType, QuestionDefinition> questions, int programIndex) {
+    ImmutableMap.Builder<QuestionType, QuestionDefinition> programQuestions =
+        ImmutableMap.builder();
+    for (QuestionType questionType : questions.keySet()) {
+      ImmutableList<QuestionDefinition> ofType = questions.get(questionType);
+      programQuestions.put(questionType, ofType.get(programIndex % ofType.size()));
+    }
+    return programQuestions.build();
+  }
+
+  /**
+   * Creates a program with a block per question type. The enumerator block is followed by a
+   * repeated block, and the last block is only shown for some answers to the radio button question.
+   */
+  private ProgramDefinition insertProgram(
+      String name,
+      ImmutableMap<QuestionType, QuestionDefinition> questions,
+      ImmutableMap<Long, QuestionDefinition> repeatedQuestionsByEnumeratorId) {
+    try {
+      ProgramDefinition program =
+          programService
+              .createProgramDefinition(
+                  name, "Synthetic program for load testing", name, "Synthetic program", "")
+              .getResult();
+      long programId = program.id();
+      boolean firstBlock = true;
+      for (QuestionDefinition question : questions.values()) {
+        long blockId =
+            firstBlock
+                ? program.getLastBlockDefinition().id()
+                : programService
+                    .addBlockToProgram(programId)
+                    .getResult()
+                    .getLastBlockDefinition()
+                    .id();
+        firstBlock = false;
+        BlockForm blockForm = new BlockForm();
+        blockForm.setName(question.getQuestionType().name());
+        blockForm.setDescription(question.getName());
+        programService.updateBlock(programId, blockId, blockForm);
+        program =
+            programService.setBlockQuestions(
+                programId, blockId, ImmutableList.of(ProgramQuestionDefinition.create(question)));
+
+        if (question.isEnumerator()) {
+          program = programService.addRepeatedBlockToProgram(programId, blockId).getResult();
+          BlockDefinition repeatedBlock =
+              program.getBlockDefinitionsForEnumerator(blockId).reverse().get(0);
+          programService.setBlockQuestions(
+              programId,
+              repeatedBlock.id(),
+              ImmutableList.of(
+                  ProgramQuestionDefinition.create(
+                      repeatedQuestionsByEnumeratorId.get(question.getId()))));
+        }
+      }
+
+      long gatedBlockId =
+          programService.addBlockToProgram(programId).getResult().getLastBlockDefinition().id();
+      QuestionDefinition gatedQuestion = questions.get(QuestionType.TEXT);
+      BlockForm blockForm = new BlockForm();
+      blockForm.setName("Predicate gated");
+      blockForm.setDescription("Shown for some radio button answers");
+      programService.updateBlock(programId, gatedBlockId, blockForm);
+      programService.setBlockQuestions(
+          programId,
+          gatedBlockId,
+          ImmutableList.of(ProgramQuestionDefinition.create(gatedQuestion)));
+      return programService.setBlockPredicate(
+          programId,
+          gatedBlockId,
+          PredicateDefinition.create(
+              PredicateExpressionNode.create(
+                  LeafOperationExpressionNode.create(
+                      questions.get(QuestionType.RADIO_BUTTON).getId(),
+                      Scalar.SELECTION,
+                      Operator.IN,
+                      PredicateValue.of(ImmutableList.of("2", "3")))),
+              PredicateAction.SHOW_BLOCK));
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Inserts {@code batchSize} accounts and applicants, and their applications, in one transaction.
+   *
+   * @return the number of applications inserted
+   */
+  private int insertApplicantBatch(
+      String runTag,
+      int offset,
+      int batchSize,
+      ImmutableList<ProgramDefinition> programs,
+      ImmutableMap<Long, QuestionDefinition> repeatedQuestionsByEnumeratorId,
+      SyntheticDataConfig config,
+      Random random) {
+    Transaction transaction = ebeanServer.beginTransaction();
+    try {
+      Connection connection = transaction.getConnection();
+      ImmutableList<Long> accountIds = reserveIds(connection, "accounts_id_seq", batchSize);
+      ImmutableList<Long> applicantIds = reserveIds(connection, "applicants_id_seq", batchSize);
+      List<SyntheticApplication> applications = new ArrayList<>();
+
+      try (PreparedStatement insertAccount = connection.prepareStatement(INSERT_ACCOUNT);
+          PreparedStatement insertApplicant = connection.prepareStatement(INSERT_APPLICANT)) {
+        for (int i = 0; i < batchSize; i++) {
+          long accountId = accountIds.get(i);
+          long applicantId = applicantIds.get(i);
+          insertAccount.setLong(1, accountId);
+          insertAccount.setString(
+              2, String.format("synthetic-%s-%d@example.com", runTag, offset + i));
+          insertAccount.addBatch();
+
+          Locale locale = LOCALES.get(random.nextInt(LOCALES.size()));
+          ApplicantData applicantData = new ApplicantData();
+          applicantData.setPreferredLocale(locale);
+          Instant created = randomInstantInPastYear(random);
+          List<ProgramDefinition> appliedTo = new ArrayList<>(programs);
+          Collections.shuffle(appliedTo, random);
+          appliedTo =
+              appliedTo.subList(
+                  0,
+                  Math.min(
+                      appliedTo.size(), random.nextInt(config.maxApplicationsPerApplicant() + 1)));
+          List<SyntheticApplication> applicantApplications = new ArrayList<>();
+          for (ProgramDefinition program : appliedTo) {
+            answerProgram(
+                applicantData, program, repeatedQuestionsByEnumeratorId, config, random, created);
+            applicantApplications.addAll(
+                applicationsFor(applicantId, program.id(), locale, created, random));
+          }
+          String applicantJson = applicantData.asJsonString();
+          for (SyntheticApplication application : applicantApplications) {
+            application.object = applicantJson;
+          }
+          applications.addAll(applicantApplications);
+
+          insertApplicant.setLong(1, applicantId);
+          insertApplicant.setLong(2, accountId);
+          insertApplicant.setString(3, locale.toLanguageTag());
+          insertApplicant.setString(4, applicantJson);
+          insertApplicant.setTimestamp(5, Timestamp.from(created));
+          insertApplicant.addBatch();
+        }
+        insertAccount.executeBatch();
+        insertApplicant.executeBatch();
+      }
+
+      ImmutableList<Long> applicationIds =
+          reserveIds(connection, "applications_id_seq", applications.size());
+      try (PreparedStatement insertApplication = connection.prepareStatement(INSERT_APPLICATION)) {
+        for (int i = 0; i < applications.size(); i++) {
+          SyntheticApplication application = applications.get(i);
+          insertApplication.setLong(1, applicationIds.get(i));
+          insertApplication.setLong(2, application.applicantId);
+          insertApplication.setLong(3, application.programId);
+          insertApplication.setString(4, application.lifecycleStage.getValue());
+          insertApplication.setString(5, application.locale.toLanguageTag());
+          insertApplication.setString(6, application.object);
+          insertApplication.setTimestamp(7, Timestamp.from(application.createTime));
+          insertApplication.setTimestamp(8, Timestamp.from(application.submitTime));
+          insertApplication.addBatch();
+        }
+        insertApplication.executeBatch();
+      }
+
+      transaction.commit();
+      return applications.size();
+    } catch (SQLException e) {
+      throw new RuntimeException(e);
+    } finally {
+      transaction.end();
+    }
+  }
+
+  private static ImmutableList<Long> reserveIds(Connection connection, String sequence, int count)
+      throws SQLException {
+    if (count == 0) {
+      return ImmutableList.of();
+    }
+    ImmutableList.Builder<Long> ids = ImmutableList.builder();
+    try (PreparedStatement statement = connection.prepareStatement(RESERVE_IDS)) {
+      statement.setString(1, sequence);
+      statement.setInt(2, count);
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while (resultSet.next()) {
+          ids.add(resultSet.getLong(1));
+        }
+      }
+    }
+    return ids.build();
+  }
+
+  /**
+   * An applicant's applications to one program: a draft, or an active submission, sometimes with
+   * an obsolete submission before it.
+   */
+  private ImmutableList<SyntheticApplication> applicationsFor(
+      long applicantId, long programId, Locale locale, Instant created, Random random) {
+    Instant submitted = created.plus(Duration.ofMinutes(5 + random.nextInt(60 * 24 * 30)));
+    int roll = random.nextInt(10);
+    if (roll < 2) {
+      return ImmutableList.of(
+          new SyntheticApplication(
+              applicantId, programId, LifecycleStage.DRAFT, locale, created, submitted));
+    }
+    SyntheticApplication active =
+        new SyntheticApplication(
+            applicantId, programId, LifecycleStage.ACTIVE, locale, submitted, submitted);
+    if (roll < 5) {
+      return ImmutableList.of(active);
+    }
+    return ImmutableList.of(
+        new SyntheticApplication(
+            applicantId, programId, LifecycleStage.OBSOLETE, locale, created, created),
+        active);
+  }
+
+  /** Answers every question in the program, including repeated questions for each entity. */
+  private void answerProgram(
+      ApplicantData applicantData,
+      ProgramDefinition program,
+      ImmutableMap<Long, QuestionDefinition> repeatedQuestionsByEnumeratorId,
+      SyntheticDataConfig config,
+      Random random,
+      Instant answered) {
+    for (BlockDefinition block : program.blockDefinitions()) {
+      if (block.isRepeated()) {
+        continue;
+      }
+      for (ProgramQuestionDefinition programQuestion : block.programQuestionDefinitions()) {
+        QuestionDefinition question = programQuestion.getQuestionDefinition();
+        Path path = question.getContextualizedPath(Optional.empty(), ApplicantData.APPLICANT_PATH);
+        if (!question.isEnumerator()) {
+          answer(applicantData, question, path, random);
+          addMetadata(applicantData, path, program.id(), answered);
+          continue;
+        }
+
+        int memberCount = random.nextInt(config.maxHouseholdMembers() + 1);
+        applicantData.putRepeatedEntities(
+            path,
+            IntStream.range(0, memberCount)
+                .mapToObj(i -> FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size())))
+                .collect(toImmutableList()));
+        QuestionDefinition repeatedQuestion = repeatedQuestionsByEnumeratorId.get(question.getId());
+        for (RepeatedEntity entity :
+            RepeatedEntity.createRepeatedEntities(
+                (EnumeratorQuestionDefinition) question, applicantData)) {
+          addMetadata(applicantData, path.atIndex(entity.index()), program.id(), answered);
+          Path repeatedPath =
+              repeatedQuestion.getContextualizedPath(
+                  Optional.of(entity), ApplicantData.APPLICANT_PATH);
+          answer(applicantData, repeatedQuestion, repeatedPath, random);
+          addMetadata(applicantData, repeatedPath, program.id(), answered);
+        }
+      }
+    }
+  }
+
+  private static void answer(
+      ApplicantData applicantData, QuestionDefinition question, Path path, Random random) {
+    switch (question.getQuestionType()) {
+      case ADDRESS:
+        applicantData.putString(
+            path.join(Scalar.STREET), (100 + random.nextInt(9000)) + " Main St");
+        applicantData.putString(path.join(Scalar.LINE2), "Apt " + random.nextInt(500));
+        applicantData.putString(path.join(Scalar.CITY), "Seattle");
+        applicantData.putString(path.join(Scalar.STATE), "WA");
+        applicantData.putString(path.join(Scalar.ZIP), "98" + (100 + random.nextInt(100)));
+        break;
+      case CHECKBOX:
+        ImmutableList<QuestionOption> options =
+            ((MultiOptionQuestionDefinition) question).getOptions();
+        Path selections = path.join(Scalar.SELECTION + Path.ARRAY_SUFFIX);
+        applicantData.maybeClearArray(selections.atIndex(0));
+        int selectionCount = 1 + random.nextInt(options.size());
+        for (int i = 0; i < selectionCount; i++) {
+          applicantData.putLong(selections.atIndex(i), options.get(i).id());
+        }
+        break;
+      case DATE:
+        applicantData.putDate(
+            path.join(Scalar.DATE),
+            LocalDate.of(1940, 1, 1).plusDays(random.nextInt(365 * 80)).toString());
+        break;
+      case DROPDOWN:
+      case RADIO_BUTTON:
+        ImmutableList<QuestionOption> choices =
+            ((MultiOptionQuestionDefinition) question).getOptions();
+        applicantData.putLong(
+            path.join(Scalar.SELECTION), choices.get(random.nextInt(choices.size())).id());
+        break;
+      case EMAIL:
+        applicantData.putString(
+            path.join(Scalar.EMAIL), String.format("applicant%d@example.com", random.nextInt()));
+        break;
+      case FILEUPLOAD:
+        applicantData.putString(
+            path.join(Scalar.FILE_KEY), String.format("synthetic/%d.pdf", random.nextInt()));
+        break;
+      case NAME:
+        applicantData.putString(
+            path.join(Scalar.FIRST_NAME), FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size())));
+        applicantData.putString(path.join(Scalar.MIDDLE_NAME), "");
+        applicantData.putString(
+            path.join(Scalar.LAST_NAME), LAST_NAMES.get(random.nextInt(LAST_NAMES.size())));
+        break;
+      case NUMBER:
+        applicantData.putLong(path.join(Scalar.NUMBER), random.nextInt(100000));
+        break;
+      case TEXT:
+        applicantData.putString(
+            path.join(Scalar.TEXT), "synthetic answer " + Integer.toHexString(random.nextInt()));
+        break;
+      default:
+        throw new IllegalArgumentException(
+            "Cannot answer question type " + question.getQuestionType());
+    }
+  }
+
+  private static void addMetadata(
+      ApplicantData applicantData, Path path, long programId, Instant answered) {
+    applicantData.putLong(path.join(Scalar.PROGRAM_UPDATED_IN), programId);
+    applicantData.putLong(path.join(Scalar.UPDATED_AT), answered.toEpochMilli());
+  }
+
+  private Instant randomInstantInPastYear(Random random) {
+    return clock.instant().minus(Duration.ofMinutes(random.nextInt(60 * 24 * 365)));
+  }
+
+  /** An application row waiting to be inserted. */
+  private static final class SyntheticApplication {
+    private final long applicantId;
+    private final long programId;
+    private final LifecycleStage lifecycleStage;
+    private final Locale locale;
+    private final Instant createTime;
+    private final Instant submitTime;
+    private String object = "";
+
+    private SyntheticApplication(
+        long applicantId,
+        long programId,
+        LifecycleStage lifecycleStage,
+        Locale locale,
+        Instant createTime,
+        Instant submitTime) {
+      this.applicantId = applicantId;
+      this.programId = programId;
+      this.lifecycleStage = lifecycleStage;
+      this.locale = locale;
+      this.createTime = createTime;
+      this.submitTime = submitTime;
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package services.dev;
+
+import com.google.auto.value.AutoValue;
+import java.time.Duration;
+
+/** The number of rows {@link SyntheticDataGenerator} created in a single run. */
+@AutoValue
+public abstract class SyntheticDataSummary {
+
+  public static SyntheticDataSummary create(
+      String runTag,
+      long questionCount,
+      long programCount,
+      long applicantCount,
+      long applicationCount,
+      Duration elapsed) {
+    return new AutoValue_SyntheticDataSummary(
+        runTag, questionCount, programCount, applicantCount, applicationCount, elapsed);
+  }
+
+  /** Tag included in the names of every question and program created by the run. */
+  public abstract String runTag();
+
+  public abstract long questionCount();
+
+  public abstract long programCount();
+
+  /** Number of applicants, which is also the number of accounts created. */
+  public abstract long applicantCount();
+
+  public abstract long applicationCount();
+
+  public abstract Duration elapsed();
+
+  @Override
+  public String toString() {
+    return String.format(
+        "Run %s created %d questions, %d programs, %d applicants and %d applications in %ds",
+        runTag(),
+        questionCount(),
+        programCount(),
+        applicantCount(),
+        applicationCount(),
+        elapsed().toSeconds());
+  }
+}
@@ -0,0 +1,176 @@
+package services.export;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import akka.NotUsed;
+import akka.japi.Pair;
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.typesafe.config.Config;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Inject;
+import models.Application;
+import models.Program;
+import repository.ApplicationRepository;
+import repository.ProgramRepository;
+import services.applicant.ApplicantData;
+import services.program.ProgramNotFoundException;
+
+/**
+ * Streams the applications submitted or changed since a {@link FeedCursor} as newline-delimited
+ * JSON, so that downstream systems can sync incrementally instead of re-downloading every
+ * application.
+ *
+ * <p>Each line is one application, and carries the cursor to resume from after it. Applications
+ * are read a page at a time with a keyset query on (submit time, ID), on the export worker pool.
+ *
+ * <p>Submit times are set when an application is saved, before the transaction commits, so an
+ * application can become visible after others with later submit times have been read. The feed
+ * only returns applications that changed more than {@code export.feed_lag} ago, which must be
+ * longer than any such transaction plus any replica lag, so that a cursor never passes an
+ * application that hasn't been committed yet.
+ *
+ * <p>The feed doesn't read {@code applications_archive}. Once {@code application_archive.enabled}
+ * is set, obsolete applications are archived after {@code application_archive.min_age}, so a
+ * consumer that hasn't read past them by then will never see them with the OBSOLETE status.
+ * Consumers that need to know when an application is replaced should look for a later application
+ * from the same applicant to the same program.
+ */
+public final class ApplicationFeedService {
+  public static final String CONTENT_TYPE = "application/x-ndjson";
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final ApplicationRepository applicationRepository;
+  private final ProgramRepository programRepository;
+  private final ExportExecutionContext exportExecutionContext;
+  private final Clock clock;
+  private final int pageSize;
+  private final Duration lag;
+
+  @Inject
+  public ApplicationFeedService(
+      ApplicationRepository applicationRepository,
+      ProgramRepository programRepository,
+      ExportExecutionContext exportExecutionContext,
+      Clock clock,
+      Config config) {
+    this.applicationRepository = checkNotNull(applicationRepository);
+    this.programRepository = checkNotNull(programRepository);
+    this.exportExecutionContext = checkNotNull(exportExecutionContext);
+    this.clock = checkNotNull(clock);
+    this.pageSize = checkNotNull(config).getInt("export.feed_page_size");
+    this.lag = config.getDuration("export.feed_lag");
+  }
+
+  /** Stream the applications to every program that changed after the cursor. */
+  public Source<ByteString, NotUsed> streamChanges(FeedCursor after) {
+    return stream(Optional.empty(), after, new ConcurrentHashMap<>());
+  }
+
+  /**
+   * Stream the applications to any version of a program that changed after the cursor.
+   *
+   * @throws ProgramNotFoundException If the program ID refers to a program that does not exist.
+   */
+  public Source<ByteString, NotUsed> streamProgramChanges(long programId, FeedCursor after)
+      throws ProgramNotFoundException {
+    Program program =
+        programRepository
+            .lookupProgram(programId, exportExecutionContext.current())
+            .toCompletableFuture()
+            .join()
+            .orElseThrow(() -> new ProgramNotFoundException(programId));
+    // Every version of a program has the same name, so it is known before the stream starts.
+    String programName = program.getProgramDefinition().adminName();
+    Map<Long, String> programNames = new ConcurrentHashMap<>();
+    programNames.put(programId, programName);
+    for (Program version : programRepository.getOtherProgramVersions(programId)) {
+      programNames.put(version.id, programName);
+    }
+    return stream(Optional.of(ImmutableSet.copyOf(programNames.keySet())), after, programNames);
+  }
+
+  /**
+   * Streams the changes to the given programs, or to every program if empty. The names of programs
+   * not in {@code programNames} are looked up the first time one of their applications is read.
+   */
+  private Source<ByteString, NotUsed> stream(
+      Optional<ImmutableSet<Long>> programIds, FeedCursor after, Map<Long, String> programNames) {
+    Instant changedBefore = clock.instant().minus(lag);
+    return Source.unfoldAsync(
+            after,
+            cursor ->
+                CompletableFuture.supplyAsync(
+                    () -> nextPage(programIds, cursor, changedBefore, programNames),
+                    exportExecutionContext.current()))
+        .mapConcat(lines -> lines);
+  }
+
+  private Optional<Pair<FeedCursor, ImmutableList<ByteString>>> nextPage(
+      Optional<ImmutableSet<Long>> programIds,
+      FeedCursor cursor,
+      Instant changedBefore,
+      Map<Long, String> programNames) {
+    ImmutableList<Application> page =
+        applicationRepository.getApplicationsChangedAfter(
+            programIds, cursor.submitTime(), cursor.applicationId(), changedBefore, pageSize);
+    if (page.isEmpty()) {
+      return Optional.empty();
+    }
+    ImmutableList<ByteString> lines =
+        page.stream()
+            .map(application -> renderLine(application, programNames))
+            .collect(ImmutableList.toImmutableList());
+    return Optional.of(Pair.create(cursorAfter(Iterables.getLast(page)), lines));
+  }
+
+  private ByteString renderLine(Application application, Map<Long, String> programNames) {
+    long programId = application.getProgram().id;
+    ApplicantData applicantData = application.getApplicantData();
+    ObjectNode line = MAPPER.createObjectNode();
+    line.put("cursor", cursorAfter(application).encode());
+    line.put("id", application.id);
+    line.put("program_id", programId);
+    line.put("program_name", programNames.computeIfAbsent(programId, this::programName));
+    line.put("applicant_id", application.getApplicant().id);
+    line.put("status", application.getLifecycleStage().getValue());
+    line.put("submit_time", application.getSubmitTime().toString());
+    line.put("submitter_email", application.getSubmitterEmail().orElse(null));
+    line.put("language", applicantData.preferredLocale().toLanguageTag());
+    try {
+      line.set("answers", MAPPER.readTree(applicantData.asJsonString()));
+      return ByteString.fromString(MAPPER.writeValueAsString(line) + "\n");
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** Looks up a program's name on the calling export thread, rather than on another pool. */
+  private String programName(long programId) {
+    return programRepository
+        .lookupProgram(programId, MoreExecutors.directExecutor())
+        .toCompletableFuture()
+        .join()
+        .map(program -> program.getProgramDefinition().adminName())
+        .orElseThrow(() -> new RuntimeException(new ProgramNotFoundException(programId)));
+  }
+
+  private static FeedCursor cursorAfter(Application application) {
+    return FeedCursor.create(application.getSubmitTime(), application.id);
+  }
+}
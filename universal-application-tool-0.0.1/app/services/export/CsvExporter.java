@@ -3,9 +3,11 @@ package services.export;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.MoreExecutors;
 import java.io.IOException;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -26,6 +28,8 @@ public class CsvExporter {
   private ImmutableList<Column> columns;
   private Optional<String> secret;
   private Optional<ProgramRepository> programRepository;
+  /** The names of the programs looked up so far, so each is looked up once per export. */
+  private final Map<Long, String> programNames = new HashMap<>();
 
   public CsvExporter(List<Column> columns) {
     this.wroteHeaders = false;
@@ -113,17 +117,9 @@ public class CsvExporter {
           // anything
           // other than the id.  This is hard to debug since ebean doesn't write code, it writes
           // bytecode,
-          // directly.  This workaround costs 1 extremely cheap query per application - bad, but
-          // probably not problematic until the size of the database gets huge.
-          printer.print(
-              programRepository
-                  .get()
-                  .lookupProgram(program.id)
-                  .toCompletableFuture()
-                  .join()
-                  .get()
-                  .getProgramDefinition()
-                  .adminName());
+          // directly.  This workaround costs 1 extremely cheap query per program, run on the
+          // exporting thread so that exports don't queue on the applicant database dispatcher.
+          printer.print(programNames.computeIfAbsent(program.id, this::programName));
           break;
         case TI_ORGANIZATION:
           printer.print(
@@ -153,6 +149,17 @@ public class CsvExporter {
     printer.println();
   }
 
+  private String programName(long programId) {
+    return programRepository
+        .get()
+        .lookupProgram(programId, MoreExecutors.directExecutor())
+        .toCompletableFuture()
+        .join()
+        .get()
+        .getProgramDefinition()
+        .adminName();
+  }
+
   /**
    * Returns the answer retrieved by {@link ReadOnlyApplicantProgramService}. The value is derived
    * from the raw value in applicant data, such as translating enum number to human readable text in
@@ -0,0 +1,184 @@
+package services.export;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.typesafe.config.Config;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import models.ExportJob;
+import models.ExportJobKind;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import repository.ExportJobRepository;
+import services.program.ProgramDefinition;
+import services.program.ProgramNotFoundException;
+import services.program.ProgramService;
+
+/**
+ * Runs exports in the background so that large exports don't hold a request open until the whole
+ * file exists.
+ *
+ * <p>Submitting an export records an {@link ExportJob} and queues it on the export worker pool,
+ * which is separate from the threads that serve requests. The job's progress is saved as records
+ * are written, and the finished file is put in the {@link ExportResultStore} so it can be
+ * downloaded from any server, any time after the job succeeds.
+ *
+ * <p>A running job saves its progress at least every {@link #HEARTBEAT_INTERVAL}. Jobs that a
+ * server was running or had queued when it stopped are never finished, so when a server starts, it
+ * marks failed the jobs that haven't been updated for {@code export_jobs.abandoned_after}, which
+ * stops their pages refreshing.
+ */
+@Singleton
+public final class ExportJobService {
+  private static final Logger logger = LoggerFactory.getLogger(ExportJobService.class);
+
+  /** Progress is saved after this many records, rather than after every one. */
+  private static final int PROGRESS_INTERVAL = 100;
+
+  /** Progress is saved at least this often, so that running jobs aren't taken as abandoned. */
+  private static final Duration HEARTBEAT_INTERVAL = Duration.ofMinutes(1);
+
+  private final ExportJobRepository exportJobRepository;
+  private final ExporterService exporterService;
+  private final ExportResultStore resultStore;
+  private final ProgramService programService;
+  private final ExportExecutionContext exportExecutionContext;
+  private final Clock clock;
+  private final Duration abandonedAfter;
+
+  @Inject
+  public ExportJobService(
+      ExportJobRepository exportJobRepository,
+      ExporterService exporterService,
+      ExportResultStore resultStore,
+      ProgramService programService,
+      ExportExecutionContext exportExecutionContext,
+      Clock clock,
+      Config config) {
+    this.exportJobRepository = checkNotNull(exportJobRepository);
+    this.exporterService = checkNotNull(exporterService);
+    this.resultStore = checkNotNull(resultStore);
+    this.programService = checkNotNull(programService);
+    this.exportExecutionContext = checkNotNull(exportExecutionContext);
+    this.clock = checkNotNull(clock);
+    this.abandonedAfter = checkNotNull(config).getDuration("export_jobs.abandoned_after");
+    CompletableFuture.runAsync(this::failAbandonedJobsQuietly, exportExecutionContext);
+  }
+
+  private void failAbandonedJobsQuietly() {
+    try {
+      int failed = failAbandonedJobs();
+      if (failed > 0) {
+        logger.warn("Marked {} abandoned export jobs as failed.", failed);
+      }
+    } catch (RuntimeException e) {
+      logger.warn("Could not mark abandoned export jobs as failed.", e);
+    }
+  }
+
+  /** Marks failed the jobs that haven't been updated recently, returning how many there were. */
+  @VisibleForTesting
+  int failAbandonedJobs() {
+    return exportJobRepository.failJobsNotUpdatedSince(
+        clock.instant().minus(abandonedAfter), "The export stopped before it finished.");
+  }
+
+  /**
+   * Queue an export of the CSV of all the applications for a particular program.
+   *
+   * @throws ProgramNotFoundException If the program ID refers to a program that does not exist.
+   */
+  public CompletionStage<ExportJob> submitProgramCsv(long programId, String requestedBy)
+      throws ProgramNotFoundException {
+    ProgramDefinition program = programService.getProgramDefinition(programId);
+    String fileName = String.format("%s-%s.csv", program.adminName(), clock.instant().toString());
+    return submit(
+        new ExportJob(ExportJobKind.PROGRAM_CSV, Optional.of(programId), requestedBy, fileName));
+  }
+
+  /** Queue an export of the demographics CSV. */
+  public CompletionStage<ExportJob> submitDemographicsCsv(String requestedBy) {
+    String fileName = String.format("demographics-%s.csv", clock.instant().toString());
+    return submit(
+        new ExportJob(ExportJobKind.DEMOGRAPHICS_CSV, Optional.empty(), requestedBy, fileName));
+  }
+
+  /** Records the job on the admin database dispatcher, then queues it on the export pool. */
+  private CompletionStage<ExportJob> submit(ExportJob job) {
+    return exportJobRepository
+        .insert(job)
+        .thenApply(
+            inserted -> {
+              try {
+                CompletableFuture.runAsync(() -> run(inserted), exportExecutionContext.current());
+              } catch (RejectedExecutionException e) {
+                logger.warn(
+                    "Export job {} was rejected because the export pool is full.", inserted.id);
+                exportJobRepository.update(
+                    inserted.markFailed("Too many exports are running. Try again later."));
+              }
+              return inserted;
+            });
+  }
+
+  private void run(ExportJob job) {
+    Path file = null;
+    try {
+      file = Files.createTempFile("export-" + job.id, ".csv");
+      try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+        ExportProgressListener listener = (completed, total) -> saveProgress(job, completed, total);
+        switch (job.getKind()) {
+          case PROGRAM_CSV:
+            exporterService.writeProgramCsv(job.getProgramId().orElseThrow(), writer, listener);
+            break;
+          case DEMOGRAPHICS_CSV:
+            exporterService.writeDemographicsCsv(writer, listener);
+            break;
+        }
+      }
+      // Keys are unguessable so that results can't be fetched by iterating job IDs.
+      String resultKey = String.format("export-%d-%s.csv", job.id, UUID.randomUUID());
+      resultStore.put(resultKey, file);
+      exportJobRepository.update(job.markSucceeded(resultKey));
+    } catch (IOException | ProgramNotFoundException | RuntimeException e) {
+      // The details are only logged, since the message is shown to admins.
+      logger.error("Export job {} failed.", job.id, e);
+      exportJobRepository.update(job.markFailed("The export failed."));
+    } finally {
+      deleteQuietly(file);
+    }
+  }
+
+  private void saveProgress(ExportJob job, int completed, int total) {
+    if (completed == 0) {
+      exportJobRepository.update(job.markRunning(total));
+    } else if (completed % PROGRESS_INTERVAL == 0
+        || job.getUpdateTime().isBefore(clock.instant().minus(HEARTBEAT_INTERVAL))) {
+      exportJobRepository.update(job.setCompletedCount(completed));
+    }
+  }
+
+  private static void deleteQuietly(Path file) {
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      logger.warn("Could not delete export file {}.", file, e);
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package services.export;
+
+/** Receives the progress of an export as records are written. */
+@FunctionalInterface
+public interface ExportProgressListener {
+  ExportProgressListener NONE = (completed, total) -> {};
+
+  /** Called once before the first record with zero completed, and after each record. */
+  void onProgress(int completed, int total);
+}
@@ -0,0 +1,20 @@
+package services.export;
+
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Where the files produced by export jobs are kept until they are downloaded. Files are kept on the
+ * local filesystem in development and in S3 in production, where the server that runs a job may
+ * not be the one that serves its download.
+ */
+public interface ExportResultStore {
+
+  /** Stores the contents of {@code file} under {@code key}, replacing anything stored there. */
+  void put(String key, Path file) throws IOException;
+
+  /** Returns the contents stored under {@code key}. */
+  Source<ByteString, ?> get(String key);
+}
@@ -0,0 +1,29 @@
+package services.export;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import play.Environment;
+
+/** Provides the S3 {@link ExportResultStore} in production and the local one otherwise. */
+public final class ExportResultStoreProvider implements Provider<ExportResultStore> {
+  private final Environment environment;
+  private final Provider<LocalExportResultStore> localStore;
+  private final Provider<S3ExportResultStore> s3Store;
+
+  @Inject
+  public ExportResultStoreProvider(
+      Environment environment,
+      Provider<LocalExportResultStore> localStore,
+      Provider<S3ExportResultStore> s3Store) {
+    this.environment = checkNotNull(environment);
+    this.localStore = checkNotNull(localStore);
+    this.s3Store = checkNotNull(s3Store);
+  }
+
+  @Override
+  public ExportResultStore get() {
+    return environment.isProd() ? s3Store.get() : localStore.get();
+  }
+}
@@ -13,11 +13,14 @@ import services.program.PdfExportConfig;
 public class ExporterFactory {
   private final Config config;
   private final ProgramRepository programRepository;
+  private final PdfTemplateCache pdfTemplateCache;
 
   @Inject
-  public ExporterFactory(Config config, ProgramRepository programRepository) {
+  public ExporterFactory(
+      Config config, ProgramRepository programRepository, PdfTemplateCache pdfTemplateCache) {
     this.config = Preconditions.checkNotNull(config);
     this.programRepository = Preconditions.checkNotNull(programRepository);
+    this.pdfTemplateCache = Preconditions.checkNotNull(pdfTemplateCache);
   }
 
   public PdfExporter pdfExporter(Program program) throws NotConfiguredException, IOException {
@@ -29,7 +32,8 @@ public class ExporterFactory {
     if (exportConfig.isEmpty()) {
       throw new NotConfiguredException();
     }
-    return new PdfExporter(exportConfig.get().baseDocument(), exportConfig.get().mappings());
+    return new PdfExporter(
+        pdfTemplateCache.get(exportConfig.get().baseDocument()), exportConfig.get().mappings());
   }
 
   public CsvExporter csvExporter(Program program) throws NotConfiguredException {
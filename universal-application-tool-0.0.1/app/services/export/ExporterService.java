@@ -2,12 +2,18 @@ package services.export;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import akka.NotUsed;
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.typesafe.config.Config;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
@@ -17,8 +23,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import javax.inject.Inject;
 import models.Application;
+import models.LifecycleStage;
 import models.QuestionTag;
 import services.Path;
 import services.applicant.AnswerData;
@@ -41,6 +50,8 @@ public class ExporterService {
   private final ProgramService programService;
   private final QuestionService questionService;
   private final ApplicantService applicantService;
+  private final ExportExecutionContext exportExecutionContext;
+  private final int pdfParallelism;
 
   private static final String HEADER_SPACER_ENUM = " - ";
   private static final String HEADER_SPACER_SCALAR = " ";
@@ -50,11 +61,15 @@ public class ExporterService {
       ExporterFactory exporterFactory,
       ProgramService programService,
       QuestionService questionService,
-      ApplicantService applicantService) {
+      ApplicantService applicantService,
+      ExportExecutionContext exportExecutionContext,
+      Config config) {
     this.exporterFactory = checkNotNull(exporterFactory);
     this.programService = checkNotNull(programService);
     this.questionService = checkNotNull(questionService);
     this.applicantService = checkNotNull(applicantService);
+    this.exportExecutionContext = checkNotNull(exportExecutionContext);
+    this.pdfParallelism = checkNotNull(config).getInt("export.pdf_parallelism");
   }
 
   /**
@@ -64,29 +79,35 @@ public class ExporterService {
    */
   public String getProgramCsv(long programId) throws ProgramNotFoundException {
     ImmutableList<Application> applications = programService.getProgramApplications(programId);
-    ProgramDefinition program = programService.getProgramDefinition(programId);
-    CsvExporter csvExporter;
+    return exportCsv(programCsvExporter(programId), applications);
+  }
+
+  /**
+   * Write the CSV of all the applications for a particular program, reporting progress after each
+   * application.
+   *
+   * @throws ProgramNotFoundException If the program ID refers to a program that does not exist.
+   */
+  public void writeProgramCsv(long programId, Writer writer, ExportProgressListener listener)
+      throws ProgramNotFoundException, IOException {
+    ImmutableList<Application> applications = programService.getProgramApplications(programId);
+    exportCsv(programCsvExporter(programId), applications, writer, listener);
+  }
+
+  private CsvExporter programCsvExporter(long programId) throws ProgramNotFoundException {
+    ProgramDefinition program = lookUpProgramDefinition(programId);
     if (program.exportDefinitions().stream()
         .anyMatch(exportDefinition -> exportDefinition.csvConfig().isPresent())) {
-      csvExporter = exporterFactory.csvExporter(program.toProgram());
-    } else {
-      csvExporter = exporterFactory.csvExporter(generateDefaultCsvConfig(programId));
+      return exporterFactory.csvExporter(program.toProgram());
     }
-    return exportCsv(csvExporter, applications);
+    return exporterFactory.csvExporter(generateDefaultCsvConfig(programId));
   }
 
   public String exportCsv(CsvExporter csvExporter, ImmutableList<Application> applications) {
     try {
       OutputStream inMemoryBytes = new ByteArrayOutputStream();
       Writer writer = new OutputStreamWriter(inMemoryBytes, StandardCharsets.UTF_8);
-      for (Application application : applications) {
-        ReadOnlyApplicantProgramService roApplicantService =
-            applicantService
-                .getReadOnlyApplicantProgramService(application)
-                .toCompletableFuture()
-                .join();
-        csvExporter.export(application, roApplicantService, writer);
-      }
+      exportCsv(csvExporter, applications, writer, ExportProgressListener.NONE);
       writer.close();
       return inMemoryBytes.toString();
     } catch (IOException e) {
@@ -96,6 +117,117 @@ public class ExporterService {
     }
   }
 
+  private void exportCsv(
+      CsvExporter csvExporter,
+      ImmutableList<Application> applications,
+      Writer writer,
+      ExportProgressListener listener)
+      throws IOException {
+    listener.onProgress(0, applications.size());
+    ProgramDefinitions programDefinitions = new ProgramDefinitions();
+    int completed = 0;
+    for (Application application : applications) {
+      csvExporter.export(
+          application, programDefinitions.readOnlyApplicantProgramService(application), writer);
+      listener.onProgress(++completed, applications.size());
+    }
+  }
+
+  /**
+   * Look up a program's definition on the calling thread, which for exports is on the export
+   * dispatcher, rather than on the applicant database dispatcher, so that exports can't fill the
+   * queue that applicant requests wait in.
+   */
+  private ProgramDefinition lookUpProgramDefinition(long programId)
+      throws ProgramNotFoundException {
+    try {
+      return programService
+          .getProgramDefinitionAsync(programId, MoreExecutors.directExecutor())
+          .toCompletableFuture()
+          .join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof ProgramNotFoundException) {
+        throw new ProgramNotFoundException(programId);
+      }
+      throw e;
+    }
+  }
+
+  /** The definitions of the programs an export has met so far, each looked up once. */
+  private final class ProgramDefinitions {
+    private final Map<Long, ProgramDefinition> byId = new HashMap<>();
+
+    ReadOnlyApplicantProgramService readOnlyApplicantProgramService(Application application) {
+      long programId = application.getProgram().id;
+      ProgramDefinition programDefinition = byId.get(programId);
+      if (programDefinition == null) {
+        try {
+          programDefinition = lookUpProgramDefinition(programId);
+        } catch (ProgramNotFoundException e) {
+          throw new RuntimeException("Cannot find a program that has applications for it.", e);
+        }
+        byId.put(programId, programDefinition);
+      }
+      return applicantService.getReadOnlyApplicantProgramService(application, programDefinition);
+    }
+  }
+
+  /**
+   * Return a ZIP archive containing the filled-in PDF of every active application to a particular
+   * program, as a stream that can be sent while it is being written. Up to {@code
+   * export.pdf_parallelism} PDFs are filled at once, and entries are written in application order.
+   * The returned source can only be run once.
+   *
+   * @throws ProgramNotFoundException If the program ID refers to a program that does not exist.
+   * @throws NotConfiguredException If the program has no PDF export.
+   */
+  public Source<ByteString, NotUsed> getProgramPdfZip(long programId)
+      throws ProgramNotFoundException {
+    ProgramDefinition program = lookUpProgramDefinition(programId);
+    PdfExporter pdfExporter;
+    try {
+      pdfExporter = exporterFactory.pdfExporter(program.toProgram());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    // Drafts and applications replaced by a later submission aren't in the admin list either.
+    ImmutableList<Application> applications =
+        programService.getProgramApplications(programId).stream()
+            .filter(application -> LifecycleStage.ACTIVE.equals(application.getLifecycleStage()))
+            .collect(ImmutableList.toImmutableList());
+
+    ZipStreamWriter zipWriter = new ZipStreamWriter();
+    return Source.from(applications)
+        .mapAsync(
+            pdfParallelism,
+            application ->
+                CompletableFuture.supplyAsync(
+                    () -> zipEntry(pdfExporter, application), exportExecutionContext.current()))
+        .map(entry -> zipWriter.addEntry(entry.name, entry.contents))
+        .concat(Source.lazySingle(zipWriter::finish));
+  }
+
+  private static PdfZipEntry zipEntry(PdfExporter pdfExporter, Application application) {
+    try {
+      return new PdfZipEntry(
+          String.format("application-%d.pdf", application.id),
+          pdfExporter.export(application.getApplicantData()));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /** A filled-in PDF and its file name in the archive. */
+  private static final class PdfZipEntry {
+    final String name;
+    final byte[] contents;
+
+    PdfZipEntry(String name, byte[] contents) {
+      this.name = name;
+      this.contents = contents;
+    }
+  }
+
   /**
    * Produce the default CSV config for a given program. The default config includes the application
    * id, the application submission time, and all possible scalar values from all of its
@@ -114,13 +246,10 @@ public class ExporterService {
     // doesn't matter which answer ends up in the map, as long as every <block id, question index>
     // is accounted for.
     Map<String, AnswerData> answerMap = new HashMap<>();
+    ProgramDefinitions programDefinitions = new ProgramDefinitions();
     for (Application application : applications) {
-      ReadOnlyApplicantProgramService roApplicantService =
-          applicantService
-              .getReadOnlyApplicantProgramService(application)
-              .toCompletableFuture()
-              .join();
-      roApplicantService
+      programDefinitions
+          .readOnlyApplicantProgramService(application)
           .getSummaryData()
           .forEach(data -> answerMap.putIfAbsent(answerDataKey(data), data));
     }
@@ -232,6 +361,16 @@ public class ExporterService {
         applicantService.getAllApplications());
   }
 
+  /** Write the demographics CSV, reporting progress after each application. */
+  public void writeDemographicsCsv(Writer writer, ExportProgressListener listener)
+      throws IOException {
+    exportCsv(
+        exporterFactory.csvExporter(getDemographicsExporterConfig()),
+        applicantService.getAllApplications(),
+        writer,
+        listener);
+  }
+
   public CsvExportConfig getDemographicsExporterConfig() {
     ImmutableList.Builder<Column> columnsBuilder = new ImmutableList.Builder<>();
     // First add the ID, submit time, and submitter email columns.
@@ -0,0 +1,62 @@
+package services.export;
+
+import com.google.auto.value.AutoValue;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * A position in the application change feed: the submit time and ID of the last application a
+ * client has seen. Applications are fed in (submit time, ID) order, so resuming after a cursor
+ * returns exactly the applications the client hasn't seen yet.
+ *
+ * <p>Cursors are opaque to clients, which should only pass back the cursor of the last line they
+ * processed.
+ */
+@AutoValue
+public abstract class FeedCursor {
+  private static final String SEPARATOR = "/";
+
+  /** The cursor before every application. */
+  public static final FeedCursor START = create(Instant.EPOCH, 0L);
+
+  public static FeedCursor create(Instant submitTime, long applicationId) {
+    return new AutoValue_FeedCursor(submitTime, applicationId);
+  }
+
+  /**
+   * Parse a cursor produced by {@link #encode()}.
+   *
+   * @throws IllegalArgumentException if the cursor is malformed.
+   */
+  public static FeedCursor decode(String encoded) {
+    try {
+      String decoded =
+          new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.US_ASCII);
+      int separator = decoded.indexOf(SEPARATOR);
+      if (separator < 0) {
+        throw new IllegalArgumentException("Malformed cursor: " + encoded);
+      }
+      return create(
+          Instant.parse(decoded.substring(0, separator)),
+          Long.parseLong(decoded.substring(separator + 1)));
+    } catch (DateTimeParseException e) {
+      // NumberFormatException is already an IllegalArgumentException.
+      throw new IllegalArgumentException("Malformed cursor: " + encoded, e);
+    }
+  }
+
+  public abstract Instant submitTime();
+
+  public abstract long applicationId();
+
+  /** A URL-safe string for this cursor. */
+  public String encode() {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(
+            (submitTime().toString() + SEPARATOR + applicationId())
+                .getBytes(StandardCharsets.US_ASCII));
+  }
+}
@@ -0,0 +1,45 @@
+package services.export;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import akka.stream.javadsl.FileIO;
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
+import com.typesafe.config.Config;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/** Keeps export results in the directory configured as {@code export_jobs.local_directory}. */
+@Singleton
+public final class LocalExportResultStore implements ExportResultStore {
+  private final Path directory;
+
+  @Inject
+  public LocalExportResultStore(Config config) {
+    this.directory = Paths.get(checkNotNull(config).getString("export_jobs.local_directory"));
+  }
+
+  @Override
+  public void put(String key, Path file) throws IOException {
+    Files.createDirectories(directory);
+    Files.copy(file, resolve(key), StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  @Override
+  public Source<ByteString, ?> get(String key) {
+    return FileIO.fromPath(resolve(key));
+  }
+
+  private Path resolve(String key) {
+    Path path = directory.resolve(key).normalize();
+    if (!path.startsWith(directory.normalize())) {
+      throw new IllegalArgumentException("Export result key is outside the store: " + key);
+    }
+    return path;
+  }
+}
@@ -3,43 +3,50 @@ package services.export;
 import com.google.common.collect.ImmutableMap;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.Writer;
-import java.net.URI;
-import java.nio.charset.StandardCharsets;
+import java.io.OutputStream;
 import java.util.Map;
 import java.util.Optional;
-import models.Applicant;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
 import services.Path;
+import services.applicant.ApplicantData;
 
+/**
+ * Fills in the form fields of a base PDF with applicant answers. The base document is shared, so a
+ * single exporter can fill any number of documents, including concurrently.
+ */
 public class PdfExporter {
-  private PDDocument baseDocument;
-  private ImmutableMap<String, String> fieldToValue;
+  private final byte[] baseDocument;
+  private final ImmutableMap<String, Path> fieldToPath;
 
-  public PdfExporter(URI documentUrl, Map<String, String> fieldToValue) throws IOException {
-    baseDocument = PDDocument.load(documentUrl.toURL().openStream());
-    this.fieldToValue = ImmutableMap.copyOf(fieldToValue);
+  PdfExporter(byte[] baseDocument, Map<String, String> fieldToValue) {
+    this.baseDocument = baseDocument;
+    ImmutableMap.Builder<String, Path> fieldToPath = ImmutableMap.builder();
+    fieldToValue.forEach((field, path) -> fieldToPath.put(field, Path.create(path)));
+    this.fieldToPath = fieldToPath.build();
   }
 
   /**
-   * Write a PDF containing the filled-in base form to the provided writer. For the PDF to be valid,
-   * the writer should contain no previous writes and should be closed immediately after this call.
-   * This function marshals the output document in memory due to restrictions of the PDDocument
-   * class.
+   * Write a PDF containing the base form filled in with the given applicant data to the provided
+   * stream. The stream is not closed.
    */
-  public void export(Applicant applicant, Writer writer) throws IOException {
-    PDAcroForm form = baseDocument.getDocumentCatalog().getAcroForm();
-    for (Map.Entry<String, String> fToV : fieldToValue.entrySet()) {
-      Optional<String> applicantValue =
-          applicant.getApplicantData().readAsString(Path.create(fToV.getValue()));
-      if (applicantValue.isPresent()) {
-        form.getField(fToV.getKey()).setValue(applicantValue.get());
+  public void export(ApplicantData applicantData, OutputStream outputStream) throws IOException {
+    try (PDDocument document = PDDocument.load(baseDocument)) {
+      PDAcroForm form = document.getDocumentCatalog().getAcroForm();
+      for (Map.Entry<String, Path> fieldAndPath : fieldToPath.entrySet()) {
+        Optional<String> applicantValue = applicantData.readAsString(fieldAndPath.getValue());
+        if (applicantValue.isPresent()) {
+          form.getField(fieldAndPath.getKey()).setValue(applicantValue.get());
+        }
       }
+      document.save(outputStream);
     }
-    ByteArrayOutputStream inMemoryFile = new ByteArrayOutputStream();
-    baseDocument.save(inMemoryFile);
-    inMemoryFile.close();
-    writer.write(inMemoryFile.toString(StandardCharsets.UTF_8));
+  }
+
+  /** Returns a PDF containing the base form filled in with the given applicant data. */
+  public byte[] export(ApplicantData applicantData) throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream(baseDocument.length);
+    export(applicantData, outputStream);
+    return outputStream.toByteArray();
   }
 }
@@ -0,0 +1,64 @@
+package services.export;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+/**
+ * Holds the base documents of PDF exports in memory, so that each one is fetched and checked once
+ * rather than every time an exporter is created.
+ *
+ * <p>{@link PDDocument}s are mutable and not thread safe, so the template is kept as bytes and each
+ * fill parses its own copy from memory.
+ *
+ * <p>A base document can be replaced at the same URI, so each one is fetched again {@link
+ * #TEMPLATE_CACHE_DURATION} after it was loaded.
+ */
+@Singleton
+public final class PdfTemplateCache {
+  private static final Duration TEMPLATE_CACHE_DURATION = Duration.ofMinutes(10);
+
+  private final Cache<URI, byte[]> templates;
+
+  @Inject
+  public PdfTemplateCache() {
+    this(Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  PdfTemplateCache(Ticker ticker) {
+    templates =
+        CacheBuilder.newBuilder().expireAfterWrite(TEMPLATE_CACHE_DURATION).ticker(ticker).build();
+  }
+
+  /** Returns the bytes of the base document at the given URI, loading it if it isn't cached. */
+  byte[] get(URI documentUrl) throws IOException {
+    try {
+      return templates.get(documentUrl, () -> load(documentUrl));
+    } catch (ExecutionException e) {
+      throw (IOException) e.getCause();
+    }
+  }
+
+  private static byte[] load(URI documentUrl) throws IOException {
+    try (InputStream inputStream = documentUrl.toURL().openStream()) {
+      byte[] template = inputStream.readAllBytes();
+      // Parse the template once so that a broken document fails here instead of on every fill.
+      try (PDDocument document = PDDocument.load(template)) {
+        if (document.getDocumentCatalog().getAcroForm() == null) {
+          throw new IOException("PDF export base document has no form: " + documentUrl);
+        }
+      }
+      return template;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package services.export;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import akka.stream.javadsl.Source;
+import akka.stream.javadsl.StreamConverters;
+import akka.util.ByteString;
+import com.typesafe.config.Config;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import play.inject.ApplicationLifecycle;
+import services.aws.AwsRegion;
+import services.aws.SimpleStorage;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+
+/** Keeps export results in the applicant file bucket, under the {@code exports/} prefix. */
+@Singleton
+public final class S3ExportResultStore implements ExportResultStore {
+  private static final String KEY_PREFIX = "exports/";
+
+  private final S3Client client;
+  private final String bucket;
+
+  @Inject
+  public S3ExportResultStore(AwsRegion region, Config config, ApplicationLifecycle appLifecycle) {
+    this.client = S3Client.builder().region(checkNotNull(region).get()).build();
+    this.bucket = checkNotNull(config).getString(SimpleStorage.AWS_S3_BUCKET_CONF_PATH);
+
+    appLifecycle.addStopHook(
+        () -> {
+          client.close();
+          return CompletableFuture.completedFuture(null);
+        });
+  }
+
+  @Override
+  public void put(String key, Path file) {
+    client.putObject(
+        PutObjectRequest.builder().bucket(bucket).key(KEY_PREFIX + key).build(),
+        RequestBody.fromFile(file));
+  }
+
+  @Override
+  public Source<ByteString, ?> get(String key) {
+    return StreamConverters.fromInputStream(
+        () ->
+            client.getObject(
+                GetObjectRequest.builder().bucket(bucket).key(KEY_PREFIX + key).build()));
+  }
+}
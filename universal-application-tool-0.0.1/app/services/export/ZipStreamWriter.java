@@ -0,0 +1,46 @@
+package services.export;
+
+import akka.util.ByteString;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes a ZIP archive one entry at a time, returning the bytes of each entry as soon as it is
+ * written so the archive can be streamed without holding it in memory.
+ */
+final class ZipStreamWriter {
+  private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+  private final ZipOutputStream zipOutputStream = new ZipOutputStream(buffer);
+
+  /** Adds an entry and returns the archive bytes written for it. */
+  ByteString addEntry(String name, byte[] contents) {
+    try {
+      zipOutputStream.putNextEntry(new ZipEntry(name));
+      zipOutputStream.write(contents);
+      zipOutputStream.closeEntry();
+    } catch (IOException e) {
+      // Since it's an in-memory buffer, this shouldn't happen.
+      throw new UncheckedIOException(e);
+    }
+    return drain();
+  }
+
+  /** Finishes the archive and returns its remaining bytes, which hold the central directory. */
+  ByteString finish() {
+    try {
+      zipOutputStream.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return drain();
+  }
+
+  private ByteString drain() {
+    ByteString bytes = ByteString.fromArray(buffer.toByteArray());
+    buffer.reset();
+    return bytes;
+  }
+}
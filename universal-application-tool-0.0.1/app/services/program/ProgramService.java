@@ -3,12 +3,13 @@ package services.program;
 import com.google.common.collect.ImmutableList;
 import forms.BlockForm;
 import java.util.Locale;
-import java.util.Optional;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import models.Application;
 import models.Program;
 import services.CiviFormError;
 import services.ErrorAnd;
+import services.PaginationInfo;
 import services.program.predicate.PredicateDefinition;
 import services.question.exceptions.QuestionNotFoundException;
 import services.question.types.QuestionDefinition;
@@ -48,6 +49,12 @@ public interface ProgramService {
    */
   CompletionStage<ProgramDefinition> getProgramDefinitionAsync(long id);
 
+  /**
+   * Like {@link #getProgramDefinitionAsync(long)}, but does all of its work on the given executor
+   * rather than the applicant database dispatcher, for work that has its own pool, such as exports.
+   */
+  CompletionStage<ProgramDefinition> getProgramDefinitionAsync(long id, Executor executor);
+
   /**
    * Create a new program with an empty block.
    *
@@ -276,8 +283,19 @@ public interface ProgramService {
    */
   ImmutableList<Application> getProgramApplications(long programId) throws ProgramNotFoundException;
 
-  ImmutableList<Application> getProgramApplications(long programId, Optional<String> search)
-      throws ProgramNotFoundException;
+  /**
+   * Get one page of the program's applications that match a full-text search of applicant names,
+   * email addresses and text answers, best match first.
+   *
+   * @param programId the program id.
+   * @param search the words to search for. Each must match the start of a word, so "Jo" finds
+   *     "John".
+   * @param pageSize the number of applications on each page.
+   * @param page the page to get, starting from 1.
+   * @throws ProgramNotFoundException when programId does not correspond to a real Program.
+   */
+  PaginationInfo<Application> searchProgramApplications(
+      long programId, String search, int pageSize, int page) throws ProgramNotFoundException;
 
   /** Create a new draft starting from the program specified by `id`. */
   ProgramDefinition newDraftOf(long id) throws ProgramNotFoundException;
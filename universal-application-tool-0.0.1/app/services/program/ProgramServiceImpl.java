@@ -13,6 +13,7 @@ import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import models.Account;
 import models.Application;
 import models.Program;
@@ -24,6 +25,7 @@ import repository.UserRepository;
 import repository.VersionRepository;
 import services.CiviFormError;
 import services.ErrorAnd;
+import services.PaginationInfo;
 import services.program.predicate.PredicateDefinition;
 import services.question.QuestionService;
 import services.question.ReadOnlyQuestionService;
@@ -72,25 +74,34 @@ public class ProgramServiceImpl implements ProgramService {
 
   @Override
   public CompletionStage<ProgramDefinition> getProgramDefinitionAsync(long id) {
-    return programRepository
-        .lookupProgram(id)
-        .thenComposeAsync(
-            programMaybe -> {
-              if (programMaybe.isEmpty()) {
-                return CompletableFuture.failedFuture(new ProgramNotFoundException(id));
-              }
-              Program program = programMaybe.get();
-              if (isActiveOrDraftProgram(program)) {
-                return syncProgramDefinitionQuestions(program.getProgramDefinition())
-                    .thenApply(programDefinition -> programDefinition.orderBlockDefinitions());
-              }
-              // Any version that the program is in has all the questions the program has.
-              Version version = program.getVersions().stream().findAny().get();
-              ProgramDefinition programDefinition =
-                  syncProgramDefinitionQuestions(program.getProgramDefinition(), version);
-              return CompletableFuture.completedStage(programDefinition.orderBlockDefinitions());
-            },
-            httpExecutionContext.current());
+    return toProgramDefinition(
+        id, programRepository.lookupProgram(id), httpExecutionContext.current());
+  }
+
+  @Override
+  public CompletionStage<ProgramDefinition> getProgramDefinitionAsync(long id, Executor executor) {
+    return toProgramDefinition(id, programRepository.lookupProgram(id, executor), executor);
+  }
+
+  private CompletionStage<ProgramDefinition> toProgramDefinition(
+      long id, CompletionStage<Optional<Program>> lookup, Executor executor) {
+    return lookup.thenComposeAsync(
+        programMaybe -> {
+          if (programMaybe.isEmpty()) {
+            return CompletableFuture.failedFuture(new ProgramNotFoundException(id));
+          }
+          Program program = programMaybe.get();
+          if (isActiveOrDraftProgram(program)) {
+            return syncProgramDefinitionQuestions(program.getProgramDefinition(), executor)
+                .thenApply(programDefinition -> programDefinition.orderBlockDefinitions());
+          }
+          // Any version that the program is in has all the questions the program has.
+          Version version = program.getVersions().stream().findAny().get();
+          ProgramDefinition programDefinition =
+              syncProgramDefinitionQuestions(program.getProgramDefinition(), version);
+          return CompletableFuture.completedStage(programDefinition.orderBlockDefinitions());
+        },
+        executor);
   }
 
   @Override
@@ -472,26 +483,26 @@ public class ProgramServiceImpl implements ProgramService {
   @Override
   public ImmutableList<Application> getProgramApplications(long programId)
       throws ProgramNotFoundException {
-    Optional<Program> programMaybe =
-        programRepository.lookupProgram(programId).toCompletableFuture().join();
-    if (programMaybe.isEmpty()) {
+    Optional<ImmutableList<Application>> applications =
+        programRepository.getApplications(programId);
+    if (applications.isEmpty()) {
       throw new ProgramNotFoundException(programId);
     }
-    return programMaybe.get().getApplications();
+    return applications.get();
   }
 
   @Override
-  public ImmutableList<Application> getProgramApplications(long programId, Optional<String> search)
-      throws ProgramNotFoundException {
-    return getProgramApplications(programId).stream()
-        .filter(
-            application ->
-                application
-                    .getApplicantData()
-                    .getApplicantName()
-                    .toLowerCase(Locale.ROOT)
-                    .contains(search.orElse("").toLowerCase(Locale.ROOT)))
-        .collect(ImmutableList.toImmutableList());
+  public PaginationInfo<Application> searchProgramApplications(
+      long programId, String search, int pageSize, int page) throws ProgramNotFoundException {
+    if (programRepository.lookupProgram(programId).toCompletableFuture().join().isEmpty()) {
+      throw new ProgramNotFoundException(programId);
+    }
+    return PaginationInfo.ofPage(
+        programRepository.searchApplications(
+            programId, search, pageSize, (Math.max(page, 1) - 1) * pageSize),
+        programRepository.countApplicationsMatching(programId, search),
+        pageSize,
+        page);
   }
 
   @Override
@@ -560,12 +571,17 @@ public class ProgramServiceImpl implements ProgramService {
    */
   private CompletionStage<ProgramDefinition> syncProgramDefinitionQuestions(
       ProgramDefinition programDefinition) {
+    return syncProgramDefinitionQuestions(programDefinition, httpExecutionContext.current());
+  }
+
+  private CompletionStage<ProgramDefinition> syncProgramDefinitionQuestions(
+      ProgramDefinition programDefinition, Executor executor) {
     return questionService
         .getReadOnlyQuestionService()
         .thenApplyAsync(
             roQuestionService ->
                 syncProgramDefinitionQuestions(programDefinition, roQuestionService),
-            httpExecutionContext.current());
+            executor);
   }
 
   private ProgramDefinition syncProgramDefinitionQuestions(
@@ -0,0 +1,34 @@
+package services.ti;
+
+import com.google.auto.value.AutoValue;
+import java.util.Optional;
+
+/** What happened to one row of a bulk client import. */
+@AutoValue
+public abstract class ClientImportResult {
+
+  public enum Status {
+    CREATED,
+    INVALID,
+    EMAIL_EXISTS,
+    /** The row was valid, but adding the client failed. */
+    FAILED
+  }
+
+  public static ClientImportResult create(
+      long rowNumber, String name, Optional<String> emailAddress, Status status, String message) {
+    return new AutoValue_ClientImportResult(rowNumber, name, emailAddress, status, message);
+  }
+
+  /** The row's position in the file, counting the first row after the header as 1. */
+  public abstract long rowNumber();
+
+  public abstract String name();
+
+  public abstract Optional<String> emailAddress();
+
+  public abstract Status status();
+
+  /** Why the row wasn't imported, or empty if it was. */
+  public abstract String message();
+}
@@ -0,0 +1,255 @@
+package services.ti;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import forms.AddApplicantToTrustedIntermediaryGroupForm;
+import io.ebean.DuplicateKeyException;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import javax.inject.Inject;
+import javax.persistence.PersistenceException;
+import models.TrustedIntermediaryGroup;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import repository.UserRepository;
+
+/**
+ * Adds many clients to a trusted intermediary group from a CSV file, with columns {@code
+ * first_name}, {@code middle_name}, {@code last_name} and {@code email}. Only the first and last
+ * names are required.
+ *
+ * <p>The file is read one row at a time. Valid rows are imported in chunks, each of which checks
+ * for existing accounts with one query and inserts its accounts and applicants in batches, so a
+ * file of hundreds of clients takes a handful of round trips rather than several per client.
+ */
+public final class ClientImportService {
+  private static final Logger logger = LoggerFactory.getLogger(ClientImportService.class);
+
+  private static final String FIRST_NAME = "first_name";
+  private static final String MIDDLE_NAME = "middle_name";
+  private static final String LAST_NAME = "last_name";
+  private static final String EMAIL = "email";
+
+  private static final int CHUNK_SIZE = 500;
+
+  private final UserRepository userRepository;
+
+  @Inject
+  public ClientImportService(UserRepository userRepository) {
+    this.userRepository = checkNotNull(userRepository);
+  }
+
+  /**
+   * Import the clients in a CSV file into the TI group.
+   *
+   * @return the result of every row, in the order of the file.
+   * @throws IllegalArgumentException if the file doesn't have the required columns.
+   */
+  public ImmutableList<ClientImportResult> importClients(
+      Reader csv, TrustedIntermediaryGroup tiGroup) throws IOException {
+    List<ClientImportResult> results = new ArrayList<>();
+    List<PendingRow> chunk = new ArrayList<>();
+    Set<String> emailAddressesInFile = new HashSet<>();
+
+    try (CSVParser parser =
+        CSVFormat.DEFAULT.withFirstRecordAsHeader().withIgnoreHeaderCase().withTrim().parse(csv)) {
+      if (!parser.getHeaderMap().containsKey(FIRST_NAME)
+          || !parser.getHeaderMap().containsKey(LAST_NAME)) {
+        throw new IllegalArgumentException(
+            String.format("The file must have %s and %s columns.", FIRST_NAME, LAST_NAME));
+      }
+      long rowNumber = 0;
+      for (CSVRecord record : parser) {
+        rowNumber++;
+        PendingRow row = PendingRow.from(rowNumber, record);
+        Optional<String> error = row.validate(emailAddressesInFile);
+        if (error.isPresent()) {
+          results.add(row.result(ClientImportResult.Status.INVALID, error.get()));
+          continue;
+        }
+        row.emailAddress().ifPresent(emailAddressesInFile::add);
+        chunk.add(row);
+        if (chunk.size() == CHUNK_SIZE) {
+          results.addAll(importChunk(chunk, tiGroup));
+          chunk.clear();
+        }
+      }
+    }
+    results.addAll(importChunk(chunk, tiGroup));
+
+    return results.stream()
+        .sorted(Comparator.comparingLong(ClientImportResult::rowNumber))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  /** Write the results of an import as a CSV, so the TI can see which rows need fixing. */
+  public String renderReport(ImmutableList<ClientImportResult> results) {
+    StringWriter writer = new StringWriter();
+    try (CSVPrinter printer =
+        new CSVPrinter(
+            writer, CSVFormat.DEFAULT.withHeader("row", "name", EMAIL, "status", "message"))) {
+      for (ClientImportResult result : results) {
+        printer.printRecord(
+            result.rowNumber(),
+            result.name(),
+            result.emailAddress().orElse(""),
+            result.status(),
+            result.message());
+      }
+    } catch (IOException e) {
+      // A StringWriter doesn't throw.
+      throw new UncheckedIOException(e);
+    }
+    return writer.toString();
+  }
+
+  /**
+   * Import a chunk of valid rows. If an account is created with one of the chunk's email addresses
+   * while it is being imported, e.g. by the client signing up, the chunk is checked and imported
+   * again. If it still fails, every row that would have been created is reported as failed, and
+   * the rest of the file is still imported.
+   */
+  private ImmutableList<ClientImportResult> importChunk(
+      List<PendingRow> chunk, TrustedIntermediaryGroup tiGroup) {
+    try {
+      return tryImportChunk(chunk, tiGroup);
+    } catch (DuplicateKeyException e) {
+      logger.info("An email address was taken while importing clients, trying again.", e);
+    } catch (PersistenceException e) {
+      logger.error("Importing clients failed.", e);
+      return failChunk(chunk, ImmutableSet.of());
+    }
+    try {
+      return tryImportChunk(chunk, tiGroup);
+    } catch (PersistenceException e) {
+      logger.error("Importing clients failed.", e);
+      return failChunk(chunk, findExistingEmailAddresses(chunk));
+    }
+  }
+
+  private ImmutableList<ClientImportResult> tryImportChunk(
+      List<PendingRow> chunk, TrustedIntermediaryGroup tiGroup) {
+    ImmutableSet<String> existingEmailAddresses = findExistingEmailAddresses(chunk);
+
+    ImmutableList.Builder<ClientImportResult> results = ImmutableList.builder();
+    ImmutableList.Builder<AddApplicantToTrustedIntermediaryGroupForm> toCreate =
+        ImmutableList.builder();
+    for (PendingRow row : chunk) {
+      if (row.hasEmailAddressIn(existingEmailAddresses)) {
+        results.add(emailExists(row));
+      } else {
+        toCreate.add(row.form);
+        results.add(row.result(ClientImportResult.Status.CREATED, ""));
+      }
+    }
+    userRepository.createNewApplicantsForTrustedIntermediaryGroup(toCreate.build(), tiGroup);
+    return results.build();
+  }
+
+  /** Report every row of a chunk that couldn't be imported as failed. */
+  private static ImmutableList<ClientImportResult> failChunk(
+      List<PendingRow> chunk, ImmutableSet<String> existingEmailAddresses) {
+    return chunk.stream()
+        .map(
+            row ->
+                row.hasEmailAddressIn(existingEmailAddresses)
+                    ? emailExists(row)
+                    : row.result(
+                        ClientImportResult.Status.FAILED,
+                        "This client could not be added. Try importing this row again."))
+        .collect(ImmutableList.toImmutableList());
+  }
+
+  private ImmutableSet<String> findExistingEmailAddresses(List<PendingRow> chunk) {
+    return userRepository.findExistingEmailAddresses(
+        chunk.stream()
+            .map(PendingRow::emailAddress)
+            .flatMap(Optional::stream)
+            .collect(toImmutableSet()));
+  }
+
+  private static ClientImportResult emailExists(PendingRow row) {
+    return row.result(
+        ClientImportResult.Status.EMAIL_EXISTS,
+        "An account with this email address already exists.");
+  }
+
+  /** A row that has been read, but not yet imported. */
+  private static final class PendingRow {
+    final long rowNumber;
+    final AddApplicantToTrustedIntermediaryGroupForm form;
+
+    private PendingRow(long rowNumber, AddApplicantToTrustedIntermediaryGroupForm form) {
+      this.rowNumber = rowNumber;
+      this.form = form;
+    }
+
+    static PendingRow from(long rowNumber, CSVRecord record) {
+      AddApplicantToTrustedIntermediaryGroupForm form =
+          new AddApplicantToTrustedIntermediaryGroupForm();
+      form.setFirstName(get(record, FIRST_NAME));
+      form.setMiddleName(get(record, MIDDLE_NAME));
+      form.setLastName(get(record, LAST_NAME));
+      form.setEmailAddress(get(record, EMAIL));
+      return new PendingRow(rowNumber, form);
+    }
+
+    Optional<String> validate(Set<String> emailAddressesInFile) {
+      if (Strings.isNullOrEmpty(form.getFirstName())) {
+        return Optional.of("First name required.");
+      }
+      if (Strings.isNullOrEmpty(form.getLastName())) {
+        return Optional.of("Last name required.");
+      }
+      Optional<String> emailAddress = emailAddress();
+      if (emailAddress.isPresent() && emailAddressesInFile.contains(emailAddress.get())) {
+        return Optional.of("This email address is on an earlier row.");
+      }
+      return Optional.empty();
+    }
+
+    Optional<String> emailAddress() {
+      return Optional.ofNullable(Strings.emptyToNull(form.getEmailAddress()));
+    }
+
+    boolean hasEmailAddressIn(ImmutableSet<String> emailAddresses) {
+      return emailAddress().map(emailAddresses::contains).orElse(false);
+    }
+
+    ClientImportResult result(ClientImportResult.Status status, String message) {
+      return ClientImportResult.create(
+          rowNumber,
+          Joiner.on(' ')
+              .skipNulls()
+              .join(
+                  Strings.emptyToNull(form.getFirstName()),
+                  Strings.emptyToNull(form.getMiddleName()),
+                  Strings.emptyToNull(form.getLastName())),
+          emailAddress(),
+          status,
+          message);
+    }
+
+    /** Rows may be shorter than the header, and optional columns may be missing entirely. */
+    private static String get(CSVRecord record, String column) {
+      return record.isSet(column) ? record.get(column) : "";
+    }
+  }
+}
@@ -1,13 +1,8 @@
 package views;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static j2html.TagCreator.meta;
-import static j2html.TagCreator.rawHtml;
-import static j2html.TagCreator.script;
 
-import com.google.common.collect.ImmutableList;
 import com.typesafe.config.Config;
-import j2html.tags.Tag;
 import java.net.URI;
 import javax.inject.Inject;
 import play.twirl.api.Content;
@@ -19,22 +14,23 @@ import views.components.ToastMessage;
  * <p>A layout class should describe the DOM contents of the head, header, nav, and footer. It acts
  * on an HtmlBundle and returns {@link Content} for rendered page using the {@link
  * #render(HtmlBundle)} method.
+ *
+ * <p>Markup that is the same on every page is rendered once by {@link LayoutFragments}.
  */
 public class BaseHtmlLayout {
   private static final String STAGING_HOST_NAME = "staging.seattle.civiform.com";
-  private static final String TAILWIND_COMPILED_FILENAME = "tailwind";
-  private static final String[] FOOTER_SCRIPTS = {"main", "accordion", "modal", "radio", "toast"};
   private static final String BANNER_TEXT =
       "Do not enter actual or personal data in this demo site";
 
   public final ViewUtils viewUtils;
-  private final String measurementId;
+  protected final LayoutFragments layoutFragments;
   private final String hostName;
 
   @Inject
-  public BaseHtmlLayout(ViewUtils viewUtils, Config configuration) {
+  public BaseHtmlLayout(
+      ViewUtils viewUtils, Config configuration, LayoutFragments layoutFragments) {
     this.viewUtils = checkNotNull(viewUtils);
-    this.measurementId = checkNotNull(configuration).getString("measurement_id");
+    this.layoutFragments = checkNotNull(layoutFragments);
 
     String baseUrl = checkNotNull(configuration).getString("base_url");
     this.hostName = URI.create(baseUrl).getHost();
@@ -62,8 +58,7 @@ public class BaseHtmlLayout {
    */
   public HtmlBundle getBundle(HtmlBundle bundle) {
     // Add basic page metadata.
-    bundle.addMetadata(
-        meta().attr("name", "viewport").attr("content", "width=device-width, initial-scale=1"));
+    bundle.addMetadata(layoutFragments.viewportMetadata());
 
     // Add the warning toast, only for staging
     if (STAGING_HOST_NAME.equals(hostName)) {
@@ -76,15 +71,10 @@ public class BaseHtmlLayout {
     }
 
     // Add default stylesheets.
-    bundle.addStylesheets(viewUtils.makeLocalCssTag(TAILWIND_COMPILED_FILENAME));
-
-    // Add Google analytics scripts.
-    bundle.addFooterScripts(getAnalyticsScripts(measurementId).toArray(new Tag[0]));
+    bundle.addStylesheets(layoutFragments.defaultStylesheets());
 
-    // Add default scripts.
-    for (String source : FOOTER_SCRIPTS) {
-      bundle.addFooterScripts(viewUtils.makeLocalJsTag(source));
-    }
+    // Add Google analytics and default scripts.
+    bundle.addFooterScripts(layoutFragments.defaultFooterScripts());
 
     return bundle;
   }
@@ -96,25 +86,4 @@ public class BaseHtmlLayout {
   public Content render(HtmlBundle bundle) {
     return bundle.render();
   }
-
-  /** Creates Google Analytics scripts for the site. */
-  private ImmutableList<Tag> getAnalyticsScripts(String trackingTag) {
-    Tag scriptImport =
-        script()
-            .withSrc("https://www.googletagmanager.com/gtag/js?id=" + trackingTag)
-            .attr("async", "true")
-            .withType("text/javascript");
-    String googleAnalyticsCode =
-        "window.dataLayer = window.dataLayer || [];"
-            + "\nfunction gtag() {"
-            + "\n\tdataLayer.push(arguments);"
-            + "\n}"
-            + "\ngtag('js', new Date());"
-            + "\ngtag('config', '%s');";
-    Tag rawScript =
-        script()
-            .with(rawHtml(String.format(googleAnalyticsCode, trackingTag)))
-            .withType("text/javascript");
-    return new ImmutableList.Builder<Tag>().add(scriptImport).add(rawScript).build();
-  }
 }
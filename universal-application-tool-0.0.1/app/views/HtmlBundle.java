@@ -1,42 +1,59 @@
 package views;
 
 import static j2html.TagCreator.div;
-import static j2html.TagCreator.document;
 import static j2html.TagCreator.each;
 import static j2html.TagCreator.footer;
 import static j2html.TagCreator.head;
 import static j2html.TagCreator.header;
-import static j2html.TagCreator.html;
-import static j2html.TagCreator.main;
 import static j2html.TagCreator.title;
 
+import akka.NotUsed;
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
+import com.google.common.collect.ImmutableList;
+import j2html.Config;
 import j2html.tags.ContainerTag;
-import j2html.tags.EmptyTag;
+import j2html.tags.DomContent;
 import j2html.tags.Tag;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import play.twirl.api.Content;
 import views.components.Modal;
 import views.components.ToastMessage;
 import views.style.BaseStyles;
 
-/** The HtmlBundle class stores all of the data necessary for rendering a page. */
+/**
+ * The HtmlBundle class stores all of the data necessary for rendering a page.
+ *
+ * <p>{@link #render()} returns {@link HtmlBundleContent}, which can either be materialized as a
+ * single string or streamed to the client in chunks with {@link HtmlBundleContent#chunks()}.
+ */
 public class HtmlBundle {
+  /** Main content is buffered until it reaches roughly this many characters before it is sent. */
+  private static final int CHUNK_SIZE = 16 * 1024;
+
+  private static final String MODAL_CONTAINER_START = renderModalContainerStart();
+
   private String pageTitle;
   private String language = "en";
 
   private ArrayList<String> bodyStyles = new ArrayList<>();
-  private ArrayList<Tag> footerContent = new ArrayList<>();
-  private ArrayList<Tag> footerScripts = new ArrayList<>();
+  private ArrayList<DomContent> footerContent = new ArrayList<>();
+  private ArrayList<DomContent> footerScripts = new ArrayList<>();
   private ArrayList<String> footerStyles = new ArrayList<>();
   private ArrayList<Tag> headScripts = new ArrayList<>();
-  private ArrayList<Tag> headerContent = new ArrayList<>();
+  private ArrayList<DomContent> headerContent = new ArrayList<>();
   private ArrayList<String> headerStyles = new ArrayList<>();
   private ArrayList<Tag> mainContent = new ArrayList<>();
   private ArrayList<String> mainStyles = new ArrayList<>();
-  private ArrayList<EmptyTag> metadata = new ArrayList<>();
+  private ArrayList<DomContent> metadata = new ArrayList<>();
   private ArrayList<Modal> modals = new ArrayList<>();
-  private ArrayList<Tag> stylesheets = new ArrayList<>();
+  private ArrayList<DomContent> stylesheets = new ArrayList<>();
   private ArrayList<ToastMessage> toastMessages = new ArrayList<>();
 
   public HtmlBundle addBodyStyles(String... styles) {
@@ -44,12 +61,12 @@ public class HtmlBundle {
     return this;
   }
 
-  public HtmlBundle addFooterContent(Tag... tags) {
+  public HtmlBundle addFooterContent(DomContent... tags) {
     footerContent.addAll(Arrays.asList(tags));
     return this;
   }
 
-  public HtmlBundle addFooterScripts(Tag... sources) {
+  public HtmlBundle addFooterScripts(DomContent... sources) {
     footerScripts.addAll(Arrays.asList(sources));
     return this;
   }
@@ -64,7 +81,7 @@ public class HtmlBundle {
     return this;
   }
 
-  public HtmlBundle addHeaderContent(Tag... tags) {
+  public HtmlBundle addHeaderContent(DomContent... tags) {
     headerContent.addAll(Arrays.asList(tags));
     return this;
   }
@@ -84,12 +101,12 @@ public class HtmlBundle {
     return this;
   }
 
-  public HtmlBundle addMetadata(EmptyTag... tags) {
+  public HtmlBundle addMetadata(DomContent... tags) {
     metadata.addAll(Arrays.asList(tags));
     return this;
   }
 
-  public HtmlBundle addStylesheets(Tag... sources) {
+  public HtmlBundle addStylesheets(DomContent... sources) {
     stylesheets.addAll(Arrays.asList(sources));
     return this;
   }
@@ -104,10 +121,6 @@ public class HtmlBundle {
     return this;
   }
 
-  private ContainerTag getContent() {
-    return html(renderHead(), renderBody()).attr("lang", language);
-  }
-
   public String getTitle() {
     return pageTitle;
   }
@@ -122,17 +135,32 @@ public class HtmlBundle {
     return this;
   }
 
-  /** The page body contains: - header - main - footer */
-  private ContainerTag renderBody() {
-    ContainerTag bodyTag = j2html.TagCreator.body().with(renderHeader()).with(renderMain());
-    bodyTag.with(renderModals());
-    bodyTag.with(renderFooter());
-
-    if (bodyStyles.size() > 0) {
-      bodyTag.withClasses(bodyStyles.toArray(new String[0]));
-    }
-
-    return bodyTag;
+  /**
+   * The page is written as a list of sections, so it can be rendered straight into a buffer
+   * without first building the tag tree for the whole page. The body contains: - header - main -
+   * footer
+   */
+  private ImmutableList<Section> renderSections() {
+    ImmutableList.Builder<Section> sections = ImmutableList.builder();
+    // The outer html element matches what j2html's document() produced for this bundle.
+    sections.add(
+        out -> {
+          out.append("<!DOCTYPE html><html><html lang=\"").append(escape(language)).append("\">");
+          write(renderHead(), out);
+          appendOpenTag(out, "body", bodyStyles);
+          write(renderHeader(), out);
+          appendOpenTag(out, "main", mainStyles);
+        });
+    mainContent.forEach(tag -> sections.add(out -> write(tag, out)));
+    sections.add(
+        out -> {
+          out.append("</main>").append(MODAL_CONTAINER_START);
+          modals.forEach(modal -> write(modal.getContainerTag(), out));
+          out.append("</div>");
+          write(renderFooter(), out);
+          out.append("</body></html></html>");
+        });
+    return sections.build();
   }
 
   private ContainerTag renderFooter() {
@@ -175,40 +203,74 @@ public class HtmlBundle {
     return headerTag;
   }
 
-  private ContainerTag renderMain() {
-    ContainerTag mainTag = main().with(mainContent);
+  /** Renders the start of the modal container, which is the same on every page, once. */
+  private static String renderModalContainerStart() {
+    String modalContainer =
+        div()
+            .withId("modal-container")
+            .withClasses(BaseStyles.MODAL_CONTAINER)
+            .with(div().withId("modal-glass-pane").withClasses(BaseStyles.MODAL_GLASS_PANE))
+            .render();
+    // Leave the container open so the page's modals can be written into it.
+    return modalContainer.substring(0, modalContainer.length() - "</div>".length());
+  }
 
-    if (mainStyles.size() > 0) {
-      mainTag.withClasses(mainStyles.toArray(new String[0]));
+  public HtmlBundleContent render() {
+    return new HtmlBundleContent(renderSections());
+  }
+
+  private static void appendOpenTag(StringBuilder out, String tagName, List<String> styles) {
+    out.append('<').append(tagName);
+    if (styles.size() > 0) {
+      out.append(" class=\"").append(escape(String.join(" ", styles))).append('"');
     }
+    out.append('>');
+  }
 
-    return mainTag;
+  private static String escape(String attributeValue) {
+    return Config.textEscaper.escape(attributeValue);
   }
 
-  private ContainerTag renderModals() {
-    ContainerTag modalContainer =
-        div()
-            .withId("modal-container")
-            .withClasses(BaseStyles.MODAL_CONTAINER)
-            .with(div().withId("modal-glass-pane").withClasses(BaseStyles.MODAL_GLASS_PANE));
-    modals.forEach(modal -> modalContainer.with(modal.getContainerTag()));
-    return modalContainer;
+  private static void write(DomContent content, StringBuilder out) {
+    try {
+      content.render(out);
+    } catch (IOException e) {
+      // StringBuilder does not throw IOException.
+      throw new UncheckedIOException(e);
+    }
   }
 
-  public Content render() {
-    return new HtmlBundleContent(getContent());
+  /** Writes part of the page. */
+  private interface Section {
+    void writeTo(StringBuilder out);
   }
 
-  private static class HtmlBundleContent implements Content {
-    ContainerTag bundleContent;
+  /**
+   * The rendered page. Nothing is rendered until {@link #body()} is called or {@link #chunks()} is
+   * consumed.
+   */
+  public static final class HtmlBundleContent implements Content {
+    private final ImmutableList<Section> sections;
 
-    public HtmlBundleContent(ContainerTag bundleContent) {
-      this.bundleContent = bundleContent;
+    private HtmlBundleContent(ImmutableList<Section> sections) {
+      this.sections = sections;
     }
 
     @Override
     public String body() {
-      return document(new ContainerTag("html").with(bundleContent));
+      StringBuilder out = new StringBuilder();
+      sections.forEach(section -> section.writeTo(out));
+      return out.toString();
+    }
+
+    /**
+     * Returns the page as a stream of UTF-8 chunks, for use with {@code
+     * Results.ok().chunked()}. The head and header are sent as soon as the stream is consumed, so
+     * the browser can fetch stylesheets while the rest of the page renders. Main content and the
+     * footer follow in chunks of about 16K characters, rendered into a single reused buffer.
+     */
+    public Source<ByteString, NotUsed> chunks() {
+      return Source.fromIterator(() -> new ChunkIterator(sections.iterator()));
     }
 
     @Override
@@ -216,4 +278,31 @@ public class HtmlBundle {
       return "text/html";
     }
   }
+
+  private static final class ChunkIterator implements Iterator<ByteString> {
+    private final Iterator<Section> sections;
+    private final StringBuilder buffer = new StringBuilder(CHUNK_SIZE);
+    private boolean firstChunk = true;
+
+    private ChunkIterator(Iterator<Section> sections) {
+      this.sections = sections;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return sections.hasNext();
+    }
+
+    @Override
+    public ByteString next() {
+      buffer.setLength(0);
+      // The first section, the head and header, is always sent on its own.
+      sections.next().writeTo(buffer);
+      while (!firstChunk && buffer.length() < CHUNK_SIZE && sections.hasNext()) {
+        sections.next().writeTo(buffer);
+      }
+      firstChunk = false;
+      return ByteString.fromString(buffer.toString(), StandardCharsets.UTF_8);
+    }
+  }
 }
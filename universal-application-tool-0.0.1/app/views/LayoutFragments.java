@@ -0,0 +1,130 @@
+package views;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static j2html.TagCreator.meta;
+import static j2html.TagCreator.rawHtml;
+import static j2html.TagCreator.script;
+
+import com.typesafe.config.Config;
+import j2html.tags.DomContent;
+import j2html.tags.UnescapedText;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import play.i18n.Messages;
+
+/**
+ * Page fragments that are the same on every request, rendered to HTML once and spliced into pages
+ * as pre-escaped raw HTML.
+ *
+ * <p>The default fragments depend only on the configured analytics measurement ID and on asset
+ * paths, which include the asset fingerprint. Both are fixed for the life of the application, so
+ * they are rendered when this singleton is created. Layouts can cache their own invariant chrome
+ * with {@link #cached(String, Supplier)} and, for chrome that depends only on the applicant's
+ * language, {@link #cachedForLocale(String, Messages, Function)}.
+ */
+@Singleton
+public final class LayoutFragments {
+  private static final String TAILWIND_COMPILED_FILENAME = "tailwind";
+  private static final String[] FOOTER_SCRIPTS = {"main", "accordion", "modal", "radio", "toast"};
+
+  private final ViewUtils viewUtils;
+  private final UnescapedText viewportMetadata;
+  private final UnescapedText defaultStylesheets;
+  private final UnescapedText defaultFooterScripts;
+  private final ConcurrentHashMap<String, UnescapedText> cache = new ConcurrentHashMap<>();
+
+  @Inject
+  public LayoutFragments(ViewUtils viewUtils, Config configuration) {
+    this.viewUtils = checkNotNull(viewUtils);
+    String measurementId = checkNotNull(configuration).getString("measurement_id");
+
+    this.viewportMetadata =
+        rawHtml(
+            meta()
+                .attr("name", "viewport")
+                .attr("content", "width=device-width, initial-scale=1")
+                .render());
+    this.defaultStylesheets =
+        rawHtml(viewUtils.makeLocalCssTag(TAILWIND_COMPILED_FILENAME).render());
+    this.defaultFooterScripts =
+        rawHtml(
+            Stream.concat(
+                    analyticsScripts(measurementId),
+                    Arrays.stream(FOOTER_SCRIPTS)
+                        .map(source -> viewUtils.makeLocalJsTag(source).render()))
+                .collect(Collectors.joining()));
+  }
+
+  /** The viewport meta tag. */
+  public DomContent viewportMetadata() {
+    return viewportMetadata;
+  }
+
+  /** The compiled Tailwind stylesheet link. */
+  public DomContent defaultStylesheets() {
+    return defaultStylesheets;
+  }
+
+  /** The Google Analytics scripts followed by the scripts every page loads. */
+  public DomContent defaultFooterScripts() {
+    return defaultFooterScripts;
+  }
+
+  /** Script tags for the given files in public/javascripts, rendered once per distinct list. */
+  public DomContent localJsTags(String... filenames) {
+    return cached(
+        "js:" + String.join(",", filenames),
+        () ->
+            rawHtml(
+                Arrays.stream(filenames)
+                    .map(filename -> viewUtils.makeLocalJsTag(filename).render())
+                    .collect(Collectors.joining())));
+  }
+
+  /**
+   * Returns the fragment cached under {@code key}, rendering it on first use. The fragment must not
+   * depend on the request.
+   */
+  public DomContent cached(String key, Supplier<DomContent> fragment) {
+    return cache.computeIfAbsent(key, unused -> rawHtml(fragment.get().render()));
+  }
+
+  /**
+   * Returns the fragment cached under {@code key} for the language of {@code messages}, rendering
+   * it on first use. The fragment must depend on nothing but the messages.
+   */
+  public DomContent cachedForLocale(
+      String key, Messages messages, Function<Messages, DomContent> fragment) {
+    return cached(
+        key + "@" + messages.lang().toLocale().toLanguageTag(), () -> fragment.apply(messages));
+  }
+
+  /** Renders the Google Analytics scripts for the site. */
+  private static Stream<String> analyticsScripts(String trackingTag) {
+    String scriptImport =
+        script()
+            .withSrc("https://www.googletagmanager.com/gtag/js?id=" + trackingTag)
+            .attr("async", "true")
+            .withType("text/javascript")
+            .render();
+    String googleAnalyticsCode =
+        "window.dataLayer = window.dataLayer || [];"
+            + "\nfunction gtag() {"
+            + "\n\tdataLayer.push(arguments);"
+            + "\n}"
+            + "\ngtag('js', new Date());"
+            + "\ngtag('config', '%s');";
+    String rawScript =
+        script()
+            .with(rawHtml(String.format(googleAnalyticsCode, trackingTag)))
+            .withType("text/javascript")
+            .render();
+    return Stream.of(scriptImport, rawScript);
+  }
+}
@@ -14,6 +14,7 @@ import play.twirl.api.Content;
 import services.program.ProgramDefinition;
 import views.BaseHtmlLayout;
 import views.HtmlBundle;
+import views.LayoutFragments;
 import views.ViewUtils;
 import views.style.AdminStyles;
 import views.style.StyleUtils;
@@ -31,8 +32,8 @@ public class AdminLayout extends BaseHtmlLayout {
   private AdminType adminType = AdminType.CIVI_FORM_ADMIN;
 
   @Inject
-  public AdminLayout(ViewUtils viewUtils, Config configuration) {
-    super(viewUtils, configuration);
+  public AdminLayout(ViewUtils viewUtils, Config configuration, LayoutFragments layoutFragments) {
+    super(viewUtils, configuration, layoutFragments);
   }
 
   /**
@@ -62,18 +63,18 @@ public class AdminLayout extends BaseHtmlLayout {
       bundle.setTitle(currentTitle + " - CiviForm Admin Console");
     }
 
-    for (String source : FOOTER_SCRIPTS) {
-      bundle.addFooterScripts(viewUtils.makeLocalJsTag(source));
-    }
+    bundle.addFooterScripts(layoutFragments.localJsTags(FOOTER_SCRIPTS));
 
     return super.render(bundle);
   }
 
   @Override
   public HtmlBundle getBundle(HtmlBundle bundle) {
-    return super.getBundle(bundle).addHeaderContent(renderNavBar());
+    return super.getBundle(bundle)
+        .addHeaderContent(layoutFragments.cached("admin-nav:" + adminType, this::renderNavBar));
   }
 
+  /** Renders the nav bar, which depends only on the admin type. */
   private ContainerTag renderNavBar() {
     String logoutLink = org.pac4j.play.routes.LogoutController.logout().url();
 
@@ -0,0 +1,84 @@
+package views.admin.exports;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static j2html.TagCreator.div;
+import static j2html.TagCreator.meta;
+import static j2html.TagCreator.p;
+
+import com.google.inject.Inject;
+import controllers.admin.routes;
+import j2html.tags.ContainerTag;
+import models.ExportJob;
+import models.ExportJobKind;
+import models.ExportJobStatus;
+import play.twirl.api.Content;
+import views.BaseHtmlView;
+import views.HtmlBundle;
+import views.admin.AdminLayout;
+import views.components.LinkElement;
+import views.style.Styles;
+
+/** Shows the progress of an export job, and a download link once it has succeeded. */
+public class ExportJobView extends BaseHtmlView {
+  /** How often the page reloads while the export is in progress. */
+  private static final int REFRESH_SECONDS = 5;
+
+  private final AdminLayout layout;
+
+  @Inject
+  public ExportJobView(AdminLayout layout) {
+    this.layout = checkNotNull(layout);
+  }
+
+  public Content render(ExportJob job) {
+    String title =
+        job.getKind().equals(ExportJobKind.DEMOGRAPHICS_CSV)
+            ? "Demographics export"
+            : "Applications export";
+    ContainerTag contentDiv =
+        div()
+            .withId("export-job")
+            .with(
+                renderHeader(title),
+                p(String.format(
+                        "Requested %s by %s",
+                        renderDateTime(job.getCreateTime()), job.getRequestedBy()))
+                    .withClasses(Styles.TEXT_GRAY_700, Styles.ITALIC, Styles.MB_4),
+                renderStatus(job));
+
+    HtmlBundle htmlBundle = layout.getBundle().setTitle(title).addMainContent(contentDiv);
+    if (job.getStatus().isInProgress()) {
+      htmlBundle.addMetadata(
+          meta().attr("http-equiv", "refresh").attr("content", String.valueOf(REFRESH_SECONDS)));
+    }
+    return layout.renderCentered(htmlBundle);
+  }
+
+  private ContainerTag renderStatus(ExportJob job) {
+    ExportJobStatus status = job.getStatus();
+    if (status.equals(ExportJobStatus.QUEUED)) {
+      return div("Waiting to start…").withId("export-job-status");
+    }
+    if (status.equals(ExportJobStatus.RUNNING)) {
+      return div(
+              String.format(
+                  "Exported %d of %d applications…",
+                  job.getCompletedCount(), job.getTotalCount()))
+          .withId("export-job-status");
+    }
+    if (status.equals(ExportJobStatus.FAILED)) {
+      return div("The export failed: " + job.getErrorMessage().orElse("unknown error"))
+          .withId("export-job-status")
+          .withClasses(Styles.TEXT_RED_600);
+    }
+    return div(
+            div(String.format("Exported %d applications.", job.getTotalCount()))
+                .withId("export-job-status")
+                .withClasses(Styles.MB_4),
+            new LinkElement()
+                .setId("export-job-download-button")
+                .setHref(routes.AdminExportController.download(job.id).url())
+                .setText("Download " + job.getFileName())
+                .asButton());
+  }
+}
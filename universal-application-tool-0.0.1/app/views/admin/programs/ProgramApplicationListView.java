@@ -69,7 +69,7 @@ public final class ProgramApplicationListView extends BaseHtmlView {
                     applications,
                     application -> this.renderApplicationListItem(programId, application)),
                 br(),
-                renderDownloadButton(programId))
+                renderDownloadButton(programId, request))
             .withClasses(Styles.MB_16);
 
     HtmlBundle htmlBundle = layout.getBundle().setTitle(title).addMainContent(contentDiv);
@@ -103,14 +103,15 @@ public final class ProgramApplicationListView extends BaseHtmlView {
             Styles.BORDER, Styles.BORDER_GRAY_300, Styles.BG_WHITE, Styles.ROUNDED, Styles.P_4);
   }
 
-  private Tag renderDownloadButton(long programId) {
-    String link = controllers.admin.routes.AdminApplicationController.downloadAll(programId).url();
+  private Tag renderDownloadButton(long programId, Http.Request request) {
+    String link =
+        controllers.admin.routes.AdminExportController.exportProgramCsv(programId).url();
     return new LinkElement()
         .setId("download-all-button")
         .setHref(link)
         .setText("Download all (CSV)")
         .setStyles(ReferenceClasses.DOWNLOAD_ALL_BUTTON)
-        .asButton();
+        .asHiddenForm(request);
   }
 
   private Tag renderApplicationListItem(long programId, Application application) {
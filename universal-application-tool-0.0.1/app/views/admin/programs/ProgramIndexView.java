@@ -62,18 +62,18 @@ public final class ProgramIndexView extends BaseHtmlView {
                             programs.getDraftProgramDefinition(name),
                             request,
                             profile)))
-            .with(renderDownloadExportCsvButton());
+            .with(renderDownloadExportCsvButton(request));
 
     HtmlBundle htmlBundle = layout.getBundle().setTitle(pageTitle).addMainContent(contentDiv);
     return layout.renderCentered(htmlBundle);
   }
 
-  private ContainerTag renderDownloadExportCsvButton() {
+  private ContainerTag renderDownloadExportCsvButton(Http.Request request) {
     return new LinkElement()
         .setId("download-export-csv-button")
-        .setHref(routes.AdminApplicationController.downloadDemographics().url())
+        .setHref(routes.AdminExportController.exportDemographicsCsv().url())
         .setText("Download Exported Data (CSV)")
-        .asButton();
+        .asHiddenForm(request);
   }
 
   private Tag maybeRenderPublishButton(ActiveAndDraftPrograms programs, Http.Request request) {
@@ -26,6 +26,7 @@ import services.MessageKey;
 import views.BaseHtmlLayout;
 import views.HtmlBundle;
 import views.LanguageSelector;
+import views.LayoutFragments;
 import views.ViewUtils;
 import views.html.helper.CSRF;
 import views.style.ApplicantStyles;
@@ -45,31 +46,34 @@ public class ApplicantLayout extends BaseHtmlLayout {
   public ApplicantLayout(
       ViewUtils viewUtils,
       Config configuration,
+      LayoutFragments layoutFragments,
       ProfileUtils profileUtils,
       LanguageSelector languageSelector) {
-    super(viewUtils, configuration);
+    super(viewUtils, configuration, layoutFragments);
     this.profileUtils = checkNotNull(profileUtils);
     this.languageSelector = checkNotNull(languageSelector);
     this.supportEmail = checkNotNull(configuration).getString("support_email_address");
   }
 
   private Content renderWithSupportFooter(HtmlBundle bundle, Messages messages) {
-    ContainerTag supportLink =
-        div()
-            .with(
-                text(messages.at(MessageKey.FOOTER_SUPPORT_LINK_DESCRIPTION.getKeyName())),
-                text(" "),
-                a(supportEmail)
-                    .withHref("mailto:" + supportEmail)
-                    .withTarget("_blank")
-                    .withClasses(Styles.TEXT_BLUE_800))
-            .withClasses(Styles.MX_AUTO, Styles.MAX_W_SCREEN_SM, Styles.W_5_6);
-
-    bundle.addFooterContent(supportLink);
+    bundle.addFooterContent(
+        layoutFragments.cachedForLocale("support-footer", messages, this::supportLink));
 
     return render(bundle);
   }
 
+  private ContainerTag supportLink(Messages messages) {
+    return div()
+        .with(
+            text(messages.at(MessageKey.FOOTER_SUPPORT_LINK_DESCRIPTION.getKeyName())),
+            text(" "),
+            a(supportEmail)
+                .withHref("mailto:" + supportEmail)
+                .withTarget("_blank")
+                .withClasses(Styles.TEXT_BLUE_800))
+        .withClasses(Styles.MX_AUTO, Styles.MAX_W_SCREEN_SM, Styles.W_5_6);
+  }
+
   @Override
   public Content render(HtmlBundle bundle) {
     bundle.addBodyStyles(ApplicantStyles.BODY);
@@ -105,10 +109,12 @@ public class ApplicantLayout extends BaseHtmlLayout {
             Styles.P_4,
             Styles.GRID,
             Styles.GRID_COLS_3)
-        .with(branding())
+        .with(layoutFragments.cached("applicant-branding", this::branding))
         .with(maybeRenderTiButton(profile, userName))
         .with(
-            div(getLanguageForm(request, profile), logoutButton(messages))
+            div(
+                    getLanguageForm(request, profile),
+                    layoutFragments.cachedForLocale("logout", messages, this::logoutButton))
                 .withClasses(Styles.JUSTIFY_SELF_END, Styles.FLEX, Styles.FLEX_ROW));
   }
 
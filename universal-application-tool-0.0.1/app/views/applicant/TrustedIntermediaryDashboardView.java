@@ -6,12 +6,15 @@ import static j2html.TagCreator.each;
 import static j2html.TagCreator.form;
 import static j2html.TagCreator.h2;
 import static j2html.TagCreator.hr;
+import static j2html.TagCreator.input;
+import static j2html.TagCreator.p;
 import static j2html.TagCreator.table;
 import static j2html.TagCreator.tbody;
 import static j2html.TagCreator.td;
 import static j2html.TagCreator.th;
 import static j2html.TagCreator.thead;
 import static j2html.TagCreator.tr;
+import static j2html.attributes.Attr.ENCTYPE;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
@@ -67,6 +70,8 @@ public class TrustedIntermediaryDashboardView extends BaseHtmlView {
                 hr(),
                 renderHeader("Add Client"),
                 renderAddNewForm(tiGroup, request),
+                renderHeader("Import Clients"),
+                renderImportForm(tiGroup, request),
                 hr().withClasses(Styles.MT_6),
                 renderHeader("Clients"),
                 renderSearchForm(
@@ -188,6 +193,30 @@ public class TrustedIntermediaryDashboardView extends BaseHtmlView {
             Styles.BORDER, Styles.BORDER_GRAY_300, Styles.SHADOW_MD, Styles.W_1_2, Styles.MT_6);
   }
 
+  private Tag renderImportForm(TrustedIntermediaryGroup tiGroup, Http.Request request) {
+    return div()
+        .with(
+            p("Upload a CSV file with first_name, middle_name, last_name and email columns. A"
+                    + " report of which clients were added will be downloaded.")
+                .withClasses(Styles.M_2),
+            form()
+                .withMethod("POST")
+                .attr(ENCTYPE, "multipart/form-data")
+                .withAction(
+                    routes.TrustedIntermediaryController.importApplicants(tiGroup.id).url())
+                .with(
+                    // The token must come before the file, so that it is read before the upload.
+                    makeCsrfTokenInputTag(request),
+                    input()
+                        .withType("file")
+                        .withName("clients")
+                        .attr("accept", ".csv")
+                        .withClasses(Styles.M_2),
+                    submitButton("Import").withClasses(Styles.ML_2, Styles.MB_6)))
+        .withClasses(
+            Styles.BORDER, Styles.BORDER_GRAY_300, Styles.SHADOW_MD, Styles.W_1_2, Styles.MT_6);
+  }
+
   private Tag renderTIRow(Account ti) {
     return tr().withClasses(
             ReferenceClasses.ADMIN_QUESTION_TABLE_ROW,
@@ -13,15 +13,18 @@ import com.google.common.collect.ImmutableList;
 import controllers.dev.routes;
 import j2html.tags.ContainerTag;
 import java.util.Optional;
+import java.util.OptionalInt;
 import javax.inject.Inject;
 import play.mvc.Http.Request;
 import play.twirl.api.Content;
+import services.dev.SyntheticDataConfig;
 import services.program.ActiveAndDraftPrograms;
 import services.program.ProgramDefinition;
 import services.question.types.QuestionDefinition;
 import views.BaseHtmlLayout;
 import views.BaseHtmlView;
 import views.HtmlBundle;
+import views.components.FieldWithLabel;
 import views.style.Styles;
 
 public class DatabaseSeedView extends BaseHtmlView {
@@ -66,7 +69,8 @@ public class DatabaseSeedView extends BaseHtmlView {
                             .with(makeCsrfTokenInputTag(request))
                             .with(submitButton("clear", "Clear entire database (irreversible!)"))
                             .withMethod("post")
-                            .withAction(routes.DatabaseSeedController.clear().url())))
+                            .withAction(routes.DatabaseSeedController.clear().url()))
+                    .with(syntheticDataForm(request)))
             .with(
                 div()
                     .withClasses(Styles.GRID, Styles.GRID_COLS_2)
@@ -80,6 +84,36 @@ public class DatabaseSeedView extends BaseHtmlView {
     return layout.render(bundle);
   }
 
+  private ContainerTag syntheticDataForm(Request request) {
+    SyntheticDataConfig defaults = SyntheticDataConfig.builder().build();
+    return form()
+        .with(makeCsrfTokenInputTag(request))
+        .with(h2("Generate synthetic data for load testing"))
+        .with(
+            numberField("questionsPerType", "Questions per type", defaults.questionsPerType()),
+            numberField("programCount", "Programs", defaults.programCount()),
+            numberField("applicantCount", "Applicants", defaults.applicantCount()),
+            numberField(
+                "maxApplicationsPerApplicant",
+                "Maximum applications per applicant",
+                defaults.maxApplicationsPerApplicant()),
+            numberField(
+                "maxHouseholdMembers",
+                "Maximum household members per applicant",
+                defaults.maxHouseholdMembers()))
+        .with(submitButton("synthetic", "Generate synthetic data"))
+        .withMethod("post")
+        .withAction(routes.DatabaseSeedController.seedSynthetic().url());
+  }
+
+  private ContainerTag numberField(String fieldName, String labelText, int defaultValue) {
+    return FieldWithLabel.number()
+        .setFieldName(fieldName)
+        .setLabelText(labelText)
+        .setValue(OptionalInt.of(defaultValue))
+        .getContainer();
+  }
+
   private <T> String getPrettyJson(ImmutableList<T> list) {
     try {
       return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(list);
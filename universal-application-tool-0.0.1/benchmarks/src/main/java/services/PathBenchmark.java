@@ -0,0 +1,158 @@
+package services;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import services.applicant.question.Scalar;
+
+/**
+ * Measures the {@link Path} operations used while building and rendering blocks. Each benchmark has
+ * a {@code baseline} counterpart running the same operation on {@link AutoValuePath}, the previous
+ * implementation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PathBenchmark {
+
+  private static final String NESTED_PATH_STRING =
+      "applicant.household_members[3].household_members_jobs[2].income";
+  private static final String ARRAY_ELEMENT_PATH_STRING =
+      "applicant.household_members[3].household_members_jobs[2]";
+  private static final String ENUMERATOR_PATH_STRING =
+      "applicant.household_members[3].household_members_jobs[]";
+
+  private Path questionPath;
+  private Path arrayElementPath;
+  private Path enumeratorPath;
+  private Path equalQuestionPath;
+
+  private AutoValuePath baselineQuestionPath;
+  private AutoValuePath baselineArrayElementPath;
+  private AutoValuePath baselineEnumeratorPath;
+  private AutoValuePath baselineEqualQuestionPath;
+
+  @Setup
+  public void setUp() {
+    questionPath = Path.create(NESTED_PATH_STRING);
+    arrayElementPath = Path.create(ARRAY_ELEMENT_PATH_STRING);
+    enumeratorPath = Path.create(ENUMERATOR_PATH_STRING);
+    equalQuestionPath = arrayElementPath.join("income");
+
+    baselineQuestionPath = AutoValuePath.create(NESTED_PATH_STRING);
+    baselineArrayElementPath = AutoValuePath.create(ARRAY_ELEMENT_PATH_STRING);
+    baselineEnumeratorPath = AutoValuePath.create(ENUMERATOR_PATH_STRING);
+    baselineEqualQuestionPath = baselineArrayElementPath.join("income");
+  }
+
+  @Benchmark
+  public Path create() {
+    return Path.create(NESTED_PATH_STRING);
+  }
+
+  @Benchmark
+  public Path joinScalar() {
+    return questionPath.join(Scalar.NUMBER);
+  }
+
+  @Benchmark
+  public Path joinString() {
+    return arrayElementPath.join("income");
+  }
+
+  @Benchmark
+  public boolean isArrayElement() {
+    return arrayElementPath.isArrayElement();
+  }
+
+  @Benchmark
+  public int arrayIndex() {
+    return arrayElementPath.arrayIndex();
+  }
+
+  @Benchmark
+  public Path atIndex() {
+    return enumeratorPath.atIndex(7);
+  }
+
+  @Benchmark
+  public Path withoutArrayReference() {
+    return arrayElementPath.withoutArrayReference();
+  }
+
+  @Benchmark
+  public boolean startsWith() {
+    return questionPath.startsWith(enumeratorPath);
+  }
+
+  @Benchmark
+  public boolean equalsEqualPath() {
+    return questionPath.equals(equalQuestionPath);
+  }
+
+  @Benchmark
+  public int hashCodeOfNewPath() {
+    return arrayElementPath.join(Scalar.NUMBER).hashCode();
+  }
+
+  @Benchmark
+  public AutoValuePath baselineCreate() {
+    return AutoValuePath.create(NESTED_PATH_STRING);
+  }
+
+  @Benchmark
+  public AutoValuePath baselineJoinScalar() {
+    return baselineQuestionPath.join(Scalar.NUMBER);
+  }
+
+  @Benchmark
+  public AutoValuePath baselineJoinString() {
+    return baselineArrayElementPath.join("income");
+  }
+
+  @Benchmark
+  public boolean baselineIsArrayElement() {
+    return baselineArrayElementPath.isArrayElement();
+  }
+
+  @Benchmark
+  public int baselineArrayIndex() {
+    return baselineArrayElementPath.arrayIndex();
+  }
+
+  @Benchmark
+  public AutoValuePath baselineAtIndex() {
+    return baselineEnumeratorPath.atIndex(7);
+  }
+
+  @Benchmark
+  public AutoValuePath baselineWithoutArrayReference() {
+    return baselineArrayElementPath.withoutArrayReference();
+  }
+
+  @Benchmark
+  public boolean baselineStartsWith() {
+    return baselineQuestionPath.startsWith(baselineEnumeratorPath);
+  }
+
+  @Benchmark
+  public boolean baselineEqualsEqualPath() {
+    return baselineQuestionPath.equals(baselineEqualQuestionPath);
+  }
+
+  @Benchmark
+  public int baselineHashCodeOfNewPath() {
+    return baselineArrayElementPath.join(Scalar.NUMBER).hashCode();
+  }
+}
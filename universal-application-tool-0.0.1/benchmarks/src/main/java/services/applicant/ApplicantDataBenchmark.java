@@ -0,0 +1,94 @@
+package services.applicant;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import services.Path;
+import support.BenchmarkFixtures;
+import support.BenchmarkFixtures.DocumentSize;
+
+/** Measures reads, writes, comparisons and merges of {@link ApplicantData} documents. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ApplicantDataBenchmark {
+
+  private static final int GATED_BLOCK_COUNT = 10;
+
+  @Param({"SMALL", "MEDIUM", "LARGE"})
+  public DocumentSize size;
+
+  private ApplicantData applicantData;
+  private ApplicantData applicantDataCopy;
+  private Path presentPath;
+  private Path missingPath;
+  private Path enumeratorPath;
+
+  @Setup
+  public void setUp() {
+    BenchmarkFixtures fixtures = BenchmarkFixtures.withoutDatabase();
+    applicantData = fixtures.applicantData(size, GATED_BLOCK_COUNT);
+    applicantDataCopy = new ApplicantData(applicantData.asJsonString());
+    presentPath = Path.create("applicant.applicant_favorite_color.text");
+    missingPath = Path.create("applicant.applicant_favorite_color.missing");
+    enumeratorPath = Path.create("applicant.applicant_household_members[]");
+  }
+
+  @Benchmark
+  public boolean hasPath() {
+    return applicantData.hasPath(presentPath);
+  }
+
+  @Benchmark
+  public boolean hasPathMissing() {
+    return applicantData.hasPath(missingPath);
+  }
+
+  @Benchmark
+  public Object readString() {
+    return applicantData.readString(presentPath);
+  }
+
+  @Benchmark
+  public Object readRepeatedEntities() {
+    return applicantData.readRepeatedEntities(enumeratorPath);
+  }
+
+  @Benchmark
+  public ApplicantData putString() {
+    applicantDataCopy.putString(presentPath, "green");
+    return applicantDataCopy;
+  }
+
+  @Benchmark
+  public String asJsonString() {
+    return applicantData.asJsonString();
+  }
+
+  @Benchmark
+  public boolean equalsCopy() {
+    return applicantData.equals(applicantDataCopy);
+  }
+
+  @Benchmark
+  public int hashCodeDocument() {
+    return applicantData.hashCode();
+  }
+
+  @Benchmark
+  public Object mergeIntoEmpty() {
+    return new ApplicantData().mergeFrom(applicantData);
+  }
+}
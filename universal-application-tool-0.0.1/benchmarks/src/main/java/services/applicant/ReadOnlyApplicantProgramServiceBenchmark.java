@@ -0,0 +1,73 @@
+package services.applicant;
+
+import com.google.common.collect.ImmutableList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import services.program.ProgramDefinition;
+import support.BenchmarkFixtures;
+import support.BenchmarkFixtures.DocumentSize;
+
+/**
+ * Measures building blocks and summary data for an applicant, as done for every applicant page
+ * and for every application in an export. A new service is created for each operation since
+ * blocks are memoized per service instance.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ReadOnlyApplicantProgramServiceBenchmark {
+
+  @Param({"SMALL", "MEDIUM", "LARGE"})
+  public DocumentSize size;
+
+  @Param({"10", "100"})
+  public int gatedBlockCount;
+
+  private BenchmarkFixtures fixtures;
+  private ApplicantData applicantData;
+  private ProgramDefinition programDefinition;
+
+  @Setup
+  public void setUp() {
+    fixtures = BenchmarkFixtures.withDatabase();
+    programDefinition = fixtures.program(gatedBlockCount);
+    applicantData = fixtures.applicantData(size, gatedBlockCount);
+  }
+
+  @TearDown
+  public void tearDown() {
+    fixtures.stop();
+  }
+
+  @Benchmark
+  public ImmutableList<Block> getAllActiveBlocks() {
+    return new ReadOnlyApplicantProgramServiceImpl(applicantData, programDefinition)
+        .getAllActiveBlocks();
+  }
+
+  @Benchmark
+  public ImmutableList<Block> getInProgressBlocks() {
+    return new ReadOnlyApplicantProgramServiceImpl(applicantData, programDefinition)
+        .getInProgressBlocks();
+  }
+
+  @Benchmark
+  public ImmutableList<AnswerData> getSummaryData() {
+    return new ReadOnlyApplicantProgramServiceImpl(applicantData, programDefinition)
+        .getSummaryData();
+  }
+}
@@ -0,0 +1,18 @@
+package services.applicant;
+
+import services.program.ProgramDefinition;
+
+/**
+ * Gives benchmarks outside of this package access to {@link ReadOnlyApplicantProgramServiceImpl}
+ * without going through {@link ApplicantService}, which would add a database round trip to every
+ * measurement.
+ */
+public final class ReadOnlyApplicantProgramServices {
+
+  private ReadOnlyApplicantProgramServices() {}
+
+  public static ReadOnlyApplicantProgramService create(
+      ApplicantData applicantData, ProgramDefinition programDefinition) {
+    return new ReadOnlyApplicantProgramServiceImpl(applicantData, programDefinition);
+  }
+}
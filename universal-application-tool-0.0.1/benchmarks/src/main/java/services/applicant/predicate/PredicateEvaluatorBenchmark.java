@@ -0,0 +1,82 @@
+package services.applicant.predicate;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import services.applicant.ApplicantData;
+import services.program.BlockDefinition;
+import services.program.ProgramDefinition;
+import services.program.predicate.PredicateDefinition;
+import services.program.predicate.PredicateExpressionNode;
+import support.BenchmarkFixtures;
+import support.BenchmarkFixtures.DocumentSize;
+
+/** Measures evaluating the visibility predicates of every predicate-gated block in a program. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PredicateEvaluatorBenchmark {
+
+  @Param({"SMALL", "LARGE"})
+  public DocumentSize size;
+
+  @Param({"10", "100"})
+  public int gatedBlockCount;
+
+  private BenchmarkFixtures fixtures;
+  private ApplicantData applicantData;
+  private ProgramDefinition programDefinition;
+  private ImmutableList<PredicateExpressionNode> predicates;
+
+  @Setup
+  public void setUp() {
+    fixtures = BenchmarkFixtures.withDatabase();
+    programDefinition = fixtures.program(gatedBlockCount);
+    applicantData = fixtures.applicantData(size, gatedBlockCount);
+    applicantData.lock();
+    predicates =
+        programDefinition.blockDefinitions().stream()
+            .map(BlockDefinition::visibilityPredicate)
+            .flatMap(Optional::stream)
+            .map(PredicateDefinition::rootNode)
+            .collect(toImmutableList());
+  }
+
+  @TearDown
+  public void tearDown() {
+    fixtures.stop();
+  }
+
+  @Benchmark
+  public int evaluateAll() {
+    JsonPathPredicateGenerator generator =
+        new JsonPathPredicateGenerator(
+            programDefinition.streamQuestionDefinitions().collect(toImmutableList()),
+            Optional.empty());
+    PredicateEvaluator evaluator = new PredicateEvaluator(applicantData, generator);
+    int visible = 0;
+    for (PredicateExpressionNode predicate : predicates) {
+      if (evaluator.evaluate(predicate)) {
+        visible++;
+      }
+    }
+    return visible;
+  }
+}
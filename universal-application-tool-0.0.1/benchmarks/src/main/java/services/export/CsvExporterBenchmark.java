@@ -0,0 +1,89 @@
+package services.export;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+import models.Applicant;
+import models.Application;
+import models.LifecycleStage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import services.applicant.ReadOnlyApplicantProgramServices;
+import services.program.Column;
+import services.program.ColumnType;
+import services.program.ProgramDefinition;
+import support.BenchmarkFixtures;
+import support.BenchmarkFixtures.DocumentSize;
+
+/**
+ * Measures exporting a single application as a CSV row, including building the applicant's
+ * summary data, which is what {@link ExporterService#exportCsv} does for every application.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CsvExporterBenchmark {
+
+  private static final int GATED_BLOCK_COUNT = 10;
+
+  @Param({"SMALL", "MEDIUM", "LARGE"})
+  public DocumentSize size;
+
+  private BenchmarkFixtures fixtures;
+  private ProgramDefinition programDefinition;
+  private Application application;
+  private CsvExporter csvExporter;
+  private Writer writer;
+
+  @Setup
+  public void setUp() {
+    fixtures = BenchmarkFixtures.withDatabase();
+    programDefinition = fixtures.program(GATED_BLOCK_COUNT);
+    Applicant applicant = new Applicant();
+    fixtures.answerQuestions(applicant.getApplicantData(), size, GATED_BLOCK_COUNT);
+    application = new Application(applicant, programDefinition.toProgram(), LifecycleStage.ACTIVE);
+
+    ImmutableList.Builder<Column> columns = ImmutableList.builder();
+    columns.add(Column.builder().setHeader("ID").setColumnType(ColumnType.ID).build());
+    ReadOnlyApplicantProgramServices.create(application.getApplicantData(), programDefinition)
+        .getSummaryData().stream()
+        .flatMap(answerData -> answerData.scalarAnswersInDefaultLocale().keySet().stream())
+        .forEach(
+            path ->
+                columns.add(
+                    Column.builder()
+                        .setHeader(ExporterService.pathToHeader(path))
+                        .setJsonPath(path)
+                        .setColumnType(ColumnType.APPLICANT)
+                        .build()));
+    csvExporter = new CsvExporter(columns.build());
+    writer = Writer.nullWriter();
+  }
+
+  @TearDown
+  public void tearDown() {
+    fixtures.stop();
+  }
+
+  @Benchmark
+  public void exportApplication() throws IOException {
+    csvExporter.export(
+        application,
+        ReadOnlyApplicantProgramServices.create(application.getApplicantData(), programDefinition),
+        writer);
+  }
+}
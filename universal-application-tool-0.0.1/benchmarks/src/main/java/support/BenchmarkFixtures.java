@@ -0,0 +1,270 @@
+package support;
+
+import static play.test.Helpers.fakeApplication;
+
+import com.google.common.collect.ImmutableList;
+import io.ebean.Ebean;
+import io.ebean.EbeanServer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import models.LifecycleStage;
+import models.Models;
+import models.Question;
+import models.Version;
+import play.Application;
+import play.db.ebean.EbeanConfig;
+import play.test.Helpers;
+import services.LocalizedStrings;
+import services.Path;
+import services.applicant.ApplicantData;
+import services.applicant.RepeatedEntity;
+import services.applicant.question.Scalar;
+import services.program.ProgramDefinition;
+import services.program.predicate.LeafOperationExpressionNode;
+import services.program.predicate.Operator;
+import services.program.predicate.PredicateAction;
+import services.program.predicate.PredicateDefinition;
+import services.program.predicate.PredicateExpressionNode;
+import services.program.predicate.PredicateValue;
+import services.question.types.EnumeratorQuestionDefinition;
+import services.question.types.QuestionDefinition;
+import services.question.types.TextQuestionDefinition;
+
+/**
+ * Builds the programs and applicant documents used by the JMH benchmarks.
+ *
+ * <p>Applicant documents only need question definitions, so {@link #withoutDatabase()} fixtures
+ * can be used by benchmarks that do not touch programs. Programs are versioned and persisted by
+ * {@link ProgramBuilder}, so {@link #withDatabase()} starts a Play application against a
+ * testcontainers database the same way {@code repository.WithPostgresContainer} does. Call {@link
+ * #stop()} from the benchmark's trial tear down.
+ */
+public final class BenchmarkFixtures {
+
+  private static final long FIXTURE_PROGRAM_ID = 1L;
+  private static final long FIXTURE_TIMESTAMP = 1612137600000L;
+
+  /**
+   * Shapes of applicant documents. Each household member has a name and a list of jobs, and each
+   * job has an income, so documents grow with the product of the two.
+   */
+  public enum DocumentSize {
+    SMALL(0, 0),
+    MEDIUM(5, 3),
+    LARGE(50, 10);
+
+    private final int householdMembers;
+    private final int jobsPerMember;
+
+    DocumentSize(int householdMembers, int jobsPerMember) {
+      this.householdMembers = householdMembers;
+      this.jobsPerMember = jobsPerMember;
+    }
+
+    public int householdMembers() {
+      return householdMembers;
+    }
+
+    public int jobsPerMember() {
+      return jobsPerMember;
+    }
+  }
+
+  private final Optional<Application> app;
+  private final TestQuestionBank testQuestionBank;
+  private final List<Question> gatedQuestions = new ArrayList<>();
+
+  private BenchmarkFixtures(Optional<Application> app, TestQuestionBank testQuestionBank) {
+    this.app = app;
+    this.testQuestionBank = testQuestionBank;
+  }
+
+  /** Fixtures that can build applicant documents but not programs. */
+  public static BenchmarkFixtures withoutDatabase() {
+    return new BenchmarkFixtures(Optional.empty(), new TestQuestionBank(false));
+  }
+
+  /** Fixtures backed by a running Play application and an empty testcontainers database. */
+  public static BenchmarkFixtures withDatabase() {
+    Application app = fakeApplication(TestConstants.TEST_DATABASE_CONFIG);
+    Helpers.start(app);
+    ProgramBuilder.setInjector(app.injector());
+
+    EbeanServer server =
+        Ebean.getServer(app.injector().instanceOf(EbeanConfig.class).defaultServer());
+    Models.truncate(server);
+    new Version(LifecycleStage.ACTIVE).save();
+
+    return new BenchmarkFixtures(Optional.of(app), new TestQuestionBank(true));
+  }
+
+  /** Stops the Play application, if one was started. */
+  public void stop() {
+    app.ifPresent(Helpers::stop);
+  }
+
+  public <T> T instanceOf(Class<T> clazz) {
+    return app.orElseThrow(() -> new IllegalStateException("Fixtures have no application."))
+        .injector()
+        .instanceOf(clazz);
+  }
+
+  /**
+   * Creates an active program with a household member enumerator, a nested job enumerator, and
+   * {@code gatedBlockCount} top-level blocks that are each shown only if the applicant can juggle
+   * more items than the block's index.
+   */
+  public ProgramDefinition program(int gatedBlockCount) {
+    ProgramBuilder.BlockBuilder blockBuilder =
+        ProgramBuilder.newActiveProgram("benchmark program")
+            .withBlock("applicant")
+            .withQuestions(
+                testQuestionBank.applicantName(),
+                testQuestionBank.applicantEmail(),
+                testQuestionBank.applicantDate())
+            .withBlock("preferences")
+            .withQuestions(
+                testQuestionBank.applicantFavoriteColor(),
+                testQuestionBank.applicantJugglingNumber(),
+                testQuestionBank.applicantSeason(),
+                testQuestionBank.applicantKitchenTools())
+            .withBlock("address")
+            .withQuestion(testQuestionBank.applicantAddress())
+            .withBlock("household")
+            .withQuestion(testQuestionBank.applicantHouseholdMembers())
+            .withRepeatedBlock("household member name")
+            .withQuestion(testQuestionBank.applicantHouseholdMemberName())
+            .withAnotherRepeatedBlock("household member jobs")
+            .withQuestion(testQuestionBank.applicantHouseholdMemberJobs())
+            .withRepeatedBlock("household member job income")
+            .withQuestion(testQuestionBank.applicantHouseholdMemberJobIncome());
+
+    long jugglingQuestionId = testQuestionBank.applicantJugglingNumber().id;
+    for (int i = 0; i < gatedBlockCount; i++) {
+      blockBuilder =
+          blockBuilder
+              .withBlock("gated block " + i)
+              .withQuestion(gatedQuestion(i))
+              .withPredicate(
+                  PredicateDefinition.create(
+                      PredicateExpressionNode.create(
+                          LeafOperationExpressionNode.create(
+                              jugglingQuestionId,
+                              Scalar.NUMBER,
+                              Operator.GREATER_THAN,
+                              PredicateValue.of(i))),
+                      PredicateAction.SHOW_BLOCK));
+    }
+    return blockBuilder.buildDefinition();
+  }
+
+  /** Returns a new {@link ApplicantData} answering every question for the given document size. */
+  public ApplicantData applicantData(DocumentSize size, int gatedBlockCount) {
+    ApplicantData applicantData = new ApplicantData();
+    answerQuestions(applicantData, size, gatedBlockCount);
+    return applicantData;
+  }
+
+  /**
+   * Answers the questions of {@link #program(int)} in {@code applicantData}. Half of the gated
+   * blocks are visible for the resulting document.
+   */
+  public void answerQuestions(ApplicantData applicantData, DocumentSize size, int gatedBlockCount) {
+    QuestionAnswerer.answerNameQuestion(
+        applicantData, topLevelPath(testQuestionBank.applicantName()), "Alice", "P", "Walker");
+    QuestionAnswerer.answerEmailQuestion(
+        applicantData, topLevelPath(testQuestionBank.applicantEmail()), "alice@example.com");
+    QuestionAnswerer.answerDateQuestion(
+        applicantData, topLevelPath(testQuestionBank.applicantDate()), "1980-01-01");
+    QuestionAnswerer.answerTextQuestion(
+        applicantData, topLevelPath(testQuestionBank.applicantFavoriteColor()), "blue");
+    QuestionAnswerer.answerNumberQuestion(
+        applicantData,
+        topLevelPath(testQuestionBank.applicantJugglingNumber()),
+        gatedBlockCount / 2);
+    QuestionAnswerer.answerSingleSelectQuestion(
+        applicantData, topLevelPath(testQuestionBank.applicantSeason()), 2L);
+    Path kitchenToolsPath = topLevelPath(testQuestionBank.applicantKitchenTools());
+    QuestionAnswerer.answerMultiSelectQuestion(applicantData, kitchenToolsPath, 0, 1L);
+    QuestionAnswerer.answerMultiSelectQuestion(applicantData, kitchenToolsPath, 1, 3L);
+    QuestionAnswerer.answerAddressQuestion(
+        applicantData,
+        topLevelPath(testQuestionBank.applicantAddress()),
+        "123 Main St",
+        "Apt 4",
+        "Seattle",
+        "WA",
+        "98101");
+    for (int i = 0; i < gatedBlockCount; i++) {
+      QuestionAnswerer.answerTextQuestion(
+          applicantData, topLevelPath(gatedQuestion(i)), "answer " + i);
+    }
+
+    EnumeratorQuestionDefinition householdMembers =
+        (EnumeratorQuestionDefinition)
+            testQuestionBank.applicantHouseholdMembers().getQuestionDefinition();
+    QuestionAnswerer.answerEnumeratorQuestion(
+        applicantData,
+        householdMembers.getContextualizedPath(Optional.empty(), ApplicantData.APPLICANT_PATH),
+        entityNames("member", size.householdMembers()));
+
+    EnumeratorQuestionDefinition jobs =
+        (EnumeratorQuestionDefinition)
+            testQuestionBank.applicantHouseholdMemberJobs().getQuestionDefinition();
+    QuestionDefinition memberName =
+        testQuestionBank.applicantHouseholdMemberName().getQuestionDefinition();
+    QuestionDefinition jobIncome =
+        testQuestionBank.applicantHouseholdMemberJobIncome().getQuestionDefinition();
+    for (RepeatedEntity member :
+        RepeatedEntity.createRepeatedEntities(householdMembers, applicantData)) {
+      QuestionAnswerer.answerNameQuestion(
+          applicantData,
+          memberName.getContextualizedPath(Optional.of(member), ApplicantData.APPLICANT_PATH),
+          member.entityName(),
+          "",
+          "Walker");
+      QuestionAnswerer.answerEnumeratorQuestion(
+          applicantData,
+          jobs.getContextualizedPath(Optional.of(member), ApplicantData.APPLICANT_PATH),
+          entityNames("job", size.jobsPerMember()));
+      for (RepeatedEntity job : member.createNestedRepeatedEntities(jobs, applicantData)) {
+        Path incomePath =
+            jobIncome.getContextualizedPath(Optional.of(job), ApplicantData.APPLICANT_PATH);
+        QuestionAnswerer.answerNumberQuestion(applicantData, incomePath, 1000L + job.index());
+        QuestionAnswerer.addMetadata(
+            applicantData, incomePath, FIXTURE_PROGRAM_ID, FIXTURE_TIMESTAMP);
+      }
+    }
+  }
+
+  /** The question answered in the gated block with the given index. */
+  private Question gatedQuestion(int index) {
+    while (gatedQuestions.size() <= index) {
+      gatedQuestions.add(
+          testQuestionBank.maybeSave(
+              new TextQuestionDefinition(
+                  "gated question " + gatedQuestions.size(),
+                  Optional.empty(),
+                  "A question shown only to some applicants",
+                  LocalizedStrings.of(Locale.US, "What is your answer?"),
+                  LocalizedStrings.of(Locale.US, "This is sample help text.")),
+              LifecycleStage.ACTIVE));
+    }
+    return gatedQuestions.get(index);
+  }
+
+  private static Path topLevelPath(Question question) {
+    return question
+        .getQuestionDefinition()
+        .getContextualizedPath(Optional.empty(), ApplicantData.APPLICANT_PATH);
+  }
+
+  private static ImmutableList<String> entityNames(String prefix, int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> prefix + " " + i)
+        .collect(ImmutableList.toImmutableList());
+  }
+}
@@ -0,0 +1,23 @@
+# --- Background export jobs.
+
+# --- !Ups
+create table if not exists export_jobs (
+  id bigserial primary key,
+  kind varchar not null,
+  status varchar not null,
+  program_id bigint references programs(id) on delete cascade,
+  requested_by varchar,
+  completed_count integer not null default 0,
+  total_count integer not null default 0,
+  file_name varchar,
+  result_key varchar,
+  error_message varchar,
+  create_time timestamp not null,
+  update_time timestamp not null
+);
+
+create index if not exists export_jobs_by_create_time on export_jobs (create_time desc);
+
+# --- !Downs
+drop index if exists export_jobs_by_create_time;
+drop table if exists export_jobs;
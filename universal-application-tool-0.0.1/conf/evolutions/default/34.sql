@@ -0,0 +1,10 @@
+# --- Keyset indexes for the application change feed.
+
+# --- !Ups
+create index if not exists applications_by_submit_time on applications (submit_time, id);
+create index if not exists applications_by_program_and_submit_time
+  on applications (program_id, submit_time, id);
+
+# --- !Downs
+drop index if exists applications_by_program_and_submit_time;
+drop index if exists applications_by_submit_time;
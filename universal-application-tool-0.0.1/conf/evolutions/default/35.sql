@@ -0,0 +1,7 @@
+# --- Version applicant data so that partial updates can detect concurrent edits.
+
+# --- !Ups
+alter table applicants add column if not exists object_version bigint not null default 0;
+
+# --- !Downs
+alter table applicants drop column if exists object_version;
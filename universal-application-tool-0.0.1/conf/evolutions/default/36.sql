@@ -0,0 +1,10 @@
+# --- Indexes for looking up an applicant's applications and programs by name.
+
+# --- !Ups
+create index if not exists applications_by_applicant
+  on applications (applicant_id, lifecycle_stage, program_id);
+create index if not exists programs_by_name on programs (name);
+
+# --- !Downs
+drop index if exists programs_by_name;
+drop index if exists applications_by_applicant;
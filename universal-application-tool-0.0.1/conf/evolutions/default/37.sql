@@ -0,0 +1,12 @@
+# --- Draft applications read the applicant's data rather than keeping a copy of it.
+
+# --- !Ups
+alter table applications alter column object drop not null;
+update applications set object = null where lifecycle_stage = 'draft';
+
+# --- !Downs
+update applications
+  set object = applicants.object
+  from applicants
+  where applications.applicant_id = applicants.id and applications.object is null;
+alter table applications alter column object set not null;
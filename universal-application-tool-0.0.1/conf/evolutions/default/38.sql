@@ -0,0 +1,77 @@
+# --- Full-text search over applications, by applicant name, email and text answers.
+# --- Semicolons in function bodies are doubled so that evolutions doesn't split on them.
+
+# --- !Ups
+create or replace function application_search_vector(
+  object jsonb, submitter_email varchar, account_email varchar)
+returns tsvector
+language sql immutable
+as $$
+  select
+    setweight(to_tsvector('simple', concat_ws(' ',
+      object #>> '{applicant,name,first}',
+      object #>> '{applicant,name,middle}',
+      object #>> '{applicant,name,last}')), 'A')
+    || setweight(to_tsvector('simple', concat_ws(' ', account_email, submitter_email)), 'B')
+    || setweight(jsonb_to_tsvector('simple',
+      coalesce(jsonb_path_query_array(object, 'lax $.applicant.**.text'), '[]'),
+      '["string"]'), 'C')
+$$;
+
+alter table applications add column if not exists search_vector tsvector;
+
+-- Drafts don't keep a copy of the applicant's data, so they are indexed by the applicant's.
+create or replace function applications_update_search_vector() returns trigger
+language plpgsql
+as $$
+begin
+  select application_search_vector(
+      coalesce(new.object, applicants.object), new.submitter_email, accounts.email_address)
+    into new.search_vector
+    from applicants left join accounts on accounts.id = applicants.account_id
+    where applicants.id = new.applicant_id;;
+  return new;;
+end
+$$;
+
+create trigger applications_search_vector
+  before insert or update of object, submitter_email, applicant_id on applications
+  for each row execute function applications_update_search_vector();
+
+-- Keep drafts searchable by the applicant's latest answers.
+create or replace function applicants_update_draft_search_vectors() returns trigger
+language plpgsql
+as $$
+begin
+  update applications
+    set search_vector = application_search_vector(
+      new.object,
+      applications.submitter_email,
+      (select email_address from accounts where accounts.id = new.account_id))
+    where applications.applicant_id = new.id and applications.object is null;;
+  return null;;
+end
+$$;
+
+create trigger applicants_draft_search_vectors
+  after update of object, account_id on applicants
+  for each row execute function applicants_update_draft_search_vectors();
+
+update applications
+  set search_vector = application_search_vector(
+    coalesce(applications.object, applicants.object),
+    applications.submitter_email,
+    accounts.email_address)
+  from applicants left join accounts on accounts.id = applicants.account_id
+  where applicants.id = applications.applicant_id;
+
+create index if not exists applications_search on applications using gin (search_vector);
+
+# --- !Downs
+drop index if exists applications_search;
+drop trigger if exists applicants_draft_search_vectors on applicants;
+drop function if exists applicants_update_draft_search_vectors();
+drop trigger if exists applications_search_vector on applications;
+drop function if exists applications_update_search_vector();
+alter table applications drop column if exists search_vector;
+drop function if exists application_search_vector(jsonb, varchar, varchar);
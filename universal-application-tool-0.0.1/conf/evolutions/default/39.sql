@@ -0,0 +1,32 @@
+# --- An archive for obsolete and deleted applications, which are moved out of applications.
+
+# --- !Ups
+create table if not exists applications_archive (
+  id bigint primary key,
+  applicant_id bigint,
+  program_id bigint,
+  object jsonb,
+  lifecycle_stage varchar,
+  create_time timestamp,
+  submit_time timestamp,
+  preferred_locale varchar,
+  submitter_email varchar(255),
+  archive_time timestamp not null default current_timestamp
+);
+create index if not exists applications_archive_by_applicant
+  on applications_archive (applicant_id, program_id);
+create index if not exists applications_archive_by_program
+  on applications_archive (program_id, submit_time, id);
+
+create index if not exists applications_to_archive
+  on applications (submit_time) where lifecycle_stage in ('obsolete', 'deleted');
+
+# --- !Downs
+drop index if exists applications_to_archive;
+insert into applications
+  (id, applicant_id, program_id, object, lifecycle_stage, create_time, submit_time,
+    preferred_locale, submitter_email)
+  select id, applicant_id, program_id, object, lifecycle_stage, create_time, submit_time,
+    preferred_locale, submitter_email
+  from applications_archive;
+drop table if exists applications_archive;
@@ -0,0 +1,37 @@
+# --- Index drafts when the draft is saved, rather than on every write to the applicant.
+# --- Semicolons in function bodies are doubled so that evolutions doesn't split on them.
+
+# --- !Ups
+drop trigger if exists applicants_draft_search_vectors on applicants;
+drop function if exists applicants_update_draft_search_vectors();
+
+-- Saving a draft updates its submit time, so drafts are indexed by the applicant's data as it was
+-- when the draft was last saved.
+drop trigger if exists applications_search_vector on applications;
+create trigger applications_search_vector
+  before insert or update of object, submitter_email, applicant_id, submit_time on applications
+  for each row execute function applications_update_search_vector();
+
+# --- !Downs
+drop trigger if exists applications_search_vector on applications;
+create trigger applications_search_vector
+  before insert or update of object, submitter_email, applicant_id on applications
+  for each row execute function applications_update_search_vector();
+
+create or replace function applicants_update_draft_search_vectors() returns trigger
+language plpgsql
+as $$
+begin
+  update applications
+    set search_vector = application_search_vector(
+      new.object,
+      applications.submitter_email,
+      (select email_address from accounts where accounts.id = new.account_id))
+    where applications.applicant_id = new.id and applications.object is null;;
+  return null;;
+end
+$$;
+
+create trigger applicants_draft_search_vectors
+  after update of object, account_id on applicants
+  for each row execute function applicants_update_draft_search_vectors();
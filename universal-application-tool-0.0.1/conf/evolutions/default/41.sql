@@ -0,0 +1,23 @@
+# --- Move applicants' object_version on every write, however the applicant is saved.
+# --- Semicolons in function bodies are doubled so that evolutions doesn't split on them.
+
+# --- !Ups
+-- Full saves write whatever version they loaded, so the database sets the version itself. A patch
+-- made from data loaded before any other write then finds the version moved on and is rejected.
+create or replace function applicants_increment_object_version() returns trigger
+language plpgsql
+as $$
+begin
+  new.object_version := old.object_version + 1;;
+  return new;;
+end
+$$;
+
+drop trigger if exists applicants_object_version on applicants;
+create trigger applicants_object_version
+  before update on applicants
+  for each row execute function applicants_increment_object_version();
+
+# --- !Downs
+drop trigger if exists applicants_object_version on applicants;
+drop function if exists applicants_increment_object_version();
@@ -0,0 +1,16 @@
+# --- Submitted and obsolete applications always keep a copy of the applicant's data.
+
+# --- !Ups
+-- Drafts that were made obsolete before they were given a copy are given the applicant's data as
+-- it is now, which is the closest to what they held that is still known.
+update applications
+  set object = applicants.object, preferred_locale = applicants.preferred_locale
+  from applicants
+  where applications.applicant_id = applicants.id
+    and applications.object is null
+    and applications.lifecycle_stage in ('active', 'obsolete');
+alter table applications add constraint applications_object_unless_draft
+  check (object is not null or lifecycle_stage not in ('active', 'obsolete'));
+
+# --- !Downs
+alter table applications drop constraint if exists applications_object_unless_draft;
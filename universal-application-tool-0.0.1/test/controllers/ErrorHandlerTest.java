@@ -0,0 +1,41 @@
+package controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static play.test.Helpers.fakeRequest;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.Test;
+import play.http.HttpErrorHandler;
+import play.mvc.Http;
+import play.mvc.Result;
+import play.test.WithApplication;
+
+public class ErrorHandlerTest extends WithApplication {
+
+  @Test
+  public void onServerError_rejectedWork_isServiceUnavailable() {
+    Result result =
+        instanceOf(HttpErrorHandler.class)
+            .onServerError(
+                fakeRequest().build(),
+                new CompletionException(new RejectedExecutionException("full")))
+            .toCompletableFuture()
+            .join();
+
+    assertThat(result.status()).isEqualTo(Http.Status.SERVICE_UNAVAILABLE);
+    assertThat(result.header(Http.HeaderNames.RETRY_AFTER))
+        .hasValue(ErrorHandler.RETRY_AFTER_SECONDS);
+  }
+
+  @Test
+  public void onServerError_otherErrors_areServerErrors() {
+    Result result =
+        instanceOf(HttpErrorHandler.class)
+            .onServerError(fakeRequest().build(), new IllegalStateException("broken"))
+            .toCompletableFuture()
+            .join();
+
+    assertThat(result.status()).isEqualTo(Http.Status.INTERNAL_SERVER_ERROR);
+  }
+}
@@ -163,8 +163,8 @@ public class AdminQuestionControllerTest extends WithPostgresContainer {
               assertThat(result.status()).isEqualTo(OK);
               assertThat(result.contentType()).hasValue("text/html");
               assertThat(result.charset()).hasValue("utf-8");
-              assertThat(contentAsString(result)).contains("Total Questions: 2");
-              assertThat(contentAsString(result)).contains("All Questions");
+              assertThat(contentAsString(result, mat)).contains("Total Questions: 2");
+              assertThat(contentAsString(result, mat)).contains("All Questions");
             })
         .toCompletableFuture()
         .join();
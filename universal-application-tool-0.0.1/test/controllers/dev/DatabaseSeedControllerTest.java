@@ -37,7 +37,7 @@ public class DatabaseSeedControllerTest extends WithPostgresContainer {
     assertThat(result.flash().get("success")).hasValue("The database has been seeded");
 
     // Clear the data.
-    result = controller.clear();
+    result = controller.clear().toCompletableFuture().join();
     assertThat(result.redirectLocation()).hasValue(routes.DatabaseSeedController.index().url());
     assertThat(result.flash().get("success")).hasValue("The database has been cleared");
   }
@@ -58,10 +58,18 @@ public class DatabaseSeedControllerTest extends WithPostgresContainer {
     assertThat(result.status()).isEqualTo(NOT_FOUND);
   }
 
+  @Test
+  public void seedSynthetic_inNonDevMode_returnsNotFound() {
+    DatabaseSeedController controller = createControllerInMode(Mode.TEST);
+    Result result = controller.seedSynthetic(fakeRequest().build());
+
+    assertThat(result.status()).isEqualTo(NOT_FOUND);
+  }
+
   @Test
   public void clear_inNonDevMode_returnsNotFound() {
     DatabaseSeedController controller = createControllerInMode(Mode.TEST);
-    Result result = controller.clear();
+    Result result = controller.clear().toCompletableFuture().join();
 
     assertThat(result.status()).isEqualTo(NOT_FOUND);
   }
@@ -0,0 +1,93 @@
+package filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static play.test.Helpers.fakeRequest;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.ConfigFactory;
+import org.junit.Before;
+import org.junit.Test;
+import play.mvc.Http;
+import play.mvc.Result;
+import play.mvc.Results;
+
+public class CachingPolicyFilterTest {
+
+  private CachingPolicyFilter filter;
+
+  @Before
+  public void setUp() {
+    filter =
+        new CachingPolicyFilter(
+            Runnable::run,
+            ConfigFactory.parseMap(
+                ImmutableMap.of(
+                    "http_caching.public_paths",
+                    ImmutableList.of("/loginForm"),
+                    "http_caching.public_max_age",
+                    "2 minutes")));
+  }
+
+  @Test
+  public void fingerprintedAsset_isImmutable() {
+    Result result =
+        apply(
+            "/assets/javascripts/0123456789abcdef0123456789abcdef-main.js",
+            Results.ok().withHeader(Http.HeaderNames.ETAG, "\"abc\""));
+
+    assertThat(result.header(Http.HeaderNames.CACHE_CONTROL))
+        .hasValue(CachingPolicyFilter.IMMUTABLE);
+    assertThat(result.header(Http.HeaderNames.ETAG)).hasValue("\"abc\"");
+    assertThat(result.header(Http.HeaderNames.PRAGMA)).isEmpty();
+  }
+
+  @Test
+  public void assetWithoutFingerprint_keepsAssetsControllerHeaders() {
+    Result result =
+        apply(
+            "/assets/stylesheets/tailwind.css",
+            Results.ok().withHeader(Http.HeaderNames.CACHE_CONTROL, "no-cache"));
+
+    assertThat(result.header(Http.HeaderNames.CACHE_CONTROL)).hasValue("no-cache");
+  }
+
+  @Test
+  public void missingAsset_isNotStored() {
+    Result result =
+        apply("/assets/javascripts/0123456789abcdef0123456789abcdef-gone.js", Results.notFound());
+
+    assertThat(result.header(Http.HeaderNames.CACHE_CONTROL))
+        .hasValue(CachingPolicyFilter.NO_STORE);
+  }
+
+  @Test
+  public void publicPage_isCachedBriefly() {
+    Result result = apply("/loginForm", Results.ok());
+
+    assertThat(result.header(Http.HeaderNames.CACHE_CONTROL)).hasValue("public, max-age=120");
+  }
+
+  @Test
+  public void publicPageSettingSession_isNotStored() {
+    Result result =
+        apply("/loginForm", Results.ok().addingToSession(fakeRequest().build(), "key", "value"));
+
+    assertThat(result.header(Http.HeaderNames.CACHE_CONTROL))
+        .hasValue(CachingPolicyFilter.NO_STORE);
+  }
+
+  @Test
+  public void applicantPage_isNotStored() {
+    Result result = apply("/applicants/1/programs", Results.ok());
+
+    assertThat(result.header(Http.HeaderNames.CACHE_CONTROL))
+        .hasValue(CachingPolicyFilter.NO_STORE);
+    assertThat(result.header(Http.HeaderNames.PRAGMA)).hasValue("no-cache");
+    assertThat(result.header(Http.HeaderNames.EXPIRES)).hasValue("0");
+  }
+
+  private Result apply(String path, Result result) {
+    return filter.applyPolicy(fakeRequest("GET", path).build(), result);
+  }
+}
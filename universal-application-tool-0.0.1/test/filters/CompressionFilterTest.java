@@ -0,0 +1,74 @@
+package filters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static play.test.Helpers.fakeRequest;
+
+import akka.stream.Materializer;
+import akka.stream.javadsl.Source;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.ConfigFactory;
+import org.junit.Before;
+import org.junit.Test;
+import play.mvc.Http;
+import play.mvc.Result;
+import play.mvc.Results;
+
+public class CompressionFilterTest {
+
+  private CompressionFilter filter;
+
+  @Before
+  public void setUp() {
+    filter =
+        new CompressionFilter(
+            ConfigFactory.parseMap(
+                ImmutableMap.of(
+                    "compression.content_types",
+                    ImmutableList.of("text/html", "text/csv"),
+                    "compression.min_size",
+                    "100 B")),
+            mock(Materializer.class));
+  }
+
+  @Test
+  public void largeResponseOfListedType_isCompressed() {
+    Result result = Results.ok(Strings.repeat("a", 100)).as(Http.MimeTypes.HTML);
+
+    assertThat(shouldCompress(result)).isTrue();
+  }
+
+  @Test
+  public void contentTypeParameters_areIgnored() {
+    Result result = Results.ok(Strings.repeat("a", 100)).as("text/csv; charset=utf-8");
+
+    assertThat(shouldCompress(result)).isTrue();
+  }
+
+  @Test
+  public void streamedResponseOfListedType_isCompressed() {
+    Result result = Results.ok().chunked(Source.empty()).as(Http.MimeTypes.HTML);
+
+    assertThat(shouldCompress(result)).isTrue();
+  }
+
+  @Test
+  public void smallResponse_isNotCompressed() {
+    Result result = Results.ok(Strings.repeat("a", 99)).as(Http.MimeTypes.HTML);
+
+    assertThat(shouldCompress(result)).isFalse();
+  }
+
+  @Test
+  public void unlistedContentType_isNotCompressed() {
+    Result result = Results.ok(new byte[1000]).as("application/pdf");
+
+    assertThat(shouldCompress(result)).isFalse();
+  }
+
+  private boolean shouldCompress(Result result) {
+    return filter.shouldCompress(fakeRequest().build(), result);
+  }
+}
@@ -86,7 +86,7 @@ public class ApplicantTest extends WithPostgresContainer {
     data2.putString(subMapBar, "bar");
     data1.putString(subMapFoo, "also_foo");
 
-    List<Path> removedPaths = data1.mergeFrom(data2);
+    List<Path> removedPaths = data1.mergeFrom(data2).conflicts();
 
     assertThat(removedPaths).contains(foo);
     assertThat(removedPaths).doesNotContain(subMapFoo);
@@ -1,9 +1,13 @@
 package repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import io.ebean.DB;
 import java.time.Instant;
+import java.util.Locale;
 import java.util.Optional;
+import javax.persistence.PersistenceException;
 import models.Applicant;
 import models.Application;
 import models.LifecycleStage;
@@ -13,11 +17,14 @@ import org.junit.Test;
 import services.Path;
 
 public class ApplicationRepositoryTest extends WithPostgresContainer {
+  private static final Path NAME = Path.create("$.applicant.name");
+
   private ApplicationRepository repo;
 
   @Before
   public void setupApplicantRepository() {
     repo = instanceOf(ApplicationRepository.class);
+    DB.sqlUpdate("truncate applications_archive").execute();
   }
 
   @Test
@@ -54,6 +61,24 @@ public class ApplicationRepositoryTest extends WithPostgresContainer {
         .isEqualTo(LifecycleStage.ACTIVE);
   }
 
+  @Test
+  public void submitApplication_obsoletesApplicationsToEveryVersionOfTheProgram() {
+    Applicant applicant = saveApplicant("Alice");
+    Program oldVersion = saveProgram("Program");
+    Program newVersion = saveProgram("Program");
+    Program otherProgram = saveProgram("OtherProgram");
+    Application first = submit(applicant, oldVersion);
+    Application other = submit(applicant, otherProgram);
+    Application second = submit(applicant, newVersion);
+
+    Application third = submit(applicant, newVersion);
+
+    assertThat(lifecycleStage(first)).isEqualTo(LifecycleStage.OBSOLETE);
+    assertThat(lifecycleStage(second)).isEqualTo(LifecycleStage.OBSOLETE);
+    assertThat(lifecycleStage(third)).isEqualTo(LifecycleStage.ACTIVE);
+    assertThat(lifecycleStage(other)).isEqualTo(LifecycleStage.ACTIVE);
+  }
+
   @Test
   public void createOrUpdateDraftApplication_updatesExistingDraft() {
     Applicant applicant = saveApplicant("Alice");
@@ -68,9 +93,145 @@ public class ApplicationRepositoryTest extends WithPostgresContainer {
     assertThat(applicationTwo.getSubmitTime()).isAfter(initialSubmitTime);
   }
 
+  @Test
+  public void createOrUpdateDraft_readsApplicantsCurrentAnswers() {
+    Applicant applicant = saveApplicant("Alice");
+    Program program = saveProgram("Program");
+    Application draft = repo.createOrUpdateDraft(applicant, program).toCompletableFuture().join();
+
+    applicant.getApplicantData().putString(NAME, "Bob");
+    applicant.save();
+
+    Application reloaded = repo.getApplication(draft.id).toCompletableFuture().join().get();
+    assertThat(reloaded.getApplicantData().readString(NAME)).hasValue("Bob");
+  }
+
+  @Test
+  public void submitApplication_snapshotsApplicantsAnswers() {
+    Applicant applicant = saveApplicant("Alice");
+    Program program = saveProgram("Program");
+    Application draft = repo.createOrUpdateDraft(applicant, program).toCompletableFuture().join();
+    repo.submitApplication(applicant, program, Optional.empty()).toCompletableFuture().join();
+
+    applicant.getApplicantData().putString(NAME, "Bob");
+    applicant.save();
+
+    Application submitted = repo.getApplication(draft.id).toCompletableFuture().join().get();
+    assertThat(submitted.getLifecycleStage()).isEqualTo(LifecycleStage.ACTIVE);
+    assertThat(submitted.getApplicantData().readString(NAME)).hasValue("Alice");
+  }
+
+  @Test
+  public void submitApplication_snapshotsDraftsItMakesObsolete() {
+    Applicant applicant = saveApplicant("Alice");
+    Program oldVersion = saveProgram("Program");
+    Program newVersion = saveProgram("Program");
+    Application oldDraft =
+        repo.createOrUpdateDraft(applicant, oldVersion).toCompletableFuture().join();
+    repo.createOrUpdateDraft(applicant, newVersion).toCompletableFuture().join();
+    applicant.getApplicantData().putString(NAME, "Alicia");
+    applicant.getApplicantData().setPreferredLocale(Locale.FRENCH);
+    applicant.save();
+    Application submitted =
+        repo.submitApplication(applicant, newVersion, Optional.empty())
+            .toCompletableFuture()
+            .join();
+
+    applicant.getApplicantData().putString(NAME, "Bob");
+    applicant.getApplicantData().setPreferredLocale(Locale.GERMAN);
+    applicant.save();
+
+    Application obsolete = repo.getApplication(oldDraft.id).toCompletableFuture().join().get();
+    assertThat(obsolete.getLifecycleStage()).isEqualTo(LifecycleStage.OBSOLETE);
+    // The copy is the applicant's data when the other application was submitted, not when the
+    // draft was last saved.
+    assertThat(obsolete.getApplicantData().readString(NAME)).hasValue("Alicia");
+    assertThat(obsolete.getApplicantData().preferredLocale()).isEqualTo(Locale.FRENCH);
+    assertThat(
+            DB.sqlQuery("select preferred_locale from applications where id = ?")
+                .setParameter(1, oldDraft.id)
+                .mapToScalar(String.class)
+                .findOne())
+        .isEqualTo(Locale.FRENCH.toLanguageTag());
+    assertThat(obsolete.getApplicantData().asJsonString())
+        .isEqualTo(
+            repo.getApplication(submitted.id)
+                .toCompletableFuture()
+                .join()
+                .get()
+                .getApplicantData()
+                .asJsonString());
+  }
+
+  @Test
+  public void applications_onlyDraftsMayHaveNoApplicantData() {
+    Applicant applicant = saveApplicant("Alice");
+    Program program = saveProgram("Program");
+    Application draft = repo.createOrUpdateDraft(applicant, program).toCompletableFuture().join();
+    Application submitted = submit(applicant, saveProgram("OtherProgram"));
+
+    assertThat(
+            DB.sqlUpdate("update applications set object = null where id = ?")
+                .setParameter(1, draft.id)
+                .execute())
+        .isEqualTo(1);
+    assertThatThrownBy(
+            () ->
+                DB.sqlUpdate("update applications set object = null where id = ?")
+                    .setParameter(1, submitted.id)
+                    .execute())
+        .isInstanceOf(PersistenceException.class);
+  }
+
+  private Application submit(Applicant applicant, Program program) {
+    return repo.submitApplication(applicant, program, Optional.empty())
+        .toCompletableFuture()
+        .join();
+  }
+
+  @Test
+  public void archiveApplications_movesObsoleteApplicationsToTheArchive() {
+    Applicant applicant = saveApplicant("Alice");
+    Program program = saveProgram("Program");
+    Application obsolete = submit(applicant, program);
+    Application active = submit(applicant, program);
+
+    assertThat(repo.archiveApplications(Instant.now().plusSeconds(60), 10)).isEqualTo(1);
+
+    assertThat(DB.find(Application.class).findIds()).containsExactly(active.id);
+    Application archived = repo.getApplication(obsolete.id).toCompletableFuture().join().get();
+    assertThat(archived.getLifecycleStage()).isEqualTo(LifecycleStage.OBSOLETE);
+    assertThat(archived.getApplicantData().readString(NAME)).hasValue("Alice");
+    assertThat(repo.getArchivedApplications(applicant.id))
+        .extracting(application -> application.id)
+        .containsExactly(obsolete.id);
+  }
+
+  @Test
+  public void archiveApplications_archivesOnlyOldApplicationsInBatches() {
+    Applicant applicant = saveApplicant("Alice");
+    Program program = saveProgram("Program");
+    for (int i = 0; i < 4; i++) {
+      submit(applicant, program);
+    }
+
+    assertThat(repo.archiveApplications(Instant.now().minusSeconds(60), 2)).isEqualTo(0);
+    assertThat(repo.archiveApplications(Instant.now().plusSeconds(60), 2)).isEqualTo(2);
+    assertThat(repo.archiveApplications(Instant.now().plusSeconds(60), 2)).isEqualTo(1);
+    assertThat(repo.getArchivedApplications(applicant.id)).hasSize(3);
+  }
+
+  private LifecycleStage lifecycleStage(Application application) {
+    return repo.getApplication(application.id)
+        .toCompletableFuture()
+        .join()
+        .get()
+        .getLifecycleStage();
+  }
+
   private Applicant saveApplicant(String name) {
     Applicant applicant = new Applicant();
-    applicant.getApplicantData().putString(Path.create("$.applicant.name"), name);
+    applicant.getApplicantData().putString(NAME, name);
     applicant.save();
     return applicant;
   }
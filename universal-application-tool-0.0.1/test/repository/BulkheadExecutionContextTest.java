@@ -0,0 +1,93 @@
+package repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import akka.actor.ActorSystem;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BulkheadExecutionContextTest {
+
+  private ActorSystem actorSystem;
+  private BulkheadExecutionContext executionContext;
+
+  @Before
+  public void setUp() {
+    actorSystem =
+        ActorSystem.create(
+            "BulkheadExecutionContextTest",
+            ConfigFactory.parseString(
+                "test.dispatcher {\n"
+                    + "  executor = \"thread-pool-executor\"\n"
+                    + "  thread-pool-executor.fixed-pool-size = 1\n"
+                    + "  max-queued-tasks = 1\n"
+                    + "}"));
+    executionContext = new TestExecutionContext(actorSystem);
+  }
+
+  @After
+  public void tearDown() {
+    actorSystem.terminate();
+  }
+
+  @Test
+  public void execute_rejectsTasksBeyondCapacity() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CompletableFuture<Void> running =
+        CompletableFuture.runAsync(() -> awaitQuietly(release), executionContext);
+    CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> {}, executionContext);
+
+    assertThat(executionContext.inFlightCount()).isEqualTo(2);
+    assertThatThrownBy(() -> CompletableFuture.runAsync(() -> {}, executionContext))
+        .isInstanceOf(RejectedExecutionException.class);
+    assertThat(executionContext.rejectedCount()).isEqualTo(1);
+
+    release.countDown();
+    CompletableFuture.allOf(running, queued).get(10, TimeUnit.SECONDS);
+    awaitIdle();
+    CompletableFuture.runAsync(() -> {}, executionContext).get(10, TimeUnit.SECONDS);
+    assertThat(executionContext.rejectedCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void connectionPool_isSumOfDispatcherPoolsAndListener() {
+    Config config = ConfigFactory.load();
+
+    assertThat(config.getInt("play.db.prototype.hikaricp.maximumPoolSize"))
+        .isEqualTo(
+            config.getInt("database.dispatcher.thread-pool-executor.fixed-pool-size")
+                + config.getInt("database.admin.dispatcher.thread-pool-executor.fixed-pool-size")
+                + config.getInt("export.dispatcher.thread-pool-executor.fixed-pool-size")
+                + config.getInt("invalidationListenerConnections"));
+  }
+
+  /** Permits are released just after a task completes, so wait for them rather than racing. */
+  private void awaitIdle() throws InterruptedException {
+    for (int i = 0; i < 100 && executionContext.inFlightCount() > 0; i++) {
+      Thread.sleep(10);
+    }
+    assertThat(executionContext.inFlightCount()).isEqualTo(0);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class TestExecutionContext extends BulkheadExecutionContext {
+    TestExecutionContext(ActorSystem actorSystem) {
+      super(actorSystem, "test.dispatcher");
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.ebean.DB;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import models.Program;
+import org.junit.Before;
+import org.junit.Test;
+import support.ProgramBuilder;
+
+public class CacheInvalidationBusTest extends WithPostgresContainer {
+
+  private CacheInvalidationBus bus;
+  private BlockingQueue<String> received;
+
+  @Before
+  public void setUp() {
+    bus = instanceOf(CacheInvalidationBus.class);
+    received = new LinkedBlockingQueue<>();
+    bus.subscribe(
+        new CacheInvalidationBus.Listener() {
+          @Override
+          public void invalidate(CacheInvalidationBus.Entity entity, long id) {
+            received.add(entity + ":" + id);
+          }
+
+          @Override
+          public void invalidateAll() {
+            received.add("all");
+          }
+        });
+  }
+
+  @Test
+  public void notificationFromAnotherServer_isDelivered() throws Exception {
+    DB.sqlQuery("select pg_notify(?, ?)")
+        .setParameter(1, CacheInvalidationBus.CHANNEL)
+        .setParameter(2, "VERSION:42")
+        .findOne();
+
+    assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("VERSION:42");
+  }
+
+  @Test
+  public void unrecognizedNotification_invalidatesAll() throws Exception {
+    DB.sqlQuery("select pg_notify(?, ?)")
+        .setParameter(1, CacheInvalidationBus.CHANNEL)
+        .setParameter(2, "SOMETHING_NEW")
+        .findOne();
+
+    assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("all");
+  }
+
+  @Test
+  public void publish_isDeliveredLocallyAndOverTheChannel() throws Exception {
+    bus.publish(CacheInvalidationBus.Entity.VERSION, 7L);
+
+    assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("VERSION:7");
+    assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("VERSION:7");
+  }
+
+  @Test
+  public void reconnect_invalidatesAll() throws Exception {
+    DB.sqlQuery("select pg_terminate_backend(pid) from pg_stat_activity where query = ?")
+        .setParameter(1, "LISTEN " + CacheInvalidationBus.CHANNEL)
+        .findList();
+
+    assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("all");
+  }
+
+  @Test
+  public void publishingAVersion_evictsCachedProgramForSlug() {
+    ProgramRepository programRepository = instanceOf(ProgramRepository.class);
+    VersionRepository versionRepository = instanceOf(VersionRepository.class);
+    Program active = ProgramBuilder.newActiveProgram("Cached Program").build();
+    assertThat(programRepository.getForSlug("cached-program").join().id).isEqualTo(active.id);
+
+    Program draft = programRepository.createOrUpdateDraft(active);
+    versionRepository.publishNewSynchronizedVersion();
+
+    assertThat(programRepository.getForSlug("cached-program").join().id).isEqualTo(draft.id);
+  }
+}
@@ -6,10 +6,15 @@ import io.ebean.DB;
 import java.util.Locale;
 import java.util.Optional;
 import models.Account;
+import models.Applicant;
+import models.Application;
+import models.LifecycleStage;
 import models.Program;
 import org.junit.Before;
 import org.junit.Test;
 import services.LocalizedStrings;
+import services.Path;
+import services.WellKnownPaths;
 import services.program.ProgramNotFoundException;
 
 public class ProgramRepositoryTest extends WithPostgresContainer {
@@ -40,6 +45,109 @@ public class ProgramRepositoryTest extends WithPostgresContainer {
     assertThat(found).hasValue(two);
   }
 
+  @Test
+  public void getApplications_returnsApplicationsToProgram() {
+    Program program = resourceCreator.insertActiveProgram("program");
+    resourceCreator.insertActiveProgram("other");
+    Application application =
+        new Application(resourceCreator.insertApplicant(), program, LifecycleStage.ACTIVE);
+    application.save();
+
+    assertThat(repo.getApplications(program.id).get())
+        .extracting(found -> found.id)
+        .containsExactly(application.id);
+  }
+
+  @Test
+  public void getApplications_programNotFound_isEmpty() {
+    assertThat(repo.getApplications(1L)).isEmpty();
+  }
+
+  @Test
+  public void searchApplications_ranksNamesAboveAnswers() {
+    Program program = resourceCreator.insertActiveProgram("program");
+    Application byAnswer =
+        submitApplication(program, saveApplicant("Grace", "Hopper", "Worked with Ada"));
+    Application byName = submitApplication(program, saveApplicant("Ada", "Lovelace", "Poetry"));
+    submitApplication(program, saveApplicant("Alan", "Turing", "Computing"));
+    submitApplication(
+        resourceCreator.insertActiveProgram("other"), saveApplicant("Ada", "Other", ""));
+
+    assertThat(repo.searchApplications(program.id, "ada", 10, 0))
+        .extracting(application -> application.id)
+        .containsExactly(byName.id, byAnswer.id);
+    assertThat(repo.searchApplications(program.id, "ADA", 1, 1))
+        .extracting(application -> application.id)
+        .containsExactly(byAnswer.id);
+    assertThat(repo.countApplicationsMatching(program.id, "ada")).isEqualTo(2);
+  }
+
+  @Test
+  public void searchApplications_matchesTheStartsOfWords() {
+    Program program = resourceCreator.insertActiveProgram("program");
+    Application john = submitApplication(program, saveApplicant("John", "Smith", ""));
+    submitApplication(program, saveApplicant("Jane", "Smith", ""));
+    submitApplication(program, saveApplicant("Mojo", "Jones", ""));
+
+    assertThat(repo.searchApplications(program.id, "Jo Smi", 10, 0))
+        .extracting(application -> application.id)
+        .containsExactly(john.id);
+    assertThat(repo.countApplicationsMatching(program.id, "Jo Smi")).isEqualTo(1);
+    assertThat(repo.countApplicationsMatching(program.id, "Smi")).isEqualTo(2);
+    assertThat(repo.countApplicationsMatching(program.id, "jo & | !*")).isEqualTo(2);
+    assertThat(repo.searchApplications(program.id, " ():* ", 10, 0)).isEmpty();
+  }
+
+  @Test
+  public void prefixQuery_dropsQuerySyntax() {
+    assertThat(ProgramRepository.prefixQuery("Jo  O'Brien")).hasValue("'Jo':* & 'OBrien':*");
+    assertThat(ProgramRepository.prefixQuery("a&b (c|!d)")).hasValue("'ab':* & 'cd':*");
+    assertThat(ProgramRepository.prefixQuery("  * ")).isEmpty();
+  }
+
+  @Test
+  public void searchApplications_matchesAccountAndSubmitterEmails() {
+    Program program = resourceCreator.insertActiveProgram("program");
+    Applicant withAccount = saveApplicant("Ada", "Lovelace", "");
+    withAccount.setAccount(resourceCreator.insertAccountWithEmail("ada@example.com"));
+    withAccount.save();
+    Application byAccount = submitApplication(program, withAccount);
+    Application bySubmitter =
+        new Application(saveApplicant("Grace", "Hopper", ""), program, LifecycleStage.ACTIVE);
+    bySubmitter.setSubmitterEmail("ti@example.com");
+    bySubmitter.save();
+
+    assertThat(repo.searchApplications(program.id, "ada@example.com", 10, 0))
+        .extracting(application -> application.id)
+        .containsExactly(byAccount.id);
+    assertThat(repo.searchApplications(program.id, "ti@example.com", 10, 0))
+        .extracting(application -> application.id)
+        .containsExactly(bySubmitter.id);
+  }
+
+  @Test
+  public void searchApplications_draftsMatchTheAnswersWhenLastSaved() {
+    ApplicationRepository applicationRepo = instanceOf(ApplicationRepository.class);
+    Program program = resourceCreator.insertActiveProgram("program");
+    Applicant applicant = saveApplicant("Ada", "Lovelace", "");
+    Application draft =
+        applicationRepo.createOrUpdateDraft(applicant, program).toCompletableFuture().join();
+
+    applicant.getApplicantData().putString(WellKnownPaths.APPLICANT_LAST_NAME, "Byron");
+    applicant.save();
+
+    assertThat(repo.searchApplications(program.id, "lovelace", 10, 0))
+        .extracting(application -> application.id)
+        .containsExactly(draft.id);
+
+    applicationRepo.createOrUpdateDraft(applicant, program).toCompletableFuture().join();
+
+    assertThat(repo.searchApplications(program.id, "lovelace", 10, 0)).isEmpty();
+    assertThat(repo.searchApplications(program.id, "byron", 10, 0))
+        .extracting(application -> application.id)
+        .containsExactly(draft.id);
+  }
+
   @Test
   public void loadLegacy() {
     DB.sqlUpdate(
@@ -139,4 +247,19 @@ public class ProgramRepositoryTest extends WithPostgresContainer {
     Program newDraft = repo.createOrUpdateDraft(withAdmins);
     assertThat(repo.getProgramAdministrators(newDraft.id)).containsExactly(admin);
   }
+
+  private Applicant saveApplicant(String firstName, String lastName, String answer) {
+    Applicant applicant = new Applicant();
+    applicant.getApplicantData().putString(WellKnownPaths.APPLICANT_FIRST_NAME, firstName);
+    applicant.getApplicantData().putString(WellKnownPaths.APPLICANT_LAST_NAME, lastName);
+    applicant.getApplicantData().putString(Path.create("applicant.favorite_thing.text"), answer);
+    applicant.save();
+    return applicant;
+  }
+
+  private Application submitApplication(Program program, Applicant applicant) {
+    Application application = new Application(applicant, program, LifecycleStage.ACTIVE);
+    application.save();
+    return application;
+  }
 }
@@ -0,0 +1,181 @@
+package repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Joiner;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.ebean.Ebean;
+import io.ebean.EbeanServer;
+import io.ebean.Query;
+import io.ebean.Transaction;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Optional;
+import models.Applicant;
+import models.Application;
+import models.LifecycleStage;
+import models.Program;
+import org.junit.Before;
+import org.junit.Test;
+import play.db.ebean.EbeanConfig;
+
+/**
+ * Checks that the hot queries on applications are served by an index, by explaining them against
+ * seeded data with sequential scans disabled. Postgres still plans a sequential scan if no index
+ * can serve the query, so one appearing in the plan means an index is missing.
+ *
+ * <p>The SQL is what the repositories actually run: Ebean queries are built by the repositories and
+ * run once to capture the SQL Ebean generates for them, and native statements are the
+ * repositories' own constants. Each is explained as a prepared statement with a generic plan, the
+ * plan Postgres uses whatever the parameters are.
+ */
+public class QueryPlanTest extends WithPostgresContainer {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  /** The number of statements prepared, which names the next one. */
+  private static int statementCount = 0;
+
+  private EbeanServer ebeanServer;
+  private ApplicationRepository applicationRepository;
+  private UserRepository userRepository;
+  private Applicant applicant;
+  private Program program;
+
+  @Before
+  public void seed() {
+    ebeanServer = Ebean.getServer(instanceOf(EbeanConfig.class).defaultServer());
+    applicationRepository = instanceOf(ApplicationRepository.class);
+    userRepository = instanceOf(UserRepository.class);
+    for (int i = 0; i < 10; i++) {
+      Program seededProgram = resourceCreator.insertActiveProgram("program " + i);
+      for (int j = 0; j < 20; j++) {
+        Applicant seededApplicant = resourceCreator.insertApplicant();
+        new Application(seededApplicant, seededProgram, LifecycleStage.ACTIVE).save();
+        new Application(seededApplicant, seededProgram, LifecycleStage.DRAFT).save();
+      }
+      program = seededProgram;
+    }
+    applicant = resourceCreator.insertApplicant();
+    ebeanServer.createSqlUpdate("analyze applications").execute();
+    ebeanServer.createSqlUpdate("analyze programs").execute();
+  }
+
+  @Test
+  public void submitApplication_findsDraftToProgramByIndex() throws Exception {
+    assertNoSequentialScans(
+        generatedSql(applicationRepository.draftToProgramQuery(applicant.id, "program 0")),
+        "applications",
+        "programs");
+  }
+
+  @Test
+  public void submitApplication_obsoletesOldApplicationsByIndex() throws Exception {
+    assertNoSequentialScans(
+        ApplicationRepository.OBSOLETE_OTHER_APPLICATIONS_SQL, "applications", "programs");
+  }
+
+  @Test
+  public void createOrUpdateDraft_findsDraftByIndex() throws Exception {
+    assertNoSequentialScans(
+        generatedSql(applicationRepository.draftQuery(applicant.id, program.id)), "applications");
+  }
+
+  @Test
+  public void programsForApplicant_findsDraftsByIndex() throws Exception {
+    assertNoSequentialScans(
+        generatedSql(userRepository.programsWithDraftsQuery(applicant.id)), "applications");
+  }
+
+  @Test
+  public void getProgramApplications_findsApplicationsByIndex() throws Exception {
+    assertNoSequentialScans(
+        generatedSql(ProgramRepository.applicationsQuery(ebeanServer, program.id)),
+        "applications");
+  }
+
+  @Test
+  public void getApplicationsChangedAfter_readsPageByIndex() throws Exception {
+    assertNoSequentialScans(
+        generatedSql(
+            applicationRepository.changedAfterQuery(
+                Optional.empty(), Instant.EPOCH, 0L, Instant.now(), 500)),
+        "applications");
+  }
+
+  @Test
+  public void getApplicationsChangedAfter_readsProgramPageByIndex() throws Exception {
+    assertNoSequentialScans(
+        generatedSql(
+            applicationRepository.changedAfterQuery(
+                Optional.of(ImmutableSet.of(program.id)), Instant.EPOCH, 0L, Instant.now(), 500)),
+        "applications");
+  }
+
+  @Test
+  public void archiveApplications_findsApplicationsToArchiveByIndex() throws Exception {
+    assertNoSequentialScans(ApplicationRepository.ARCHIVE_APPLICATIONS_SQL, "applications");
+  }
+
+  /** Runs the query, since Ebean only generates its SQL when it is run, and returns the SQL. */
+  private static String generatedSql(Query<?> query) {
+    query.findList();
+    return query.getGeneratedSql();
+  }
+
+  /**
+   * Explains the generic plan of the SQL, with every parameter null, and asserts that none of the
+   * tables is scanned sequentially.
+   */
+  private void assertNoSequentialScans(String sql, String... tables) throws Exception {
+    int parameterCount = CharMatcher.is('?').countIn(sql);
+    // Prepared statements outlive the transaction, so each one gets its own name in case an
+    // earlier one wasn't deallocated because its explain failed.
+    String name = "explained_" + statementCount++;
+    JsonNode plan;
+    try (Transaction transaction = ebeanServer.beginTransaction();
+        Statement statement = transaction.getConnection().createStatement()) {
+      statement.execute("set local enable_seqscan = off");
+      statement.execute("set local plan_cache_mode = force_generic_plan");
+      statement.execute("prepare " + name + " as " + numberParameters(sql));
+      String nulls = Joiner.on(", ").join(Collections.nCopies(parameterCount, "null"));
+      String execute = parameterCount == 0 ? name : name + "(" + nulls + ")";
+      try (ResultSet result = statement.executeQuery("explain (format json) execute " + execute)) {
+        result.next();
+        plan = MAPPER.readTree(result.getString(1)).get(0).get("Plan");
+      }
+      statement.execute("deallocate " + name);
+    }
+    assertThat(sequentiallyScannedTables(plan)).as(sql + "\n" + plan).doesNotContain(tables);
+  }
+
+  /** Replaces JDBC's {@code ?} placeholders with the numbered ones that PREPARE expects. */
+  private static String numberParameters(String sql) {
+    StringBuilder numbered = new StringBuilder();
+    int parameter = 0;
+    for (char c : sql.toCharArray()) {
+      if (c == '?') {
+        numbered.append('$').append(++parameter);
+      } else {
+        numbered.append(c);
+      }
+    }
+    return numbered.toString();
+  }
+
+  private static ImmutableList<String> sequentiallyScannedTables(JsonNode plan) {
+    ImmutableList.Builder<String> tables = ImmutableList.builder();
+    if (plan.path("Node Type").asText().equals("Seq Scan")) {
+      tables.add(plan.path("Relation Name").asText());
+    }
+    for (JsonNode child : plan.path("Plans")) {
+      tables.addAll(sequentiallyScannedTables(child));
+    }
+    return tables.build();
+  }
+}
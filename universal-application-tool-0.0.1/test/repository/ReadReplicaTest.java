@@ -0,0 +1,52 @@
+package repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.ebean.EbeanServer;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.Test;
+
+public class ReadReplicaTest {
+
+  private final EbeanServer primary = mock(EbeanServer.class);
+  private final EbeanServer replica = mock(EbeanServer.class);
+
+  @Test
+  public void forReads_withoutReplica_usesPrimary() {
+    ReadReplica readReplica = new ReadReplica(primary, Optional.empty(), Duration.ofMinutes(1));
+    readReplica.recordWriteBy("other");
+
+    assertThat(readReplica.forReads()).isSameAs(primary);
+    assertThat(readReplica.forReadsBy("session")).isSameAs(primary);
+  }
+
+  @Test
+  public void forReads_withReplica_usesReplica() {
+    ReadReplica readReplica = new ReadReplica(primary, Optional.of(replica), Duration.ofMinutes(1));
+
+    assertThat(readReplica.forReads()).isSameAs(replica);
+    assertThat(readReplica.forReadsBy("session")).isSameAs(replica);
+  }
+
+  @Test
+  public void forReadsBy_sessionThatJustWrote_usesPrimary() {
+    ReadReplica readReplica = new ReadReplica(primary, Optional.of(replica), Duration.ofMinutes(1));
+
+    readReplica.recordWriteBy("session");
+
+    assertThat(readReplica.forReadsBy("session")).isSameAs(primary);
+    assertThat(readReplica.forReadsBy("other")).isSameAs(replica);
+    assertThat(readReplica.forReads()).isSameAs(replica);
+  }
+
+  @Test
+  public void forReadsBy_afterWindow_usesReplica() {
+    ReadReplica readReplica = new ReadReplica(primary, Optional.of(replica), Duration.ZERO);
+
+    readReplica.recordWriteBy("session");
+
+    assertThat(readReplica.forReadsBy("session")).isSameAs(replica);
+  }
+}
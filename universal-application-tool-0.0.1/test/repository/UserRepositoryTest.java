@@ -1,14 +1,20 @@
 package repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.persistence.OptimisticLockException;
 import models.Account;
 import models.Applicant;
 import org.junit.Before;
 import org.junit.Test;
 import services.Path;
+import services.applicant.ApplicantData;
 import services.program.ProgramDefinition;
 import support.ProgramBuilder;
 
@@ -84,6 +90,119 @@ public class UserRepositoryTest extends WithPostgresContainer {
     assertThat(a.getApplicantData().readString(Path.create(path))).hasValue("1/1/2021");
   }
 
+  @Test
+  public void updateApplicant_patchesOnlyChangedAnswers() {
+    Applicant applicant = new Applicant();
+    applicant.getApplicantData().putString(Path.create("applicant.name"), "Alice");
+    applicant.getApplicantData().putString(Path.create("applicant.color"), "blue");
+    repo.insertApplicant(applicant).toCompletableFuture().join();
+    Applicant loaded = repo.lookupApplicant(applicant.id).toCompletableFuture().join().get();
+
+    loaded.getApplicantData().putString(Path.create("applicant.color"), "green");
+    loaded.getApplicantData().putString(Path.create("applicant.pets[0].name"), "Rex");
+    loaded.getApplicantData().setPreferredLocale(Locale.FRENCH);
+    repo.updateApplicant(loaded).toCompletableFuture().join();
+
+    Applicant reloaded = repo.lookupApplicant(applicant.id).toCompletableFuture().join().get();
+    ApplicantData data = reloaded.getApplicantData();
+    assertThat(data.readString(Path.create("applicant.name"))).hasValue("Alice");
+    assertThat(data.readString(Path.create("applicant.color"))).hasValue("green");
+    assertThat(data.readString(Path.create("applicant.pets[0].name"))).hasValue("Rex");
+    assertThat(reloaded.getApplicantData().preferredLocale()).isEqualTo(Locale.FRENCH);
+    assertThat(reloaded.getObjectVersion()).isEqualTo(loaded.getObjectVersion());
+  }
+
+  @Test
+  public void updateApplicant_staleApplicant_isRejected() {
+    Applicant applicant = new Applicant();
+    repo.insertApplicant(applicant).toCompletableFuture().join();
+    Applicant first = repo.lookupApplicant(applicant.id).toCompletableFuture().join().get();
+    Applicant second = repo.lookupApplicant(applicant.id).toCompletableFuture().join().get();
+
+    first.getApplicantData().putString(Path.create("applicant.name"), "Alice");
+    repo.updateApplicant(first).toCompletableFuture().join();
+    second.getApplicantData().putString(Path.create("applicant.name"), "Bob");
+
+    assertThatThrownBy(() -> repo.updateApplicant(second).toCompletableFuture().join())
+        .hasCauseInstanceOf(OptimisticLockException.class);
+    Applicant reloaded = repo.lookupApplicant(applicant.id).toCompletableFuture().join().get();
+    assertThat(reloaded.getApplicantData().readString(Path.create("applicant.name")))
+        .hasValue("Alice");
+  }
+
+  @Test
+  public void save_staleApplicant_rejectsLaterPatchesFromOlderData() {
+    Applicant applicant = new Applicant();
+    repo.insertApplicant(applicant).toCompletableFuture().join();
+    Applicant first = repo.lookupApplicant(applicant.id).toCompletableFuture().join().get();
+    Applicant second = repo.lookupApplicant(applicant.id).toCompletableFuture().join().get();
+
+    second.getApplicantData().putString(Path.create("applicant.name"), "Bob");
+    second.save();
+    first.getApplicantData().putString(Path.create("applicant.color"), "blue");
+
+    assertThatThrownBy(() -> repo.updateApplicant(first).toCompletableFuture().join())
+        .hasCauseInstanceOf(OptimisticLockException.class);
+    Applicant reloaded = repo.lookupApplicant(applicant.id).toCompletableFuture().join().get();
+    assertThat(reloaded.getApplicantData().readString(Path.create("applicant.name")))
+        .hasValue("Bob");
+    assertThat(reloaded.getObjectVersion()).isEqualTo(applicant.getObjectVersion() + 1);
+  }
+
+  @Test
+  public void save_concurrentFullSaves_bothSucceed() {
+    Applicant applicant = new Applicant();
+    repo.insertApplicant(applicant).toCompletableFuture().join();
+    Applicant first = repo.lookupApplicant(applicant.id).toCompletableFuture().join().get();
+    Applicant second = repo.lookupApplicant(applicant.id).toCompletableFuture().join().get();
+
+    first.getApplicantData().putString(Path.create("applicant.name"), "Alice");
+    first.save();
+    second.getApplicantData().putString(Path.create("applicant.name"), "Bob");
+    second.save();
+
+    Applicant reloaded = repo.lookupApplicant(applicant.id).toCompletableFuture().join().get();
+    assertThat(reloaded.getApplicantData().readString(Path.create("applicant.name")))
+        .hasValue("Bob");
+    assertThat(reloaded.getObjectVersion()).isEqualTo(applicant.getObjectVersion() + 2);
+  }
+
+  @Test
+  public void retryOnConflict_runsTheAttemptAgain() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    String result =
+        UserRepository.<String>retryOnConflict(
+                () ->
+                    attempts.incrementAndGet() < 3
+                        ? CompletableFuture.failedFuture(new OptimisticLockException())
+                        : CompletableFuture.completedFuture("saved"),
+                Runnable::run)
+            .toCompletableFuture()
+            .join();
+
+    assertThat(result).isEqualTo("saved");
+    assertThat(attempts.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void retryOnConflict_givesUpAfterThreeAttempts() {
+    AtomicInteger attempts = new AtomicInteger();
+
+    assertThatThrownBy(
+            () ->
+                UserRepository.retryOnConflict(
+                        () -> {
+                          attempts.incrementAndGet();
+                          return CompletableFuture.failedFuture(new OptimisticLockException());
+                        },
+                        Runnable::run)
+                    .toCompletableFuture()
+                    .join())
+        .hasCauseInstanceOf(OptimisticLockException.class);
+    assertThat(attempts.get()).isEqualTo(3);
+  }
+
   @Test
   public void lookupApplicantSync_returnsEmptyOptionalWhenApplicantNotFound() {
     Optional<Applicant> found = repo.lookupApplicantSync(1L);
@@ -0,0 +1,55 @@
+package services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.ebean.DB;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import models.Applicant;
+import models.Application;
+import models.LifecycleStage;
+import models.Program;
+import org.junit.Before;
+import org.junit.Test;
+import repository.ApplicationRepository;
+import repository.WithPostgresContainer;
+
+public class ApplicationArchiveJobTest extends WithPostgresContainer {
+
+  private ApplicationRepository applicationRepository;
+
+  @Before
+  public void setUp() {
+    applicationRepository = instanceOf(ApplicationRepository.class);
+    DB.sqlUpdate("truncate applications_archive").execute();
+  }
+
+  @Test
+  public void archive_movesApplicationsObsoleteForLongerThanTheMinimumAge() {
+    Applicant applicant = resourceCreator.insertApplicant();
+    Program program = resourceCreator.insertActiveProgram("program");
+    Application old = submit(applicant, program);
+    Application recent = submit(applicant, program);
+    submit(applicant, program);
+    DB.sqlUpdate("update applications set submit_time = ? where id = ?")
+        .setParameter(1, Timestamp.from(Instant.now().minus(Duration.ofDays(91))))
+        .setParameter(2, old.id)
+        .execute();
+
+    assertThat(instanceOf(ApplicationArchiveJob.class).archive()).isEqualTo(1);
+
+    assertThat(applicationRepository.getArchivedApplications(applicant.id))
+        .extracting(application -> application.id)
+        .containsExactly(old.id);
+    assertThat(DB.find(Application.class).where().idEq(recent.id).findOne()).isNotNull();
+  }
+
+  private Application submit(Applicant applicant, Program program) {
+    return applicationRepository
+        .submitApplication(applicant, program, Optional.empty())
+        .toCompletableFuture()
+        .join();
+  }
+}
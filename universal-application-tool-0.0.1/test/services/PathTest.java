@@ -1,6 +1,7 @@
 package services;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.junit.Test;
 import services.applicant.question.Scalar;
@@ -207,4 +208,44 @@ public class PathTest {
 
     assertThat(path.startsWith(other)).isFalse();
   }
+
+  @Test
+  public void create_sameString_returnsInternedPath() {
+    assertThat(Path.create("applicant.interned.path"))
+        .isSameAs(Path.create("applicant.interned.path"));
+  }
+
+  @Test
+  public void equalsAndHashCode_pathsBuiltDifferently() {
+    Path created = Path.create("Applicant.Household[2].First_Name");
+    Path joined = Path.create("applicant").join("household[]").atIndex(2).join(Scalar.FIRST_NAME);
+
+    assertThat(joined).isEqualTo(created);
+    assertThat(joined.hashCode()).isEqualTo(created.hashCode());
+    assertThat(joined).isNotEqualTo(Path.create("applicant.household[3].first_name"));
+    assertThat(joined).isNotEqualTo(Path.create("household[2].first_name"));
+  }
+
+  @Test
+  public void arrayIndex_nestedArraySuffixes_usesLastIndex() {
+    Path path = Path.create("one.two[1][2]");
+
+    assertThat(path.arrayIndex()).isEqualTo(2);
+    assertThat(path.withoutArrayReference()).isEqualTo(Path.create("one.two[1]"));
+  }
+
+  @Test
+  public void arrayIndex_forNonIndexedArrayPath_throws() {
+    Path path = Path.create("one.two[]");
+
+    assertThatThrownBy(path::arrayIndex)
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("This path one.two[] does not reference a repeated entity element.");
+  }
+
+  @Test
+  public void isArrayElement_nonNumericIndex_isFalse() {
+    assertThat(Path.create("one.two[a]").isArrayElement()).isFalse();
+    assertThat(Path.create("one.two]").isArrayElement()).isFalse();
+  }
 }
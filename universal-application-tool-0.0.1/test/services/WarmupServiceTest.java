@@ -0,0 +1,98 @@
+package services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static play.test.Helpers.fakeRequest;
+import static play.test.Helpers.route;
+
+import auth.ProfileUtils;
+import com.google.common.collect.ImmutableList;
+import com.jayway.jsonpath.spi.cache.CacheProvider;
+import controllers.HomeController;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Test;
+import play.i18n.MessagesApi;
+import play.libs.concurrent.HttpExecutionContext;
+import play.mvc.Http;
+import play.mvc.Result;
+import repository.WithPostgresContainer;
+import services.applicant.predicate.JsonPathPredicateGenerator;
+import services.applicant.question.Scalar;
+import services.program.ProgramService;
+import services.program.predicate.LeafOperationExpressionNode;
+import services.program.predicate.Operator;
+import services.program.predicate.PredicateAction;
+import services.program.predicate.PredicateDefinition;
+import services.program.predicate.PredicateExpressionNode;
+import services.program.predicate.PredicateValue;
+import services.question.QuestionService;
+import services.question.types.QuestionDefinition;
+import support.ProgramBuilder;
+import views.LoginForm;
+
+public class WarmupServiceTest extends WithPostgresContainer {
+
+  @Test
+  public void warmUp_loadsActiveProgramsAndTheirPredicates() throws Exception {
+    QuestionDefinition colorQuestion =
+        testQuestionBank.applicantFavoriteColor().getQuestionDefinition();
+    // A value no other test uses, so the path isn't already in JsonPath's cache.
+    LeafOperationExpressionNode leaf =
+        LeafOperationExpressionNode.create(
+            colorQuestion.getId(), Scalar.TEXT, Operator.EQUAL_TO, PredicateValue.of("warm-up"));
+    PredicateDefinition predicate =
+        PredicateDefinition.create(
+            PredicateExpressionNode.create(leaf), PredicateAction.HIDE_BLOCK);
+    String path =
+        new JsonPathPredicateGenerator(ImmutableList.of(colorQuestion), Optional.empty())
+            .fromLeafNode(leaf)
+            .pathPredicate();
+    ProgramBuilder.newActiveProgram("with predicate")
+        .withBlock()
+        .withQuestionDefinition(colorQuestion)
+        .withBlock()
+        .withPredicate(predicate)
+        .build();
+    ProgramBuilder.newActiveProgram("without predicate").withBlock().build();
+    ProgramBuilder.newDraftProgram("draft only").withBlock().build();
+
+    assertThat(CacheProvider.getCache().get(path)).isNull();
+
+    assertThat(instanceOf(WarmupService.class).warmUp()).isEqualTo(2);
+    assertThat(CacheProvider.getCache().get(path)).isNotNull();
+  }
+
+  @Test
+  public void ready_failsUntilWarmedUp() {
+    List<Runnable> pending = new ArrayList<>();
+    WarmupService warmupService =
+        new WarmupService(
+            instanceOf(ProgramService.class), instanceOf(QuestionService.class), pending::add);
+    HomeController controller =
+        new HomeController(
+            instanceOf(LoginForm.class),
+            instanceOf(ProfileUtils.class),
+            instanceOf(MessagesApi.class),
+            instanceOf(HttpExecutionContext.class),
+            warmupService);
+
+    assertThat(controller.ready().status()).isEqualTo(Http.Status.SERVICE_UNAVAILABLE);
+
+    pending.forEach(Runnable::run);
+
+    assertThat(controller.ready().status()).isEqualTo(Http.Status.OK);
+  }
+
+  @Test
+  public void ready_succeedsOnceWarmedUp() throws Exception {
+    WarmupService warmupService = instanceOf(WarmupService.class);
+    for (int i = 0; i < 100 && !warmupService.isReady(); i++) {
+      Thread.sleep(100);
+    }
+
+    Result result = route(app, fakeRequest(Http.HttpVerbs.GET, "/ready"));
+
+    assertThat(result.status()).isEqualTo(Http.Status.OK);
+  }
+}
@@ -0,0 +1,316 @@
+package services.applicant;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.PathNotFoundException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import org.junit.Test;
+import services.Path;
+
+/**
+ * Tests {@link ApplicantData#mergeFrom}, including against the path-by-path merge it replaced for
+ * many randomly generated pairs of documents. The documents use few keys and values, so that
+ * the same key often holds equal values, different values, or values of different types.
+ */
+public class ApplicantDataMergeTest {
+
+  private static final int RUNS = 2000;
+  private static final ImmutableList<String> KEYS = ImmutableList.of("a", "b", "c", "d");
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  @Test
+  public void mergeFrom_copiesMissingKeysAndMergesObjects() {
+    ApplicantData data = new ApplicantData("{\"applicant\": {\"name\": {\"first\": \"Ada\"}}}");
+
+    MergeResult result =
+        data.mergeFrom(
+            new ApplicantData(
+                "{\"applicant\": {\"name\": {\"first\": \"Ada\", \"last\": \"Lovelace\"},"
+                    + " \"color\": \"blue\"}}"));
+
+    assertThat(result).isEqualTo(MergeResult.create(ImmutableList.of(), 5, 2, 0));
+    assertThat(data.readString(Path.create("applicant.name.last"))).hasValue("Lovelace");
+    assertThat(data.readString(Path.create("applicant.color"))).hasValue("blue");
+  }
+
+  @Test
+  public void mergeFrom_appendsArrayItems() throws Exception {
+    ApplicantData data = new ApplicantData("{\"applicant\": {\"kids\": [{\"name\": \"a\"}]}}");
+
+    MergeResult result =
+        data.mergeFrom(
+            new ApplicantData(
+                "{\"applicant\": {\"kids\": [{\"name\": \"b\"}, {\"name\": \"c\"}]}}"));
+
+    assertThat(result.itemsAppended()).isEqualTo(2);
+    assertThat(MAPPER.readTree(data.asJsonString()))
+        .isEqualTo(
+            MAPPER.readTree(
+                "{\"applicant\": {\"kids\": [{\"name\": \"a\"}, {\"name\": \"b\"},"
+                    + " {\"name\": \"c\"}]}}"));
+  }
+
+  @Test
+  public void mergeFrom_keepsValuesThatConflict() throws Exception {
+    String json =
+        "{\"applicant\": {\"color\": \"red\", \"pets\": [\"cat\"], \"name\": {\"first\": \"Ada\"},"
+            + " \"age\": null}}";
+    ApplicantData data = new ApplicantData(json);
+
+    MergeResult result =
+        data.mergeFrom(
+            new ApplicantData(
+                "{\"applicant\": {\"color\": \"blue\", \"pets\": {\"dog\": 1}, \"name\": \"Ada\","
+                    + " \"age\": {\"years\": 3}}}"));
+
+    assertThat(result.conflicts())
+        .containsExactly(
+            Path.create("applicant.color"),
+            Path.create("applicant.pets"),
+            Path.create("applicant.name"),
+            Path.create("applicant.age"));
+    assertThat(MAPPER.readTree(data.asJsonString())).isEqualTo(MAPPER.readTree(json));
+  }
+
+  @Test
+  public void mergeFrom_ignoresEqualValuesAndEmptyObjectsAndArrays() throws Exception {
+    String json = "{\"applicant\": {\"color\": \"red\", \"pets\": \"cat\", \"name\": null}}";
+    ApplicantData data = new ApplicantData(json);
+
+    MergeResult result =
+        data.mergeFrom(
+            new ApplicantData(
+                "{\"applicant\": {\"color\": \"red\", \"pets\": [], \"name\": {}}}"));
+
+    assertThat(result).isEqualTo(MergeResult.create(ImmutableList.of(), 4, 0, 0));
+    assertThat(MAPPER.readTree(data.asJsonString())).isEqualTo(MAPPER.readTree(json));
+  }
+
+  @Test
+  public void mergeFrom_updatesTheSerializedData() {
+    ApplicantData data = new ApplicantData();
+    String before = data.asJsonString();
+
+    data.mergeFrom(new ApplicantData("{\"applicant\": {\"color\": \"blue\"}}"));
+
+    assertThat(data.asJsonString()).isNotEqualTo(before);
+    assertThat(data.asJsonString()).contains("blue");
+  }
+
+  @Test
+  public void mergeFrom_recordsChangedPaths() {
+    ApplicantData data = new ApplicantData("{\"applicant\": {\"kids\": []}}");
+
+    data.mergeFrom(
+        new ApplicantData(
+            "{\"applicant\": {\"kids\": [\"a\"], \"name\": {\"first\": \"Ada\"}}}"));
+
+    assertThat(data.getChangedValues().get().keySet())
+        .containsExactlyInAnyOrder(
+            ImmutableList.of("applicant", "kids"), ImmutableList.of("applicant", "name"));
+  }
+
+  @Test
+  public void mergeFrom_doesNotShareValuesWithTheOtherData() {
+    ApplicantData other = new ApplicantData("{\"applicant\": {\"name\": {\"first\": \"Ada\"}}}");
+    ApplicantData data = new ApplicantData();
+
+    data.mergeFrom(other);
+    data.putString(Path.create("applicant.name.first"), "Grace");
+
+    assertThat(other.readString(Path.create("applicant.name.first"))).hasValue("Ada");
+  }
+
+  @Test
+  public void mergeFrom_mergesLikeThePathByPathMerge() throws Exception {
+    int compared = 0;
+    for (long seed = 0; seed < RUNS; seed++) {
+      Random random = new Random(seed);
+      String target = MAPPER.writeValueAsString(randomObject(random, 0));
+      String source = MAPPER.writeValueAsString(randomObject(random, 0));
+      String description = String.format("seed %d, merging %s into %s", seed, source, target);
+
+      DocumentContext byPaths = JsonPathProvider.getJsonPath().parse(target);
+      ImmutableList<Path> byPathsConflicts;
+      try {
+        byPathsConflicts =
+            mergeByPaths(
+                byPaths,
+                Path.empty(),
+                JsonPathProvider.getJsonPath().parse(source).read("$", Map.class));
+      } catch (RuntimeException e) {
+        // The path-by-path merge fails when an object or array in the source meets a value of
+        // another type. The tree merge reports a conflict instead; see the next test.
+        continue;
+      }
+      compared++;
+      ApplicantData tree = new ApplicantData(target);
+      MergeResult result = tree.mergeFrom(new ApplicantData(source));
+
+      assertThat(MAPPER.readTree(tree.asJsonString()))
+          .as(description)
+          .isEqualTo(MAPPER.readTree(byPaths.jsonString()));
+      // The path-by-path merge also reported keys that held equal values.
+      assertThat(result.conflicts())
+          .as(description)
+          .containsAll(
+              byPathsConflicts.stream()
+                  .filter(path -> !read(target, path).equals(read(source, path)))
+                  .collect(toImmutableList()));
+      // It silently dropped objects and arrays that met a null, which are now conflicts.
+      for (Path conflict : result.conflicts()) {
+        if (!byPathsConflicts.contains(conflict)) {
+          assertThat(read(target, conflict)).as(description).hasValue(Optional.empty());
+        }
+      }
+    }
+    assertThat(compared).isGreaterThan(RUNS / 10);
+  }
+
+  @Test
+  public void mergeFrom_keepsEveryValueAndCopiesEveryMissingKey() throws Exception {
+    for (long seed = 0; seed < RUNS; seed++) {
+      Random random = new Random(seed);
+      String target = MAPPER.writeValueAsString(randomObject(random, 0));
+      String source = MAPPER.writeValueAsString(randomObject(random, 0));
+      String description = String.format("seed %d, merging %s into %s", seed, source, target);
+      ApplicantData data = new ApplicantData(target);
+
+      data.mergeFrom(new ApplicantData(source));
+
+      JsonNode merged = MAPPER.readTree(data.asJsonString());
+      assertKeeps(merged, MAPPER.readTree(target), description);
+      assertCopiesMissing(merged, MAPPER.readTree(target), MAPPER.readTree(source), description);
+    }
+  }
+
+  /**
+   * The merge that {@link ApplicantData#mergeFrom} replaced, which looks up and writes each key of
+   * {@code source} by its path under {@code rootKey} in {@code target}. Returns the paths it
+   * reported as conflicts.
+   */
+  private static ImmutableList<Path> mergeByPaths(
+      DocumentContext target, Path rootKey, Map<?, ?> source) {
+    ImmutableList.Builder<Path> conflicts = ImmutableList.builder();
+    for (Map.Entry<?, ?> entry : source.entrySet()) {
+      String key = entry.getKey().toString();
+      Path path = rootKey.join(key);
+      if (!hasPath(target, path)) {
+        target.put(rootKey.toString(), key, entry.getValue());
+      } else if (entry.getValue() instanceof Map) {
+        conflicts.addAll(mergeByPaths(target, path, (Map<?, ?>) entry.getValue()));
+      } else if (entry.getValue() instanceof List) {
+        for (Object item : (List<?>) entry.getValue()) {
+          target.add(path.toString(), item);
+        }
+      } else {
+        // It compared an Optional of the existing value to the new value, which is never equal,
+        // so every key that was already there was reported.
+        conflicts.add(path);
+      }
+    }
+    return conflicts.build();
+  }
+
+  private static boolean hasPath(DocumentContext document, Path path) {
+    try {
+      document.read(path.toString());
+      return true;
+    } catch (PathNotFoundException e) {
+      return false;
+    }
+  }
+
+  /** Asserts that every value in {@code original} is still in {@code merged}. */
+  private static void assertKeeps(JsonNode merged, JsonNode original, String description) {
+    if (original.isObject()) {
+      assertThat(merged.isObject()).as(description).isTrue();
+      Iterator<Map.Entry<String, JsonNode>> fields = original.fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        assertThat(merged.has(field.getKey())).as(description).isTrue();
+        assertKeeps(merged.get(field.getKey()), field.getValue(), description);
+      }
+    } else if (original.isArray()) {
+      assertThat(merged.isArray()).as(description).isTrue();
+      assertThat(merged.size()).as(description).isGreaterThanOrEqualTo(original.size());
+      for (int i = 0; i < original.size(); i++) {
+        assertKeeps(merged.get(i), original.get(i), description);
+      }
+    } else {
+      assertThat(merged).as(description).isEqualTo(original);
+    }
+  }
+
+  /** Asserts that every key in {@code source} that wasn't in {@code target} was copied. */
+  private static void assertCopiesMissing(
+      JsonNode merged, JsonNode target, JsonNode source, String description) {
+    Iterator<Map.Entry<String, JsonNode>> fields = source.fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> field = fields.next();
+      if (!target.has(field.getKey())) {
+        assertThat(merged.get(field.getKey())).as(description).isEqualTo(field.getValue());
+      } else if (target.get(field.getKey()).isObject() && field.getValue().isObject()) {
+        assertCopiesMissing(
+            merged.get(field.getKey()), target.get(field.getKey()), field.getValue(), description);
+      }
+    }
+  }
+
+  /** Reads the value at the path, which is empty if the path exists but holds null. */
+  private static Optional<Optional<Object>> read(String json, Path path) {
+    try {
+      return Optional.of(
+          Optional.ofNullable(JsonPathProvider.getJsonPath().parse(json).read(path.toString())));
+    } catch (PathNotFoundException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static Map<String, Object> randomObject(Random random, int depth) {
+    Map<String, Object> object = new LinkedHashMap<>();
+    for (String key : KEYS) {
+      if (random.nextInt(3) > 0) {
+        object.put(key, randomValue(random, depth + 1));
+      }
+    }
+    return object;
+  }
+
+  private static Object randomValue(Random random, int depth) {
+    int kind = random.nextInt(depth < 3 ? 10 : 6);
+    switch (kind) {
+      case 0:
+        return null;
+      case 1:
+      case 2:
+        return random.nextBoolean() ? "x" : "y";
+      case 3:
+      case 4:
+        return random.nextInt(2);
+      case 5:
+        return random.nextBoolean();
+      case 6:
+      case 7:
+        return randomObject(random, depth);
+      default:
+        List<Object> array = new ArrayList<>();
+        int size = random.nextInt(3);
+        for (int i = 0; i < size; i++) {
+          array.add(random.nextBoolean() ? randomObject(random, depth + 1) : "x");
+        }
+        return array;
+    }
+  }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.testing.EqualsTester;
 import java.util.Locale;
 import java.util.Optional;
@@ -23,6 +24,34 @@ public class ApplicantDataTest {
         .testEquals();
   }
 
+  @Test
+  public void equalityAndHashCode_reflectChanges() {
+    ApplicantData data = new ApplicantData();
+    ApplicantData other = new ApplicantData();
+    Path path = Path.create("applicant.target");
+    assertThat(data).isEqualTo(other);
+    int emptyHashCode = data.hashCode();
+
+    data.putString(path, "hello");
+    assertThat(data).isNotEqualTo(other);
+    assertThat(data.hashCode()).isNotEqualTo(emptyHashCode);
+    assertThat(data.asJsonString()).contains("hello");
+
+    other.putString(path, "hello");
+    assertThat(data).isEqualTo(other);
+    assertThat(data.hashCode()).isEqualTo(other.hashCode());
+
+    other.putRepeatedEntities(Path.create("applicant.list[]"), ImmutableList.of("one"));
+    assertThat(data).isNotEqualTo(other);
+
+    data.putRepeatedEntities(Path.create("applicant.list[]"), ImmutableList.of("one"));
+    assertThat(data).isEqualTo(other);
+
+    data.deleteRepeatedEntities(Path.create("applicant.list[]"), ImmutableList.of(0));
+    assertThat(data).isNotEqualTo(other);
+    assertThat(data.asJsonString()).doesNotContain("one");
+  }
+
   @Test
   public void preferredLocale_defaultsToEnglish() {
     ApplicantData data = new ApplicantData();
@@ -578,4 +607,61 @@ public class ApplicantDataTest {
     assertThat(data.evalPredicate(JsonPathPredicate.create("$.applicant[?(@.one in [\"other\"])]")))
         .isFalse();
   }
+
+  @Test
+  public void getChangedValues_unchangedData_isEmpty() {
+    ApplicantData data = new ApplicantData("{ \"applicant\": { \"name\": \"Alice\" } }");
+
+    assertThat(data.getChangedValues()).hasValue(ImmutableMap.of());
+  }
+
+  @Test
+  public void getChangedValues_existingScalar_onlyIncludesThatValue() {
+    ApplicantData data =
+        new ApplicantData(
+            "{ \"applicant\": { \"name\": { \"first\": \"Alice\", \"last\": \"Doe\" } } }");
+
+    data.putString(Path.create("applicant.name.first"), "Bob");
+
+    assertThat(data.getChangedValues())
+        .hasValue(ImmutableMap.of(ImmutableList.of("applicant", "name", "first"), "\"Bob\""));
+  }
+
+  @Test
+  public void getChangedValues_newParents_areWrittenWhole() {
+    ApplicantData data = new ApplicantData();
+
+    data.putString(Path.create("applicant.name.first"), "Alice");
+    data.putString(Path.create("applicant.name.last"), "Doe");
+
+    ImmutableMap<ImmutableList<String>, String> changedValues = data.getChangedValues().get();
+    assertThat(changedValues.keySet()).containsExactly(ImmutableList.of("applicant", "name"));
+    assertThat(changedValues.get(ImmutableList.of("applicant", "name")))
+        .contains("\"first\":\"Alice\"")
+        .contains("\"last\":\"Doe\"");
+  }
+
+  @Test
+  public void getChangedValues_arrayChanges_writeTheWholeArray() {
+    ApplicantData data = new ApplicantData();
+    Path children = Path.create("applicant.children[]");
+    data.putRepeatedEntities(children, ImmutableList.of("Ann", "Ben", "Cat"));
+    data.markChangesPersisted();
+
+    data.deleteRepeatedEntities(children, ImmutableList.of(0));
+    data.putString(children.atIndex(0).join("age"), "5");
+
+    assertThat(data.getChangedValues().get().keySet())
+        .containsExactly(ImmutableList.of("applicant", "children"));
+  }
+
+  @Test
+  public void markChangesPersisted_clearsChanges() {
+    ApplicantData data = new ApplicantData();
+    data.putString(Path.create("applicant.name"), "Alice");
+
+    data.markChangesPersisted();
+
+    assertThat(data.getChangedValues()).hasValue(ImmutableMap.of());
+  }
 }
@@ -72,6 +72,38 @@ public class ApplicantQuestionTest {
     assertThat(question.errorsPresenter().hasTypeSpecificErrors()).isFalse();
   }
 
+  @Test
+  public void errorsPresenter_lockedApplicantData_isMemoized() {
+    ApplicantData applicantData = new ApplicantData();
+    applicantData.lock();
+    ApplicantQuestion question =
+        new ApplicantQuestion(
+            testQuestionBank.applicantName().getQuestionDefinition(),
+            applicantData,
+            Optional.empty());
+
+    assertThat(question.errorsPresenter()).isSameAs(question.errorsPresenter());
+  }
+
+  @Test
+  public void errorsPresenter_unlockedApplicantData_reflectsChanges() {
+    ApplicantData applicantData = new ApplicantData();
+    ApplicantQuestion question =
+        new ApplicantQuestion(
+            testQuestionBank.applicantName().getQuestionDefinition(),
+            applicantData,
+            Optional.empty());
+    assertThat(question.errorsPresenter().isAnswered()).isFalse();
+    assertThat(question.hasErrors()).isFalse();
+
+    QuestionAnswerer.answerNameQuestion(
+        applicantData, question.getContextualizedPath(), "", "", "Doe");
+
+    assertThat(question.errorsPresenter()).isNotSameAs(question.errorsPresenter());
+    assertThat(question.errorsPresenter().isAnswered()).isTrue();
+    assertThat(question.hasErrors()).isTrue();
+  }
+
   @Test
   public void getsExpectedQuestionType() {
     ApplicantQuestion addressApplicantQuestion =
@@ -0,0 +1,34 @@
+package services.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import software.amazon.awssdk.utils.BinaryUtils;
+
+public class SignedS3UploadRequestTest {
+
+  private static final String SECRET_KEY = "wJalrXUtnFEMI/K7MDENG+bPxRfiCYEXAMPLEKEY";
+
+  @Test
+  public void getSigningKey_matchesAwsExample() {
+    // From https://docs.aws.amazon.com/general/latest/gr/signature-v4-examples.html
+    byte[] signingKey =
+        SignedS3UploadRequest.getSigningKey(SECRET_KEY, "20120215", "us-east-1", "iam");
+
+    assertThat(BinaryUtils.toHex(signingKey))
+        .isEqualTo("f4780e2d9f65fa895f9c67b32ce1baf0b0d8a43505a000a1a9e090d414db404d");
+  }
+
+  @Test
+  public void getSigningKey_differsByScope() {
+    byte[] signingKey =
+        SignedS3UploadRequest.getSigningKey(SECRET_KEY, "20120215", "us-east-1", "iam");
+
+    assertThat(SignedS3UploadRequest.getSigningKey(SECRET_KEY, "20120216", "us-east-1", "iam"))
+        .isNotEqualTo(signingKey);
+    assertThat(SignedS3UploadRequest.getSigningKey(SECRET_KEY, "20120215", "us-west-2", "iam"))
+        .isNotEqualTo(signingKey);
+    assertThat(SignedS3UploadRequest.getSigningKey("other", "20120215", "us-east-1", "iam"))
+        .isNotEqualTo(signingKey);
+  }
+}
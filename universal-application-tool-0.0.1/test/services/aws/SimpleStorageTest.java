@@ -0,0 +1,77 @@
+package services.aws;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.testing.FakeTicker;
+import java.net.URL;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+
+public class SimpleStorageTest {
+
+  private final FakeTicker ticker = new FakeTicker();
+  private final Credentials credentials = mock(Credentials.class);
+  private final S3Presigner presigner = mock(S3Presigner.class);
+  private SimpleStorage simpleStorage;
+
+  @Before
+  public void setUp() {
+    when(credentials.getCredentials()).thenReturn(AwsBasicCredentials.create("key", "secret"));
+    // Each presign returns a new URL, so a reused URL is the same instance.
+    AtomicInteger presigned = new AtomicInteger();
+    when(presigner.presignGetObject(any(GetObjectPresignRequest.class)))
+        .thenAnswer(
+            invocation -> {
+              PresignedGetObjectRequest request = mock(PresignedGetObjectRequest.class);
+              when(request.url())
+                  .thenReturn(new URL("http://fake-url/" + presigned.incrementAndGet()));
+              return request;
+            });
+    SimpleStorage.Client client = mock(SimpleStorage.Client.class);
+    when(client.getPresigner()).thenReturn(presigner);
+    simpleStorage = new SimpleStorage(Region.US_WEST_2, credentials, "bucket", client, ticker);
+  }
+
+  @Test
+  public void getPresignedUrl_reusesTheUrlForTheSameKey() {
+    URL first = simpleStorage.getPresignedUrl("one");
+
+    assertThat(simpleStorage.getPresignedUrl("one")).isSameAs(first);
+    assertThat(simpleStorage.getPresignedUrl("two")).isNotSameAs(first);
+    verify(presigner, times(2)).presignGetObject(any(GetObjectPresignRequest.class));
+  }
+
+  @Test
+  public void getPresignedUrl_presignsAgainOnceTheCachedUrlExpires() {
+    URL first = simpleStorage.getPresignedUrl("one");
+
+    ticker.advance(Duration.ofMinutes(4));
+    assertThat(simpleStorage.getPresignedUrl("one")).isSameAs(first);
+    ticker.advance(Duration.ofMinutes(1));
+    assertThat(simpleStorage.getPresignedUrl("one")).isNotSameAs(first);
+  }
+
+  @Test
+  public void getPresignedUrl_sessionCredentials_presignsEveryTime() {
+    when(credentials.getCredentials())
+        .thenReturn(AwsSessionCredentials.create("key", "secret", "token"));
+
+    URL first = simpleStorage.getPresignedUrl("one");
+
+    assertThat(simpleStorage.getPresignedUrl("one")).isNotSameAs(first);
+    verify(presigner, times(2)).presignGetObject(any(GetObjectPresignRequest.class));
+  }
+}
@@ -0,0 +1,85 @@
+package services.dev;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.ebean.Ebean;
+import io.ebean.EbeanServer;
+import models.Account;
+import models.Applicant;
+import models.Application;
+import models.LifecycleStage;
+import org.junit.Before;
+import org.junit.Test;
+import play.db.ebean.EbeanConfig;
+import repository.WithPostgresContainer;
+import services.program.ProgramService;
+import services.question.types.QuestionType;
+
+public class SyntheticDataGeneratorTest extends WithPostgresContainer {
+
+  private SyntheticDataGenerator generator;
+  private EbeanServer ebeanServer;
+
+  @Before
+  public void setUp() {
+    generator = instanceOf(SyntheticDataGenerator.class);
+    ebeanServer = Ebean.getServer(instanceOf(EbeanConfig.class).defaultServer());
+  }
+
+  @Test
+  public void generate_createsRequestedVolumes() {
+    SyntheticDataConfig config =
+        SyntheticDataConfig.builder()
+            .setQuestionsPerType(1)
+            .setProgramCount(2)
+            .setApplicantCount(25)
+            .setBatchSize(10)
+            .build();
+
+    SyntheticDataSummary summary = generator.generate(config);
+
+    // One question per type, plus a repeated question for the enumerator.
+    assertThat(summary.questionCount()).isEqualTo(QuestionType.values().length + 1);
+    assertThat(summary.programCount()).isEqualTo(2);
+    assertThat(instanceOf(ProgramService.class).getActiveAndDraftPrograms().getActivePrograms())
+        .hasSize(2);
+    assertThat(ebeanServer.find(Account.class).findCount()).isEqualTo(25);
+    assertThat(ebeanServer.find(Applicant.class).findCount()).isEqualTo(25);
+    assertThat((long) ebeanServer.find(Application.class).findCount())
+        .isEqualTo(summary.applicationCount());
+  }
+
+  @Test
+  public void generate_applicationsHaveAnswersAndAtMostOneActiveSubmissionPerProgram() {
+    SyntheticDataConfig config =
+        SyntheticDataConfig.builder().setApplicantCount(20).setBatchSize(7).build();
+
+    generator.generate(config);
+
+    for (Application application : ebeanServer.find(Application.class).findList()) {
+      assertThat(application.getApplicantData().asJsonString()).contains("program updated in");
+      if (application.getLifecycleStage().equals(LifecycleStage.ACTIVE)) {
+        assertThat(
+                ebeanServer
+                    .find(Application.class)
+                    .where()
+                    .eq("applicant.id", application.getApplicant().id)
+                    .eq("program.id", application.getProgram().id)
+                    .eq("lifecycle_stage", LifecycleStage.ACTIVE)
+                    .findCount())
+            .isEqualTo(1);
+      }
+    }
+  }
+
+  @Test
+  public void generate_withSameSeed_createsSameNumberOfApplications() {
+    SyntheticDataConfig config =
+        SyntheticDataConfig.builder().setApplicantCount(30).setRandomSeed(42L).build();
+
+    SyntheticDataSummary first = generator.generate(config);
+    SyntheticDataSummary second = generator.generate(config);
+
+    assertThat(second.applicationCount()).isEqualTo(first.applicationCount());
+  }
+}
@@ -0,0 +1,127 @@
+package services.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import akka.stream.javadsl.Source;
+import akka.util.ByteString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableList;
+import com.typesafe.config.Config;
+import java.time.Clock;
+import java.time.Duration;
+import models.Application;
+import models.LifecycleStage;
+import models.Program;
+import org.junit.Before;
+import org.junit.Test;
+import repository.ApplicationRepository;
+import repository.ProgramRepository;
+import repository.WithPostgresContainer;
+import services.program.ProgramNotFoundException;
+
+public class ApplicationFeedServiceTest extends WithPostgresContainer {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private ApplicationFeedService service;
+  private Program program;
+  private Program otherProgram;
+
+  @Before
+  public void setUp() {
+    // Read the feed from an hour from now, so that the applications the tests insert are old
+    // enough to be in it.
+    service = feedAt(Clock.offset(Clock.systemUTC(), Duration.ofHours(1)));
+    program = resourceCreator.insertActiveProgram("program");
+    otherProgram = resourceCreator.insertActiveProgram("other program");
+  }
+
+  @Test
+  public void streamChanges_returnsSubmittedApplicationsInOrder() throws Exception {
+    Application first = insertApplication(program, LifecycleStage.ACTIVE);
+    Application second = insertApplication(otherProgram, LifecycleStage.OBSOLETE);
+    insertApplication(program, LifecycleStage.DRAFT);
+
+    ImmutableList<JsonNode> lines = readFeed(service.streamChanges(FeedCursor.START));
+
+    assertThat(ids(lines)).containsExactly(first.id, second.id);
+    assertThat(lines.get(0).get("program_name").asText()).isEqualTo("program");
+    assertThat(lines.get(1).get("status").asText()).isEqualTo("obsolete");
+    assertThat(lines.get(0).get("answers").isObject()).isTrue();
+  }
+
+  @Test
+  public void streamChanges_resumesAfterCursor() throws Exception {
+    insertApplication(program, LifecycleStage.ACTIVE);
+    ImmutableList<JsonNode> firstSync = readFeed(service.streamChanges(FeedCursor.START));
+    Application later = insertApplication(program, LifecycleStage.ACTIVE);
+
+    FeedCursor cursor = FeedCursor.decode(firstSync.get(0).get("cursor").asText());
+    ImmutableList<JsonNode> secondSync = readFeed(service.streamChanges(cursor));
+
+    assertThat(ids(secondSync)).containsExactly(later.id);
+  }
+
+  @Test
+  public void streamProgramChanges_onlyReturnsThatProgram() throws Exception {
+    Application application = insertApplication(program, LifecycleStage.ACTIVE);
+    insertApplication(otherProgram, LifecycleStage.ACTIVE);
+
+    ImmutableList<JsonNode> lines =
+        readFeed(service.streamProgramChanges(program.id, FeedCursor.START));
+
+    assertThat(ids(lines)).containsExactly(application.id);
+    assertThat(lines.get(0).get("program_name").asText()).isEqualTo("program");
+  }
+
+  @Test
+  public void streamProgramChanges_unknownProgram_throws() {
+    assertThatThrownBy(() -> service.streamProgramChanges(Long.MAX_VALUE, FeedCursor.START))
+        .isInstanceOf(ProgramNotFoundException.class);
+  }
+
+  @Test
+  public void streamChanges_leavesOutRecentChanges() throws Exception {
+    insertApplication(program, LifecycleStage.ACTIVE);
+
+    assertThat(readFeed(feedAt(Clock.systemUTC()).streamChanges(FeedCursor.START))).isEmpty();
+  }
+
+  private ApplicationFeedService feedAt(Clock clock) {
+    return new ApplicationFeedService(
+        instanceOf(ApplicationRepository.class),
+        instanceOf(ProgramRepository.class),
+        instanceOf(ExportExecutionContext.class),
+        clock,
+        instanceOf(Config.class));
+  }
+
+  private Application insertApplication(Program program, LifecycleStage lifecycleStage) {
+    Application application =
+        new Application(resourceCreator.insertApplicant(), program, lifecycleStage);
+    application.save();
+    return application;
+  }
+
+  private ImmutableList<JsonNode> readFeed(Source<ByteString, ?> feed) throws Exception {
+    String contents =
+        feed.runFold(ByteString.emptyByteString(), ByteString::concat, mat)
+            .toCompletableFuture()
+            .join()
+            .utf8String();
+    ImmutableList.Builder<JsonNode> lines = ImmutableList.builder();
+    for (String line : Splitter.on('\n').omitEmptyStrings().split(contents)) {
+      lines.add(MAPPER.readTree(line));
+    }
+    return lines.build();
+  }
+
+  private static ImmutableList<Long> ids(ImmutableList<JsonNode> lines) {
+    return lines.stream()
+        .map(line -> line.get("id").asLong())
+        .collect(ImmutableList.toImmutableList());
+  }
+}
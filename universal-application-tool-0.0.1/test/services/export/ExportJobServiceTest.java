@@ -0,0 +1,179 @@
+package services.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import akka.util.ByteString;
+import io.ebean.DB;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import models.Applicant;
+import models.Application;
+import models.ExportJob;
+import models.ExportJobKind;
+import models.ExportJobStatus;
+import models.LifecycleStage;
+import models.Program;
+import org.junit.Before;
+import org.junit.Test;
+import repository.BulkheadExecutionContext;
+import repository.DatabaseExecutionContext;
+import repository.ExportJobRepository;
+import repository.WithPostgresContainer;
+import services.program.ProgramNotFoundException;
+
+public class ExportJobServiceTest extends WithPostgresContainer {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+  private ExportJobService exportJobService;
+  private ExportJobRepository exportJobRepository;
+
+  @Before
+  public void setUp() {
+    exportJobService = instanceOf(ExportJobService.class);
+    exportJobRepository = instanceOf(ExportJobRepository.class);
+  }
+
+  @Test
+  public void submitProgramCsv_runsInBackgroundAndStoresResult() throws Exception {
+    Program program = resourceCreator.insertActiveProgram("program");
+    Applicant applicant = resourceCreator.insertApplicant();
+    Application application = new Application(applicant, program, LifecycleStage.ACTIVE);
+    application.save();
+
+    ExportJob submitted =
+        exportJobService
+            .submitProgramCsv(program.id, "admin@example.com")
+            .toCompletableFuture()
+            .join();
+    ExportJob finished = awaitCompletion(submitted.id);
+
+    assertThat(finished.getStatus()).isEqualTo(ExportJobStatus.SUCCEEDED);
+    assertThat(finished.getRequestedBy()).isEqualTo("admin@example.com");
+    assertThat(finished.getFileName()).startsWith("program-").endsWith(".csv");
+    assertThat(finished.getTotalCount()).isEqualTo(1);
+    assertThat(finished.getCompletedCount()).isEqualTo(1);
+    String contents = readResult(finished);
+    assertThat(contents).startsWith("ID,Applicant language,Submit time,Submitted by");
+    assertThat(contents).contains(String.valueOf(application.id));
+  }
+
+  @Test
+  public void submitProgramCsv_unknownProgram_throws() {
+    assertThatThrownBy(() -> exportJobService.submitProgramCsv(Long.MAX_VALUE, "admin@example.com"))
+        .isInstanceOf(ProgramNotFoundException.class);
+  }
+
+  @Test
+  public void failAbandonedJobs_failsOnlyJobsThatStoppedBeingUpdated() {
+    ExportJob abandoned = insertRunningJob();
+    ExportJob running = insertRunningJob();
+    DB.sqlUpdate("update export_jobs set update_time = ? where id = ?")
+        .setParameter(1, Timestamp.from(Instant.now().minus(Duration.ofDays(1))))
+        .setParameter(2, abandoned.id)
+        .execute();
+
+    assertThat(exportJobService.failAbandonedJobs()).isEqualTo(1);
+
+    ExportJob failed =
+        exportJobRepository.lookupExportJob(abandoned.id).toCompletableFuture().join().get();
+    assertThat(failed.getStatus()).isEqualTo(ExportJobStatus.FAILED);
+    assertThat(failed.getErrorMessage()).hasValue("The export stopped before it finished.");
+    assertThat(
+            exportJobRepository
+                .lookupExportJob(running.id)
+                .toCompletableFuture()
+                .join()
+                .get()
+                .getStatus())
+        .isEqualTo(ExportJobStatus.RUNNING);
+  }
+
+  private ExportJob insertRunningJob() {
+    ExportJob job =
+        exportJobRepository
+            .insert(
+                new ExportJob(
+                    ExportJobKind.DEMOGRAPHICS_CSV, Optional.empty(), "admin@example.com", "a.csv"))
+            .toCompletableFuture()
+            .join();
+    return exportJobRepository.update(job.markRunning(10));
+  }
+
+  @Test
+  public void writeProgramCsv_whileTheApplicantPoolIsFull_stillRuns() throws Exception {
+    Program program = resourceCreator.insertActiveProgram("program");
+    Application application =
+        new Application(resourceCreator.insertApplicant(), program, LifecycleStage.ACTIVE);
+    application.save();
+    ExporterService exporterService = instanceOf(ExporterService.class);
+    StringWriter writer = new StringWriter();
+    CountDownLatch release = new CountDownLatch(1);
+
+    try {
+      fill(instanceOf(DatabaseExecutionContext.class), release);
+      CompletableFuture.runAsync(
+              () -> {
+                try {
+                  exporterService.writeProgramCsv(program.id, writer, ExportProgressListener.NONE);
+                } catch (ProgramNotFoundException | IOException e) {
+                  throw new RuntimeException(e);
+                }
+              },
+              instanceOf(ExportExecutionContext.class))
+          .get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+    } finally {
+      release.countDown();
+    }
+
+    assertThat(writer.toString()).contains(String.valueOf(application.id));
+  }
+
+  /** Takes every thread and queue slot of the pool until the latch is released. */
+  private static void fill(BulkheadExecutionContext pool, CountDownLatch release) {
+    try {
+      while (true) {
+        pool.execute(
+            () -> {
+              try {
+                release.await();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+      }
+    } catch (RejectedExecutionException e) {
+      // The pool is full.
+    }
+  }
+
+  private String readResult(ExportJob job) {
+    return instanceOf(ExportResultStore.class)
+        .get(job.getResultKey().get())
+        .runFold(ByteString.emptyByteString(), ByteString::concat, mat)
+        .toCompletableFuture()
+        .join()
+        .utf8String();
+  }
+
+  private ExportJob awaitCompletion(long exportJobId) throws InterruptedException {
+    Instant deadline = Instant.now().plus(TIMEOUT);
+    while (true) {
+      ExportJob job =
+          exportJobRepository.lookupExportJob(exportJobId).toCompletableFuture().join().get();
+      if (!job.getStatus().isInProgress() || Instant.now().isAfter(deadline)) {
+        return job;
+      }
+      Thread.sleep(100);
+    }
+  }
+}
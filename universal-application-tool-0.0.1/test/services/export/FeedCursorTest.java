@@ -0,0 +1,30 @@
+package services.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import org.junit.Test;
+
+public class FeedCursorTest {
+
+  @Test
+  public void encode_roundTrips() {
+    FeedCursor cursor = FeedCursor.create(Instant.parse("2021-05-06T07:08:09.123456Z"), 42L);
+
+    assertThat(FeedCursor.decode(cursor.encode())).isEqualTo(cursor);
+  }
+
+  @Test
+  public void encode_isUrlSafe() {
+    assertThat(FeedCursor.create(Instant.now(), Long.MAX_VALUE).encode()).matches("[A-Za-z0-9_-]+");
+  }
+
+  @Test
+  public void decode_malformedCursor_throws() {
+    assertThatThrownBy(() -> FeedCursor.decode("not a cursor"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> FeedCursor.decode(FeedCursor.START.encode().substring(2)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -6,9 +6,6 @@ import com.google.common.collect.ImmutableMap;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.nio.charset.StandardCharsets;
 import java.util.Locale;
 import java.util.Optional;
 import models.Applicant;
@@ -29,7 +26,6 @@ import services.program.ProgramDefinition;
 public class PdfExporterTest extends WithPostgresContainer {
   private static Program fakeProgramWithPdfExport;
   private Applicant fakeApplicant;
-  private Writer writer;
   private ByteArrayOutputStream inMemoryBytes;
   private static final String APPLICANT_VALUE = "this will get filled into the form.";
 
@@ -67,9 +63,8 @@ public class PdfExporterTest extends WithPostgresContainer {
   }
 
   @Before
-  public void createInMemoryWriter() {
+  public void createInMemoryStream() {
     this.inMemoryBytes = new ByteArrayOutputStream();
-    this.writer = new OutputStreamWriter(inMemoryBytes, StandardCharsets.UTF_8);
   }
 
   @Test
@@ -85,8 +80,7 @@ public class PdfExporterTest extends WithPostgresContainer {
     // Create exporter and perform services.export.
     ExporterFactory exporterFactory = instanceOf(ExporterFactory.class);
     PdfExporter exporters = exporterFactory.pdfExporter(this.fakeProgramWithPdfExport);
-    exporters.export(fakeApplicant, writer);
-    writer.close();
+    exporters.export(fakeApplicant.getApplicantData(), inMemoryBytes);
 
     // Load output document and check value.
     PDDocument outputDocument = PDDocument.load(inMemoryBytes.toByteArray());
@@ -94,4 +88,23 @@ public class PdfExporterTest extends WithPostgresContainer {
     assertThat(outputField).isNotNull();
     assertThat(outputField.getValueAsString()).isEqualTo(APPLICANT_VALUE);
   }
+
+  @Test
+  public void exportTwice_fillsEachDocumentIndependently() throws IOException {
+    PdfExporter exporter = instanceOf(ExporterFactory.class).pdfExporter(fakeProgramWithPdfExport);
+    Applicant otherApplicant = new Applicant();
+    otherApplicant.getApplicantData().putString(Path.create("applicant.formValue"), "other value");
+
+    byte[] first = exporter.export(fakeApplicant.getApplicantData());
+    byte[] second = exporter.export(otherApplicant.getApplicantData());
+
+    assertThat(formValue(first)).isEqualTo(APPLICANT_VALUE);
+    assertThat(formValue(second)).isEqualTo("other value");
+  }
+
+  private static String formValue(byte[] pdf) throws IOException {
+    try (PDDocument document = PDDocument.load(pdf)) {
+      return document.getDocumentCatalog().getAcroForm().getField("formfield").getValueAsString();
+    }
+  }
 }
@@ -0,0 +1,35 @@
+package services.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.testing.FakeTicker;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import org.junit.Test;
+
+public class PdfTemplateCacheTest {
+
+  @Test
+  public void get_loadsTheDocumentAgainOnceItExpires() throws IOException {
+    Path template = Files.createTempFile("base", ".pdf");
+    Files.copy(
+        Paths.get("test/services/export/base.pdf"), template, StandardCopyOption.REPLACE_EXISTING);
+    URI documentUrl = template.toUri();
+    FakeTicker ticker = new FakeTicker();
+    PdfTemplateCache cache = new PdfTemplateCache(ticker);
+
+    byte[] loaded = cache.get(documentUrl);
+    Files.delete(template);
+
+    ticker.advance(Duration.ofMinutes(9));
+    assertThat(cache.get(documentUrl)).isSameAs(loaded);
+    ticker.advance(Duration.ofMinutes(1));
+    assertThatThrownBy(() -> cache.get(documentUrl)).isInstanceOf(IOException.class);
+  }
+}
@@ -0,0 +1,35 @@
+package services.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import akka.util.ByteString;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.Test;
+
+public class ZipStreamWriterTest {
+
+  @Test
+  public void entriesAndFinish_concatenateToValidArchive() throws IOException {
+    ZipStreamWriter writer = new ZipStreamWriter();
+
+    ByteString archive =
+        writer
+            .addEntry("first.txt", "first".getBytes(StandardCharsets.UTF_8))
+            .concat(writer.addEntry("second.txt", "second".getBytes(StandardCharsets.UTF_8)))
+            .concat(writer.finish());
+
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive.toArray()))) {
+      ZipEntry entry = zip.getNextEntry();
+      assertThat(entry.getName()).isEqualTo("first.txt");
+      assertThat(new String(zip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("first");
+      entry = zip.getNextEntry();
+      assertThat(entry.getName()).isEqualTo("second.txt");
+      assertThat(new String(zip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("second");
+      assertThat(zip.getNextEntry()).isNull();
+    }
+  }
+}
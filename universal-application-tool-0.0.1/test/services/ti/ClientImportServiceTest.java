@@ -0,0 +1,150 @@
+package services.ti;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.io.StringReader;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import models.Account;
+import models.TrustedIntermediaryGroup;
+import org.junit.Before;
+import org.junit.Test;
+import play.db.ebean.EbeanConfig;
+import repository.DatabaseExecutionContext;
+import repository.ReadReplica;
+import repository.UserRepository;
+import repository.VersionRepository;
+import repository.WithPostgresContainer;
+
+public class ClientImportServiceTest extends WithPostgresContainer {
+
+  private ClientImportService service;
+  private UserRepository userRepository;
+  private TrustedIntermediaryGroup tiGroup;
+
+  @Before
+  public void setUp() {
+    service = instanceOf(ClientImportService.class);
+    userRepository = instanceOf(UserRepository.class);
+    tiGroup = resourceCreator.insertTrustedIntermediaryGroup("group");
+  }
+
+  @Test
+  public void importClients_reportsEveryRowAndCreatesValidClients() throws Exception {
+    resourceCreator.insertAccountWithEmail("taken@example.com");
+    String csv =
+        "First_Name,middle_name,last_name,email\n"
+            + "Ada,,Lovelace,ada@example.com\n"
+            + "Grace,Brewster,Hopper,\n"
+            + "Alan,,,alan@example.com\n"
+            + "Someone,,Else,taken@example.com\n"
+            + "Ada,,Again,ada@example.com\n";
+
+    ImmutableList<ClientImportResult> results =
+        service.importClients(new StringReader(csv), tiGroup);
+
+    assertThat(results)
+        .containsExactly(
+            ClientImportResult.create(
+                1,
+                "Ada Lovelace",
+                Optional.of("ada@example.com"),
+                ClientImportResult.Status.CREATED,
+                ""),
+            ClientImportResult.create(
+                2,
+                "Grace Brewster Hopper",
+                Optional.empty(),
+                ClientImportResult.Status.CREATED,
+                ""),
+            ClientImportResult.create(
+                3,
+                "Alan",
+                Optional.of("alan@example.com"),
+                ClientImportResult.Status.INVALID,
+                "Last name required."),
+            ClientImportResult.create(
+                4,
+                "Someone Else",
+                Optional.of("taken@example.com"),
+                ClientImportResult.Status.EMAIL_EXISTS,
+                "An account with this email address already exists."),
+            ClientImportResult.create(
+                5,
+                "Ada Again",
+                Optional.of("ada@example.com"),
+                ClientImportResult.Status.INVALID,
+                "This email address is on an earlier row."));
+    assertThat(userRepository.listManagedAccounts(tiGroup.id, Optional.empty()))
+        .extracting(Account::getApplicantName)
+        .containsExactly("Hopper, Grace", "Lovelace, Ada");
+  }
+
+  @Test
+  public void importClients_emailAddressTakenDuringImport_importsTheChunkAgain() throws Exception {
+    resourceCreator.insertAccountWithEmail("taken@example.com");
+    AtomicInteger lookups = new AtomicInteger();
+    // Misses the existing account the first time, as if it was created after the lookup.
+    UserRepository racingRepository =
+        new UserRepository(
+            instanceOf(EbeanConfig.class),
+            instanceOf(DatabaseExecutionContext.class),
+            () -> instanceOf(VersionRepository.class),
+            instanceOf(ReadReplica.class)) {
+          @Override
+          public ImmutableSet<String> findExistingEmailAddresses(
+              ImmutableSet<String> emailAddresses) {
+            return lookups.getAndIncrement() == 0
+                ? ImmutableSet.of()
+                : super.findExistingEmailAddresses(emailAddresses);
+          }
+        };
+    String csv = "first_name,last_name,email
+Ada,Lovelace,taken@example.com
+Grace,Hopper,
+";
+
+    ImmutableList<ClientImportResult> results =
+        new ClientImportService(racingRepository).importClients(new StringReader(csv), tiGroup);
+
+    assertThat(results)
+        .extracting(ClientImportResult::status)
+        .containsExactly(
+            ClientImportResult.Status.EMAIL_EXISTS, ClientImportResult.Status.CREATED);
+    assertThat(userRepository.listManagedAccounts(tiGroup.id, Optional.empty()))
+        .extracting(Account::getApplicantName)
+        .containsExactly("Hopper, Grace");
+  }
+
+  @Test
+  public void importClients_withoutNameColumns_throws() {
+    StringReader csv = new StringReader("name,email\nAda,ada@example.com\n");
+
+    assertThatThrownBy(() -> service.importClients(csv, tiGroup))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void renderReport_writesOneLinePerRow() throws Exception {
+    String report =
+        service.renderReport(
+            ImmutableList.of(
+                ClientImportResult.create(
+                    1, "Ada Lovelace", Optional.empty(), ClientImportResult.Status.CREATED, ""),
+                ClientImportResult.create(
+                    2,
+                    "Alan",
+                    Optional.of("alan@example.com"),
+                    ClientImportResult.Status.INVALID,
+                    "Last name required.")));
+
+    assertThat(report)
+        .isEqualTo(
+            "row,name,email,status,message\r\n"
+                + "1,Ada Lovelace,,CREATED,\r\n"
+                + "2,Alan,alan@example.com,INVALID,Last name required.\r\n");
+  }
+}
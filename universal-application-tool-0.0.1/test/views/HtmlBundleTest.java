@@ -3,11 +3,35 @@ package views;
 import static j2html.TagCreator.div;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import akka.actor.ActorSystem;
+import akka.stream.Materializer;
+import akka.stream.javadsl.Sink;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
 import org.junit.Test;
 import play.twirl.api.Content;
+import views.HtmlBundle.HtmlBundleContent;
 
 public class HtmlBundleTest {
 
+  private static ActorSystem actorSystem;
+  private static Materializer mat;
+
+  @BeforeClass
+  public static void startActorSystem() {
+    actorSystem = ActorSystem.create();
+    mat = Materializer.matFromSystem(actorSystem);
+  }
+
+  @AfterClass
+  public static void stopActorSystem() {
+    actorSystem.terminate();
+  }
+
   @Test
   public void testSetTitle() {
     HtmlBundle bundle = new HtmlBundle();
@@ -38,4 +62,45 @@ public class HtmlBundleTest {
     Content content = bundle.render();
     assertThat(content.body()).contains("<main><div>One</div><div>Two</div></main>");
   }
+
+  @Test
+  public void rendersStyles() {
+    HtmlBundle bundle = new HtmlBundle().addBodyStyles("a", "b").addMainStyles("c");
+
+    Content content = bundle.render();
+    assertThat(content.body()).contains("<body class=\"a b\"><header></header><main class=\"c\">");
+  }
+
+  @Test
+  public void chunks_matchBody() {
+    HtmlBundle bundle = new HtmlBundle().setTitle("Large page").addMainStyles("p-4");
+    IntStream.range(0, 2000).forEach(i -> bundle.addMainContent(div("Row " + i)));
+    HtmlBundleContent content = bundle.render();
+
+    List<String> chunks = collectChunks(content);
+
+    assertThat(chunks.size()).isGreaterThan(2);
+    assertThat(String.join("", chunks)).isEqualTo(content.body());
+  }
+
+  @Test
+  public void chunks_sendHeadAndHeaderFirst() {
+    HtmlBundle bundle =
+        new HtmlBundle()
+            .setTitle("My title")
+            .addHeaderContent(div("Nav"))
+            .addMainContent(div("One"));
+
+    List<String> chunks = collectChunks(bundle.render());
+
+    assertThat(chunks.get(0)).contains("<title>My title</title>");
+    assertThat(chunks.get(0)).contains("<header><div>Nav</div></header>");
+    assertThat(chunks.get(0)).doesNotContain("One");
+  }
+
+  private static List<String> collectChunks(HtmlBundleContent content) {
+    return content.chunks().runWith(Sink.seq(), mat).toCompletableFuture().join().stream()
+        .map(chunk -> chunk.decodeString(StandardCharsets.UTF_8))
+        .collect(Collectors.toList());
+  }
 }
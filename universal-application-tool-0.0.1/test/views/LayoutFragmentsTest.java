@@ -0,0 +1,68 @@
+package views;
+
+import static j2html.TagCreator.div;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableList;
+import j2html.tags.DomContent;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+import play.i18n.Lang;
+import play.i18n.Messages;
+import play.i18n.MessagesApi;
+import repository.WithPostgresContainer;
+
+public class LayoutFragmentsTest extends WithPostgresContainer {
+
+  private LayoutFragments layoutFragments;
+
+  @Before
+  public void setUp() {
+    layoutFragments = instanceOf(LayoutFragments.class);
+  }
+
+  @Test
+  public void defaultFragments_renderSameMarkupAsTags() {
+    assertThat(layoutFragments.viewportMetadata().render())
+        .isEqualTo("<meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">");
+    assertThat(layoutFragments.defaultStylesheets().render())
+        .isEqualTo("<link href=\"/assets/stylesheets/tailwind.css\" rel=\"stylesheet\">");
+    assertThat(layoutFragments.defaultFooterScripts().render())
+        .contains("https://www.googletagmanager.com/gtag/js?id=")
+        .endsWith(
+            "<script src=\"/assets/javascripts/toast.js\" type=\"text/javascript\"></script>");
+  }
+
+  @Test
+  public void cached_rendersOnlyOnce() {
+    AtomicInteger renders = new AtomicInteger();
+
+    DomContent first =
+        layoutFragments.cached(
+            "test-fragment", () -> div("fragment " + renders.incrementAndGet()));
+    DomContent second =
+        layoutFragments.cached(
+            "test-fragment", () -> div("fragment " + renders.incrementAndGet()));
+
+    assertThat(renders.get()).isEqualTo(1);
+    assertThat(second.render()).isEqualTo(first.render()).isEqualTo("<div>fragment 1</div>");
+  }
+
+  @Test
+  public void cachedForLocale_rendersOncePerLanguage() {
+    MessagesApi messagesApi = instanceOf(MessagesApi.class);
+    Messages english = messagesApi.preferred(ImmutableList.of(Lang.forCode("en-US")));
+    Messages spanish = messagesApi.preferred(ImmutableList.of(Lang.forCode("es-US")));
+
+    DomContent englishFragment =
+        layoutFragments.cachedForLocale(
+            "test-locale", english, messages -> div(messages.lang().code()));
+    DomContent spanishFragment =
+        layoutFragments.cachedForLocale(
+            "test-locale", spanish, messages -> div(messages.lang().code()));
+
+    assertThat(englishFragment.render()).isEqualTo("<div>en-US</div>");
+    assertThat(spanishFragment.render()).isEqualTo("<div>es-US</div>");
+  }
+}